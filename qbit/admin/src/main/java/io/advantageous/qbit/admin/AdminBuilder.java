@@ -9,6 +9,7 @@ import io.advantageous.qbit.config.PropertyResolver;
 import io.advantageous.qbit.http.server.HttpServer;
 import io.advantageous.qbit.http.server.HttpServerBuilder;
 import io.advantageous.qbit.meta.builder.ContextMetaBuilder;
+import io.advantageous.qbit.metrics.support.PrometheusReplicator;
 import io.advantageous.qbit.reactive.Reactor;
 import io.advantageous.qbit.reactive.ReactorBuilder;
 import io.advantageous.qbit.server.EndpointServerBuilder;
@@ -42,6 +43,8 @@ public class AdminBuilder {
     private HealthServiceAsync healthService;
     private HealthServiceBuilder healthServiceBuilder;
     private String htmlPageLocation = "/qbit/admin.html";
+    private String metricsPageLocation = "/__admin/metrics";
+    private PrometheusReplicator prometheusReplicator;
     private HttpServer httpServer;
     private HttpServerBuilder httpServerBuilder;
     private String webPageContents;
@@ -200,6 +203,7 @@ public class AdminBuilder {
         port = propertyResolver.getIntegerProperty("port", port);
         host = propertyResolver.getStringProperty("host", host);
         htmlPageLocation = propertyResolver.getStringProperty("htmlPageLocation", htmlPageLocation);
+        metricsPageLocation = propertyResolver.getStringProperty("metricsPageLocation", metricsPageLocation);
     }
 
 
@@ -227,6 +231,31 @@ public class AdminBuilder {
         return this;
     }
 
+    public String getMetricsPageLocation() {
+        return metricsPageLocation;
+    }
+
+    public AdminBuilder setMetricsPageLocation(final String metricsPageLocation) {
+        this.metricsPageLocation = metricsPageLocation;
+        return this;
+    }
+
+    public PrometheusReplicator getPrometheusReplicator() {
+        return prometheusReplicator;
+    }
+
+    /**
+     * Serves the stats this replicator was sent at the metrics page location
+     * in the Prometheus text exposition format. No metrics page is served without one.
+     *
+     * @param prometheusReplicator prometheus replicator
+     * @return this
+     */
+    public AdminBuilder setPrometheusReplicator(final PrometheusReplicator prometheusReplicator) {
+        this.prometheusReplicator = prometheusReplicator;
+        return this;
+    }
+
 
     public AdminBuilder setWebCotentsSupplier(final Supplier<String> webPageContentsSupplier) {
         this.webPageContentsSupplier = webPageContentsSupplier;
@@ -280,6 +309,14 @@ public class AdminBuilder {
 
 
             httpServer.setShouldContinueHttpRequest(httpRequest -> {
+
+                final PrometheusReplicator prometheusReplicator = getPrometheusReplicator();
+                if (prometheusReplicator != null && httpRequest.getUri().equals(getMetricsPageLocation())) {
+                    httpRequest.getReceiver().response(200, PrometheusReplicator.CONTENT_TYPE,
+                            prometheusReplicator.render());
+                    return false;
+                }
+
                 /* If not the page uri we want to then,
                  just continue by returning true. */
                 if (!httpRequest.getUri().equals(getHtmlPageLocation())) {
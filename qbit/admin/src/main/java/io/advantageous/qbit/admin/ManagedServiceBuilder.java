@@ -10,6 +10,7 @@ import io.advantageous.qbit.events.EventManager;
 import io.advantageous.qbit.http.server.HttpServerBuilder;
 import io.advantageous.qbit.meta.builder.ContextMetaBuilder;
 import io.advantageous.qbit.metrics.support.LocalStatsCollectorBuilder;
+import io.advantageous.qbit.metrics.support.PrometheusReplicator;
 import io.advantageous.qbit.metrics.support.StatServiceBuilder;
 import io.advantageous.qbit.metrics.support.StatsDReplicatorBuilder;
 import io.advantageous.qbit.server.EndpointServerBuilder;
@@ -18,6 +19,7 @@ import io.advantageous.qbit.service.ServiceBundleBuilder;
 import io.advantageous.qbit.service.discovery.ServiceDiscovery;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.health.HealthServiceBuilder;
+import io.advantageous.qbit.service.stats.StatsCollector;
 import io.advantageous.qbit.system.QBitSystemManager;
 
 import java.util.ArrayList;
@@ -64,6 +66,12 @@ public class ManagedServiceBuilder {
     /** Enables sending stats to stats D. */
     private boolean enableStatsD=false;
 
+    /** Enables the Prometheus metrics page on the admin. */
+    private boolean enablePrometheus=false;
+
+    /** Collects stats for the Prometheus metrics page. */
+    private PrometheusReplicator prometheusReplicator;
+
     /** Enables local health stats collection. */
     private boolean enableLocalHealth=true;
 
@@ -76,6 +84,9 @@ public class ManagedServiceBuilder {
     /** Enables the collection of stats. */
     private boolean enableStats = true;
 
+    /** Enables per method queue wait, service time and response wait timings. */
+    private boolean enableMethodTimings = false;
+
     /** Event manager for services, service queues, and end point servers. */
     private EventManager eventManager;
 
@@ -166,6 +177,7 @@ public class ManagedServiceBuilder {
             this.setSampleStatFlushRate(config.getSampleStatFlushRate());
 
             this.setEnableLocalStats(config.isEnableLocalStats());
+            this.setEnablePrometheus(config.isEnablePrometheus());
             this.setEnableStats(config.isEnableStats());
             this.setEnableLocalHealth(config.isEnableLocalHealth());
         }
@@ -328,6 +340,9 @@ public class ManagedServiceBuilder {
             adminBuilder.setContextBuilder(this.getContextMetaBuilder());
             adminBuilder.setHealthService(getHealthService());
             adminBuilder.registerJavaVMStatsJob(getStatServiceBuilder().buildStatsCollector());
+            if (enablePrometheus) {
+                adminBuilder.setPrometheusReplicator(getPrometheusReplicator());
+            }
 
         }
         return adminBuilder;
@@ -452,6 +467,36 @@ public class ManagedServiceBuilder {
         return this;
     }
 
+    public boolean isEnableMethodTimings() {
+        return enableMethodTimings;
+    }
+
+    public ManagedServiceBuilder setEnableMethodTimings(boolean enableMethodTimings) {
+        this.enableMethodTimings = enableMethodTimings;
+        return this;
+    }
+
+    public boolean isEnablePrometheus() {
+        return enablePrometheus;
+    }
+
+    public ManagedServiceBuilder setEnablePrometheus(boolean enablePrometheus) {
+        this.enablePrometheus = enablePrometheus;
+        return this;
+    }
+
+    public PrometheusReplicator getPrometheusReplicator() {
+        if (prometheusReplicator == null) {
+            prometheusReplicator = new PrometheusReplicator();
+        }
+        return prometheusReplicator;
+    }
+
+    public ManagedServiceBuilder setPrometheusReplicator(PrometheusReplicator prometheusReplicator) {
+        this.prometheusReplicator = prometheusReplicator;
+        return this;
+    }
+
     public LocalStatsCollectorBuilder getLocalStatsCollectorBuilder() {
         if (localStatsCollectorBuilder==null) {
             localStatsCollectorBuilder = LocalStatsCollectorBuilder.localStatsCollectorBuilder();
@@ -509,6 +554,10 @@ public class ManagedServiceBuilder {
                 statServiceBuilder.addReplicator(getStatsDReplicatorBuilder().buildAndStart());
             }
 
+            if (enablePrometheus) {
+                statServiceBuilder.addReplicator(getPrometheusReplicator());
+            }
+
             statServiceBuilder.build();
             statServiceBuilder.buildServiceQueueWithCallbackHandler()
                     .startCallBackHandler().start();
@@ -622,8 +671,15 @@ public class ManagedServiceBuilder {
         if (isEnableStats()) {
 
 
+            final StatsCollector statsCollector = getStatServiceBuilder().buildStatsCollector();
+
             serviceBuilder.registerStatsCollections(bindStatHealthName,
-                    getStatServiceBuilder().buildStatsCollector(), getSampleStatFlushRate(), getCheckTimingEveryXCalls());
+                    statsCollector, getSampleStatFlushRate(), getCheckTimingEveryXCalls());
+
+            if (isEnableMethodTimings()) {
+                serviceBuilder.registerMethodTimings(bindStatHealthName,
+                        statsCollector, getSampleStatFlushRate(), getCheckTimingEveryXCalls());
+            }
         }
 
         return serviceBuilder;
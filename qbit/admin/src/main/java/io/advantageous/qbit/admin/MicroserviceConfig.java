@@ -82,6 +82,9 @@ public class MicroserviceConfig {
     /** Enables sending stats to stats D. */
     private boolean enableStatsD=false;
 
+    /** Enables the Prometheus metrics page on the admin. */
+    private boolean enablePrometheus=false;
+
     /** Enables local health stats collection. */
     private boolean enableLocalHealth=true;
 
@@ -286,6 +289,14 @@ public class MicroserviceConfig {
         this.enableLocalStats = enableLocalStats;
     }
 
+    public boolean isEnablePrometheus() {
+        return enablePrometheus;
+    }
+
+    public void setEnablePrometheus(boolean enablePrometheus) {
+        this.enablePrometheus = enablePrometheus;
+    }
+
     public boolean isEnableStatsD() {
         return enableStatsD;
     }
@@ -21,6 +21,7 @@ package io.advantageous.qbit.metrics;
 import io.advantageous.qbit.client.RemoteTCPClientProxy;
 import io.advantageous.qbit.service.ServiceFlushable;
 import io.advantageous.qbit.service.Stoppable;
+import io.advantageous.qbit.service.stats.TimingHistogram;
 
 /**
  * Stat Replicator.
@@ -31,4 +32,16 @@ public interface StatReplicator extends RemoteTCPClientProxy, ServiceFlushable,
     void replicateCount(String name, long count, long time);
     void replicateLevel(String name, long level, long time);
     void replicateTiming(String name, long timing, long time);
+
+    /**
+     * Replicate a batch of timings.
+     * Replicators that can't use the whole histogram get its max, like before.
+     *
+     * @param name    name of the stat
+     * @param timings timings recorded since the last batch
+     * @param time    time
+     */
+    default void replicateTimings(String name, TimingHistogram timings, long time) {
+        replicateTiming(name, timings.getMax(), time);
+    }
 }
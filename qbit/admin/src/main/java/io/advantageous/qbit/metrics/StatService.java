@@ -54,6 +54,26 @@ public interface StatService extends StatsCollector {
     default void statsForLastSeconds(Callback<Stats> callback, String name, int secondCount) {
     }
 
+    /**
+     * Get timing stats for the current minute, including the 90th, 99th and 99.9th percentiles.
+     * Uses the last minute if nothing was timed yet this minute.
+     *
+     * @param callback callback to get Stat, gets null if there are no timings
+     * @param name name of the timing
+     */
+    default void timingStats(Callback<Stats> callback, String name) {
+    }
+
+    /**
+     * Gets a percentile of a timing for the current minute.
+     *
+     * @param callback callback
+     * @param name name of the timing
+     * @param percentile 0 to 100, for example 99.9
+     */
+    default void timingPercentile(Callback<Long> callback, String name, double percentile) {
+    }
+
     /**
      * Gets the average last n Seconds of of a level.
      *
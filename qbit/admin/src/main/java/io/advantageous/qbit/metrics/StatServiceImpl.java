@@ -21,11 +21,14 @@ package io.advantageous.qbit.metrics;
 import io.advantageous.qbit.GlobalConstants;
 import io.advantageous.qbit.annotation.Service;
 import io.advantageous.qbit.metrics.support.MinuteStat;
+import io.advantageous.qbit.metrics.support.StatRegistry;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.service.ServiceProxyUtils;
 import io.advantageous.qbit.service.discovery.ServiceChangedEventChannel;
 import io.advantageous.qbit.service.discovery.ServiceDiscovery;
 import io.advantageous.qbit.service.stats.Stats;
+import io.advantageous.qbit.service.stats.StatsCollector;
+import io.advantageous.qbit.service.stats.TimingHistogram;
 import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +52,27 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
     private final Logger logger = LoggerFactory.getLogger(StatServiceImpl.class);
     private final boolean debug = GlobalConstants.DEBUG || logger.isDebugEnabled();
     private final long timeToLiveCheckInterval;
+    private final StatRegistry registry;
+
+    /**
+     * Drains the registry's handles into the minute stats and replicas, as if they came through the queue.
+     */
+    private final StatsCollector registryDrain = new StatsCollector() {
+        @Override
+        public void recordCount(String name, long count) {
+            recordCountWithTime(name, count, now);
+        }
+
+        @Override
+        public void recordLevel(String name, long level) {
+            recordLevelWithTime(name, level, now);
+        }
+
+        @Override
+        public void recordTimings(String name, TimingHistogram timings) {
+            StatServiceImpl.this.recordTimings(name, timings);
+        }
+    };
     private Map<String, MinuteStat> currentMinuteOfStatsMap;
     private Map<String, MinuteStat> lastMinuteOfStatsMap;
     private long lastHealthCheck = 0;
@@ -63,8 +87,21 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
                            final String serviceId,
                            final int numStats,
                            final long timeToLiveCheckInterval) {
+        this(recorder, replica, timer, serviceDiscovery, serviceId, numStats, timeToLiveCheckInterval,
+                new StatRegistry());
+    }
+
+    public StatServiceImpl(final StatRecorder recorder,
+                           final StatReplicator replica,
+                           final Timer timer,
+                           final ServiceDiscovery serviceDiscovery,
+                           final String serviceId,
+                           final int numStats,
+                           final long timeToLiveCheckInterval,
+                           final StatRegistry registry) {
 
         this.serviceId = serviceId;
+        this.registry = registry;
         this.serviceDiscovery = serviceDiscovery;
         this.recorder = recorder;
         this.currentMinuteOfStatsMap = new ConcurrentHashMap<>(numStats);
@@ -159,10 +196,34 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
     }
 
     public void recordTimingWithTime(String name, long duration, long now) {
-        oneMinuteOfStats(name).recordLevel(duration, now);
+        oneMinuteOfStats(name).recordTiming(duration, now);
         replica.replicateTiming(name, duration, now);
     }
 
+    public void recordTimings(String name, TimingHistogram timings) {
+        oneMinuteOfStats(name).recordTimings(timings, now);
+        replica.replicateTimings(name, timings, now);
+    }
+
+    /**
+     * Timing stats with percentiles, from this minute or the last one if nothing was timed yet this minute.
+     *
+     * @param name name of the timing
+     * @return stats, null if there are no timings
+     */
+    public Stats timingStats(String name) {
+        final Stats stats = oneMinuteOfStats(name).timingStats();
+        return stats != null ? stats : lastOneMinuteOfStats(name).timingStats();
+    }
+
+    public long timingPercentile(String name, double percentile) {
+        TimingHistogram timings = oneMinuteOfStats(name).getTimings();
+        if (timings == null) {
+            timings = lastOneMinuteOfStats(name).getTimings();
+        }
+        return timings == null ? 0 : timings.percentile(percentile);
+    }
+
 
     public void recordLevelWithTime(String name, long level, long now) {
         oneMinuteOfStats(name).recordLevel(level, now);
@@ -236,6 +297,7 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
         long lastProcess = 0;
         long duration = now - lastProcess;
         if (duration > 50) {
+            registry.drain(registryDrain);
             flushMinuteCheck();
             flushReplicas();
         }
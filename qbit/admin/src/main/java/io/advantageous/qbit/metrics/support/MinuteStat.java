@@ -20,6 +20,7 @@ package io.advantageous.qbit.metrics.support;
 
 import io.advantageous.qbit.service.stats.StatList;
 import io.advantageous.qbit.service.stats.Stats;
+import io.advantageous.qbit.service.stats.TimingHistogram;
 
 import java.util.Arrays;
 
@@ -34,6 +35,7 @@ public class MinuteStat {
     private final long[] secondCounts;
     private long endTime;
     private int totalCount;
+    private TimingHistogram timings;
 
     public MinuteStat(long now, String name) {
         startTime = now;
@@ -276,4 +278,46 @@ public class MinuteStat {
         endTime = now;
 
     }
+
+    /**
+     * Records a timing as this second's level and into the minute's timing histogram.
+     *
+     * @param duration duration
+     * @param now      now
+     */
+    public void recordTiming(long duration, long now) {
+        if (timings == null) {
+            timings = new TimingHistogram();
+        }
+        timings.record(duration);
+        recordLevel(duration, now);
+    }
+
+    /**
+     * Merges a batch of timings into the minute's histogram, the slowest one becomes this second's level.
+     *
+     * @param histogram timings
+     * @param now       now
+     */
+    public void recordTimings(TimingHistogram histogram, long now) {
+        if (timings == null) {
+            timings = new TimingHistogram();
+        }
+        timings.merge(histogram);
+        recordLevel(histogram.getMax(), now);
+    }
+
+    /**
+     * @return timing histogram of this minute, null if no timings were recorded
+     */
+    public TimingHistogram getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return timing stats with percentiles for this minute, null if no timings were recorded
+     */
+    public Stats timingStats() {
+        return timings == null ? null : new Stats(timings);
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.metrics.StatReplicator;
+import io.advantageous.qbit.service.stats.StatsCollector;
+import io.advantageous.qbit.service.stats.TimingHistogram;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running totals of the stats it is sent and renders them in the Prometheus text exposition format.
+ * <p>
+ * Add it to the stat service as a replicator to expose counts, levels and timings,
+ * and pass it to the JVM stats job to expose the JVM gauges.
+ * Counts are cumulative, levels are the last level set and timings are rendered as summaries.
+ * A summary's sum and count are cumulative, its quantiles only cover the timings of roughly the last window,
+ * so they follow changes in latency instead of being averaged into everything since start.
+ * Stat names are turned into metric names once, when first seen. Stat names that turn into a metric name
+ * that is already used get a numeric suffix, for example my_app_time_2, so no metric is written twice.
+ */
+public class PrometheusReplicator implements StatReplicator, StatsCollector {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILE_LABELS = {
+            "{quantile=\"0.5\"} ", "{quantile=\"0.9\"} ", "{quantile=\"0.99\"} ", "{quantile=\"0.999\"} "};
+
+    private final ConcurrentHashMap<String, Count> counts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Level> levels = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timing> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Every metric name written so far, including the _sum and _count of summaries. Guarded by this.
+     */
+    private final Set<String> metricNames = new HashSet<>();
+
+    /**
+     * Quantiles are taken from two histograms that each cover half of the window.
+     */
+    private final long halfWindowMillis;
+
+    /**
+     * Reused by every scrape.
+     */
+    private final StringBuilder buffer = new StringBuilder(4096);
+
+    /**
+     * Reused by every scrape to merge the two halves of a window.
+     */
+    private final TimingHistogram window = new TimingHistogram();
+
+    public PrometheusReplicator() {
+        this(60_000);
+    }
+
+    /**
+     * @param windowMillis how far back the quantiles of a summary look
+     */
+    public PrometheusReplicator(final long windowMillis) {
+        this.halfWindowMillis = Math.max(1, windowMillis / 2);
+    }
+
+    @Override
+    public void replicateCount(final String name, final long count, final long time) {
+        recordCount(name, count);
+    }
+
+    @Override
+    public void replicateLevel(final String name, final long level, final long time) {
+        recordLevel(name, level);
+    }
+
+    @Override
+    public void replicateTiming(final String name, final long timing, final long time) {
+        recordTiming(name, timing);
+    }
+
+    @Override
+    public void replicateTimings(final String name, final TimingHistogram timings, final long time) {
+        recordTimings(name, timings);
+    }
+
+    @Override
+    public void recordCount(final String name, final long count) {
+        Count metric = counts.get(name);
+        if (metric == null) {
+            metric = counts.computeIfAbsent(name, key -> new Count(countName(key)));
+        }
+        metric.total.add(count);
+    }
+
+    @Override
+    public void recordLevel(final String name, final long level) {
+        Level metric = levels.get(name);
+        if (metric == null) {
+            metric = levels.computeIfAbsent(name, key -> new Level(claimMetricName(metricName(key), "")));
+        }
+        metric.value.set(level);
+    }
+
+    @Override
+    public void recordTiming(final String name, final long duration) {
+        final Timing metric = timing(name);
+        synchronized (metric) {
+            metric.record(duration);
+        }
+    }
+
+    @Override
+    public void recordTimings(final String name, final TimingHistogram timings) {
+        final Timing metric = timing(name);
+        synchronized (metric) {
+            metric.merge(timings);
+        }
+    }
+
+    private Timing timing(final String name) {
+        Timing metric = timings.get(name);
+        if (metric == null) {
+            metric = timings.computeIfAbsent(name,
+                    key -> new Timing(claimMetricName(metricName(key), "", "_sum", "_count")));
+        }
+        return metric;
+    }
+
+    private String countName(final String name) {
+        final String metricName = metricName(name);
+        final String baseName = metricName.endsWith("_total")
+                ? metricName.substring(0, metricName.length() - "_total".length()) : metricName;
+        return claimMetricName(baseName, "_total") + "_total";
+    }
+
+    /**
+     * Finds a metric name none of whose lines clash with a metric that is already written.
+     *
+     * @param metricName metric name to try first
+     * @param suffixes   suffixes of the lines the metric writes, "" for the metric name itself
+     * @return metric name, with a numeric suffix if the name was taken
+     */
+    private synchronized String claimMetricName(final String metricName, final String... suffixes) {
+        String candidate = metricName;
+        for (int index = 2; taken(candidate, suffixes); index++) {
+            candidate = metricName + "_" + index;
+        }
+        for (String suffix : suffixes) {
+            metricNames.add(candidate + suffix);
+        }
+        return candidate;
+    }
+
+    private boolean taken(final String metricName, final String... suffixes) {
+        for (String suffix : suffixes) {
+            if (metricNames.contains(metricName + suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders every stat in the text exposition format.
+     *
+     * @return exposition text
+     */
+    public synchronized String render() {
+        buffer.setLength(0);
+        render(buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * Renders every stat in the text exposition format.
+     *
+     * @param out where to write
+     */
+    public synchronized void render(final StringBuilder out) {
+        render(out, System.currentTimeMillis());
+    }
+
+    synchronized void render(final StringBuilder out, final long now) {
+
+        counts.values().forEach(count -> {
+            type(out, count.metricName, "counter");
+            out.append(count.metricName).append(' ').append(count.total.sum()).append('\n');
+        });
+
+        levels.values().forEach(level -> {
+            type(out, level.metricName, "gauge");
+            out.append(level.metricName).append(' ').append(level.value.get()).append('\n');
+        });
+
+        timings.values().forEach(timing -> {
+            type(out, timing.metricName, "summary");
+            synchronized (timing) {
+                timing.rotate(now, halfWindowMillis);
+                window.reset();
+                window.merge(timing.previous);
+                window.merge(timing.current);
+                for (int index = 0; index < QUANTILES.length; index++) {
+                    out.append(timing.metricName).append(QUANTILE_LABELS[index]);
+                    if (window.getCount() == 0) {
+                        out.append("NaN");
+                    } else {
+                        out.append(window.percentile(QUANTILES[index]));
+                    }
+                    out.append('\n');
+                }
+                out.append(timing.metricName).append("_sum ").append(timing.sum).append('\n');
+                out.append(timing.metricName).append("_count ").append(timing.count).append('\n');
+            }
+        });
+    }
+
+    private static void type(final StringBuilder out, final String metricName, final String type) {
+        out.append("# TYPE ").append(metricName).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Metric names may only have letters, digits, underscores and colons, and may not start with a digit.
+     *
+     * @param name stat name, for example my.app.jvm.thread.count
+     * @return metric name, for example my_app_jvm_thread_count
+     */
+    static String metricName(final String name) {
+        final StringBuilder metricName = new StringBuilder(name.length() + 1);
+        for (int index = 0; index < name.length(); index++) {
+            final char c = name.charAt(index);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (c >= '0' && c <= '9' && index > 0)) {
+                metricName.append(c);
+            } else if (c >= '0' && c <= '9') {
+                metricName.append('_').append(c);
+            } else {
+                metricName.append('_');
+            }
+        }
+        return metricName.toString();
+    }
+
+    private static final class Count {
+        private final String metricName;
+        private final LongAdder total = new LongAdder();
+
+        private Count(final String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final class Level {
+        private final String metricName;
+        private final AtomicLong value = new AtomicLong();
+
+        private Level(final String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    /**
+     * Guarded by itself.
+     */
+    private static final class Timing {
+        private final String metricName;
+        private TimingHistogram current = new TimingHistogram();
+        private TimingHistogram previous = new TimingHistogram();
+        private long rotatedAt;
+        private long sum;
+        private long count;
+
+        private Timing(final String metricName) {
+            this.metricName = metricName;
+        }
+
+        private void record(final long duration) {
+            current.record(duration);
+            sum += Math.max(0, duration);
+            count++;
+        }
+
+        private void merge(final TimingHistogram timings) {
+            current.merge(timings);
+            sum += timings.getSum();
+            count += timings.getCount();
+        }
+
+        /**
+         * Drops the older half of the window once the newer half is full.
+         */
+        private void rotate(final long now, final long halfWindowMillis) {
+            if (now - rotatedAt >= halfWindowMillis) {
+                final TimingHistogram oldest = previous;
+                oldest.reset();
+                previous = current;
+                current = oldest;
+                rotatedAt = now;
+            }
+        }
+    }
+}
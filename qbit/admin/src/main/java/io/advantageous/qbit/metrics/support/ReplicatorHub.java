@@ -20,7 +20,9 @@ package io.advantageous.qbit.metrics.support;
 
 import io.advantageous.qbit.metrics.StatReplicator;
 import io.advantageous.qbit.service.discovery.ServiceChangedEventChannel;
+import io.advantageous.qbit.service.stats.TimingHistogram;
 
+import java.lang.reflect.Proxy;
 import java.util.List;
 
 /**
@@ -57,6 +59,18 @@ public class ReplicatorHub implements StatReplicator, ServiceChangedEventChannel
 
     }
 
+    @Override
+    public void replicateTimings(String name, TimingHistogram timings, long time) {
+        for (StatReplicator replicator : list) {
+            /* Service proxies only get the plain calls, the histogram is not ours to hand to another thread. */
+            if (Proxy.isProxyClass(replicator.getClass())) {
+                replicator.replicateTiming(name, timings.getMax(), time);
+            } else {
+                replicator.replicateTimings(name, timings, time);
+            }
+        }
+    }
+
 
     @SuppressWarnings("CodeBlock2Expr")
     @Override
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.StatsCollector;
+import io.advantageous.qbit.service.stats.TimingHistogram;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local fast path for recording stats without a method call through the stat service queue.
+ * <p>
+ * Look up a handle once by name and keep it, recording through a handle is a striped add
+ * (counters use LongAdder cells) and does not touch a map or a queue.
+ * The stat service drains the handles into its MinuteStats when it ticks,
+ * so the StatRecorder and StatReplicator see the same stats as before, summed per tick.
+ * <p>
+ * It is also a StatsCollector, which looks up the handle by name on every call.
+ *
+ * @author rhightower
+ */
+public class StatRegistry implements StatsCollector {
+
+    private static final int MAX_STRIPES = 4;
+    private static final int STRIPE_COUNT = Integer.highestOneBit(
+            Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Threads get timing stripes round robin the first time they record,
+     * so the first STRIPE_COUNT threads never share one.
+     */
+    private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+    private static final ThreadLocal<Integer> STRIPE =
+            ThreadLocal.withInitial(() -> NEXT_STRIPE.getAndIncrement() & (STRIPE_COUNT - 1));
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Level> levels = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timing> timings = new ConcurrentHashMap<>();
+
+    public Counter counter(final String name) {
+        final Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public Level level(final String name) {
+        final Level level = levels.get(name);
+        return level != null ? level : levels.computeIfAbsent(name, Level::new);
+    }
+
+    public Timing timing(final String name) {
+        final Timing timing = timings.get(name);
+        return timing != null ? timing : timings.computeIfAbsent(name, Timing::new);
+    }
+
+    @Override
+    public void increment(final String name) {
+        counter(name).increment();
+    }
+
+    @Override
+    public void recordCount(final String name, final long count) {
+        counter(name).add(count);
+    }
+
+    @Override
+    public void recordLevel(final String name, final long level) {
+        level(name).set(level);
+    }
+
+    @Override
+    public void recordTiming(final String name, final long duration) {
+        timing(name).record(duration);
+    }
+
+    /**
+     * Sends what was recorded since the last drain to the collector and clears it.
+     * Counts that did not change, and levels that were not set, are skipped.
+     * Drain from one thread at a time, the stat service calls it from its own.
+     *
+     * @param collector gets the counts, levels and timing histograms
+     */
+    public void drain(final StatsCollector collector) {
+        counters.values().forEach(counter -> {
+            /* The adder is never reset, an increment racing the sum shows up in this drain or the next. */
+            final long total = counter.adder.sum();
+            final long count = total - counter.drained;
+            counter.drained = total;
+            if (count != 0) {
+                collector.recordCount(counter.name, count);
+            }
+        });
+
+        levels.values().forEach(level -> {
+            if (level.changed.getAndSet(false)) {
+                collector.recordLevel(level.name, level.value.get());
+            }
+        });
+
+        timings.values().forEach(timing -> {
+            final TimingHistogram histogram = timing.drain();
+            if (histogram != null) {
+                collector.recordTimings(timing.name, histogram);
+            }
+        });
+    }
+
+    /**
+     * Counter handle.
+     */
+    public static final class Counter {
+        private final String name;
+        private final LongAdder adder = new LongAdder();
+
+        /**
+         * Sum at the last drain, only used by the draining thread.
+         */
+        private long drained;
+
+        private Counter(final String name) {
+            this.name = name;
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(final long count) {
+            adder.add(count);
+        }
+
+        public String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Level (gauge) handle, the last level set before a drain wins.
+     */
+    public static final class Level {
+        private final String name;
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicBoolean changed = new AtomicBoolean();
+
+        private Level(final String name) {
+            this.name = name;
+        }
+
+        public void set(final long level) {
+            value.set(level);
+            if (!changed.get()) {
+                changed.set(true);
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Timing handle. Threads record into one of at most MAX_STRIPES histograms, assigned to them round robin.
+     * Threads that share a stripe lock it for the record, so memory per name stays fixed however many threads record.
+     */
+    public static final class Timing {
+        private final String name;
+        private final TimingHistogram[] stripes = new TimingHistogram[STRIPE_COUNT];
+
+        private Timing(final String name) {
+            this.name = name;
+            for (int index = 0; index < stripes.length; index++) {
+                stripes[index] = new TimingHistogram();
+            }
+        }
+
+        public void record(final long duration) {
+            final TimingHistogram stripe = stripes[STRIPE.get()];
+            synchronized (stripe) {
+                stripe.record(duration);
+            }
+        }
+
+        /**
+         * Merges the stripes into a new histogram, which is handed off to the collector.
+         *
+         * @return the drained timings or null if none were recorded
+         */
+        private TimingHistogram drain() {
+            TimingHistogram drained = null;
+            for (TimingHistogram stripe : stripes) {
+                synchronized (stripe) {
+                    if (stripe.getCount() == 0) {
+                        continue;
+                    }
+                    if (drained == null) {
+                        drained = new TimingHistogram();
+                    }
+                    drained.merge(stripe);
+                    stripe.reset();
+                }
+            }
+            return drained;
+        }
+
+        public String name() {
+            return name;
+        }
+    }
+}
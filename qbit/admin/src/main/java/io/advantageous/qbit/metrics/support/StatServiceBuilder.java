@@ -36,6 +36,7 @@ import io.advantageous.qbit.service.stats.StatsCollector;
 import io.advantageous.qbit.service.stats.StatsCollectorBuffer;
 import io.advantageous.qbit.util.Timer;
 
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -64,6 +65,7 @@ public class StatServiceBuilder {
     private EndpointServerBuilder endpointServerBuilder;
     private QueueBuilder sendQueueBuilder;
     private StatServiceImpl statServiceImpl;
+    private StatRegistry statRegistry;
 
 
     private String serviceName;
@@ -335,6 +337,25 @@ public class StatServiceBuilder {
         return this;
     }
 
+    public StatRegistry getStatRegistry() {
+        if (statRegistry == null) {
+            statRegistry = new StatRegistry();
+        }
+        return statRegistry;
+    }
+
+    /**
+     * Registry of counter, level and timing handles that the stat service drains on each tick.
+     * Recording through it skips the service queue.
+     *
+     * @param statRegistry stat registry
+     * @return this
+     */
+    public StatServiceBuilder setStatRegistry(StatRegistry statRegistry) {
+        this.statRegistry = statRegistry;
+        return this;
+    }
+
     public StatServiceImpl build() {
 
 
@@ -342,7 +363,7 @@ public class StatServiceBuilder {
 
 
         return new StatServiceImpl(this.getRecorder(), replicator, getTimer(), getServiceDiscovery(),
-                getLocalServiceId(), getNumStats(), getTimeToLiveCheckInterval());
+                getLocalServiceId(), getNumStats(), getTimeToLiveCheckInterval(), getStatRegistry());
 
     }
 
@@ -375,6 +396,7 @@ public class StatServiceBuilder {
         return finalReplicators.size() == 0
                 ? new NoOpReplicator() // if 0 then just return a no op
                 : finalReplicators.size() == 1 //if one then just use it direct
+                    && !Proxy.isProxyClass(finalReplicators.get(0).getClass()) // the hub keeps histograms off proxies
                 ? finalReplicators.get(0)
                 : new ReplicatorHub(finalReplicators);
     }
@@ -3,6 +3,7 @@ package io.advantageous.qbit.metrics.support;
 import io.advantageous.qbit.metrics.StatReplicator;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.util.Timer;
+import io.advantageous.qbit.util.Utf8;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,9 +11,9 @@ import java.io.IOException;
 import java.net.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
-import java.util.Locale;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 /**
@@ -20,16 +21,29 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StatsDReplicator implements StatReplicator, QueueCallBackHandler {
 
+    /**
+     * IPv4 and UDP headers, taken off the buffer size so a full datagram fits the MTU.
+     */
+    private static final int IP_AND_UDP_HEADER_SIZE = 28;
+    private static final int MAX_LONG_LENGTH = 20;
+    private static final byte[] LONG_MIN_VALUE = Utf8.encode(Long.toString(Long.MIN_VALUE));
+
     private final int flushRateIntervalMS;
     private final ByteBuffer sendBuffer;
     private final boolean multiMetrics;
 
-    private final Random random = new Random();
     private final Logger logger = LoggerFactory.getLogger(StatsDReplicator.class);
     private final InetSocketAddress address;
     private final int bufferSize;
     private  DatagramChannel channel;
-    private final ConcurrentHashMap<String, Metric> countMap = new ConcurrentHashMap<>();
+    private final int maxPacketSize;
+    private final byte[] digits = new byte[MAX_LONG_LENGTH];
+
+    /**
+     * Pending stats, also used to encode each stat name only once.
+     * Only touched from the replicator's queue thread.
+     */
+    private final Map<String, Metric> metrics = new HashMap<>();
 
 
     private long lastFlush;
@@ -59,6 +73,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
         this.multiMetrics = multiMetrics;
         this.flushRateIntervalMS = flushRateIntervalMS;
         sendBuffer = ByteBuffer.allocate(bufferSize + 100);
+        maxPacketSize = bufferSize > IP_AND_UDP_HEADER_SIZE ? bufferSize - IP_AND_UDP_HEADER_SIZE : bufferSize;
 
     }
 
@@ -100,7 +115,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean timingWithSampleRate(String key, long value, double sampleRate) {
-        return send(sampleRate, String.format(Locale.ENGLISH, "%s:%d|ms", key, value));
+        return send(nameBytes(key, MetricType.TIMING), value, MetricType.TIMING.suffix, sampleRate);
     }
 
 
@@ -114,8 +129,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean incrementWithMagnitudeAndSampleRate(String key, long magnitude, double sampleRate) {
-        String stat = String.format(Locale.ENGLISH, "%s:%s|c", key, magnitude);
-        return send(sampleRate, stat);
+        return send(nameBytes(key, MetricType.COUNT), magnitude, MetricType.COUNT.suffix, sampleRate);
     }
 
 
@@ -126,76 +140,129 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean gaugeWithSampleRate(String key, double magnitude, double sampleRate) {
-        final String stat = String.format(Locale.ENGLISH, "%s:%s|g", key, magnitude);
-        return send(sampleRate, stat);
+        final byte[] name = nameBytes(key, MetricType.LEVEL);
+        if (magnitude == (long) magnitude) {
+            return send(name, (long) magnitude, MetricType.LEVEL.suffix, sampleRate);
+        }
+        final byte[] value = Utf8.encode(Double.toString(magnitude));
+        return send(name, value, 0, value.length, MetricType.LEVEL.suffix, sampleRate);
     }
 
-    private boolean send(double sampleRate, String... stats) {
-
-        boolean sentSomething = false; // didn't send anything
-        if (sampleRate < 1.0) {
-            for (String stat : stats) {
-                if (random.nextDouble() <= sampleRate) {
-                    stat = String.format(Locale.ENGLISH, "%s|@%f", stat, sampleRate);
-                    if (doSend(stat)) {
-                        sentSomething = true;
-                    }
-                }
-            }
-        } else {
-            for (String stat : stats) {
-                if (doSend(stat)) {
-                    sentSomething = true;
-                }
-            }
+    /**
+     * The cached UTF-8 name of a stat. Names the public methods send are kept in the metrics map
+     * with no pending value, so they are only encoded once.
+     */
+    private byte[] nameBytes(final String name, final MetricType type) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = new Metric(name, type);
+            metrics.put(name, metric);
         }
+        return metric.nameBytes;
+    }
 
-        return sentSomething;
+    /**
+     * Writes name:value|type straight into the send buffer.
+     */
+    private boolean send(final byte[] name, final long value, final byte[] type, final double sampleRate) {
+        final int start = formatLong(value);
+        return send(name, digits, start, digits.length - start, type, sampleRate);
     }
 
-    private boolean doSend(String stat) {
-        try {
-            final byte[] data = stat.getBytes("utf-8");
-
-            // If we're going to go past the threshold of the buffer then flush.
-            // the +1 is for the potential '\n' in multi_metrics below
-            if (sendBuffer.remaining() < (data.length + 1)) {
-                if (!flushStatSend()) {
-                    logger.error("Buffer overflow, connection might be down");
-                    return false;
-                }
-            }
+    /**
+     * Writes name:value|type with a value that is already encoded.
+     */
+    private boolean send(final byte[] name, final byte[] value, final int offset, final int length,
+                         final byte[] type, final double sampleRate) {
+        if (!sampled(sampleRate)) {
+            return false;
+        }
+        final byte[] rate = sampleRate < 1.0 ? sampleRate(sampleRate) : null;
+        if (!reserve(name.length + 1 + length + type.length + (rate == null ? 0 : rate.length))) {
+            return false;
+        }
+        sendBuffer.put(name);
+        sendBuffer.put((byte) ':');
+        sendBuffer.put(value, offset, length);
+        return finish(type, rate);
+    }
 
-            if (sendBuffer.position() > 0) {         // multiple metrics are separated by '\n'
-                sendBuffer.put((byte) '\n');
-            }
+    private static boolean sampled(final double sampleRate) {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() <= sampleRate;
+    }
 
-            sendBuffer.put(data);   // append the data
+    private static byte[] sampleRate(final double sampleRate) {
+        return Utf8.encode("|@" + sampleRate);
+    }
 
-            if (!multiMetrics) {
-                flushStatSend();
-            }
+    /**
+     * Makes room for a stat of length bytes. Stats are separated by '\n' and packed
+     * into one datagram until the next one would not fit the packet size.
+     */
+    private boolean reserve(final int length) {
+        if (sendBuffer.position() > 0 && sendBuffer.position() + 1 + length > maxPacketSize) {
+            flushStatSend();
+        }
 
-            return true;
+        final int separator = sendBuffer.position() > 0 ? 1 : 0;
 
-        } catch (IOException e) {
-            logger.error(
-                    String.format("Could not send stat %s to host %s:%d",
-                            sendBuffer.toString(), address.getHostName(),
-                            address.getPort()), e);
+        if (sendBuffer.remaining() < separator + length) {
+            logger.error("Stat of {} bytes does not fit the {} byte send buffer", length, sendBuffer.capacity());
             return false;
         }
+
+        if (separator > 0) {         // multiple metrics are separated by '\n'
+            sendBuffer.put((byte) '\n');
+        }
+        return true;
+    }
+
+    private boolean finish(final byte[] type, final byte[] rate) {
+        sendBuffer.put(type);
+        if (rate != null) {
+            sendBuffer.put(rate);
+        }
+
+        if (!multiMetrics) {
+            flushStatSend();
+        }
+        return true;
+    }
+
+    /**
+     * Writes the decimal digits of value to the end of digits without going through a String.
+     *
+     * @return index of the first digit or sign
+     */
+    private int formatLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(LONG_MIN_VALUE, 0, digits, digits.length - LONG_MIN_VALUE.length, LONG_MIN_VALUE.length);
+            return digits.length - LONG_MIN_VALUE.length;
+        }
+        final boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int index = digits.length;
+        do {
+            digits[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            digits[--index] = '-';
+        }
+        return index;
     }
 
     @SuppressWarnings("UnusedReturnValue")
     public boolean flushStatSend() {
-        try {
-            final int sizeOfBuffer = sendBuffer.position();
+        final int sizeOfBuffer = sendBuffer.position();
 
-            if (sizeOfBuffer <= 0) {
-                return false;
-            }
+        if (sizeOfBuffer <= 0) {
+            return false;
+        }
 
+        try {
             final int sentByteCount = sendBufferOverChannel();
 
             if (sizeOfBuffer == sentByteCount) {
@@ -212,6 +279,9 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
                     String.format("Could not send stat %s to host %s:%d", sendBuffer.toString(), address.getHostName(),
                             address.getPort()), e);
             return false;
+        } finally {
+            /* UDP, so whatever did not go out is dropped rather than resent. */
+            sendBuffer.clear();
         }
     }
 
@@ -224,15 +294,20 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
             resetDatagramEvery=0;
         }
 
+        sendBuffer.flip();
+        return sendDatagram(sendBuffer);
+    }
+
+    /**
+     * Sends one datagram of packed stats.
+     *
+     * @param datagram stats separated by '\n'
+     * @return bytes sent
+     */
+    int sendDatagram(final ByteBuffer datagram) throws IOException {
         try {
-            sendBuffer.flip();
             /* Made this async. */
-            final int sentByteCount = channel.send(sendBuffer, address);
-            sendBuffer.limit(sendBuffer.capacity());
-            sendBuffer.rewind();
-
-
-            return sentByteCount;
+            return channel.send(datagram, address);
         }catch (IOException ex) {
 
             DatagramChannel oldChannel = channel;
@@ -254,10 +329,10 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
         }
 
 
-       Metric localCount = countMap.get(name);
-       if (localCount == null) {
-           localCount = Metric.count(name);
-            countMap.put(name, localCount);
+        Metric localCount = metrics.get(name);
+        if (localCount == null || localCount.type != MetricType.COUNT) {
+            localCount = Metric.count(name);
+            metrics.put(name, localCount);
         }
         localCount.value += count;
 
@@ -267,16 +342,16 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     public void replicateLevel(final String name, final long level, final long time) {
 
 
-        Metric localCount = countMap.get(name);
-        if (localCount == null) {
+        Metric localCount = metrics.get(name);
+        if (localCount == null || localCount.type != MetricType.LEVEL) {
 
             localCount = Metric.level(name);
-            countMap.put(name, localCount);
+            metrics.put(name, localCount);
 
             /* Set the initial level. */
             localCount.value = level;
             /* Send the gauge. */
-            gauge(name, level);
+            send(localCount);
         }
 
         localCount.value = level;
@@ -292,16 +367,16 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
             return;
         }
 
-        Metric localCount = countMap.get(name);
-        if (localCount == null) {
+        Metric localCount = metrics.get(name);
+        if (localCount == null || localCount.type != MetricType.TIMING) {
 
             localCount = Metric.timing(name);
-            countMap.put(name, localCount);
+            metrics.put(name, localCount);
 
             /* Set the initial timingWithSampleRate. */
             localCount.value = timed;
             /* Send the timingWithSampleRate. */
-            timing(name, timed);
+            send(localCount);
         }
 
 
@@ -315,24 +390,12 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     private void flushIfNeeded() {
         long delta = time - lastFlush;
         if (delta > flushRateIntervalMS) {
-            countMap.entrySet().forEach(entry -> {
-
-                if (entry.getValue().value != 0) {
-
-                    switch (entry.getValue().type) {
-                        case COUNT:
-                            incrementBy(entry.getKey(), entry.getValue().value);
-                            break;
-                        case TIMING:
-                            timing(entry.getKey(), entry.getValue().value);
-                            break;
-                        case LEVEL:
-                            gauge(entry.getKey(), entry.getValue().value);
-                            break;
-                    }
-                    entry.getValue().value = 0;
+            for (Metric metric : metrics.values()) {
+                if (metric.value != 0) {
+                    send(metric);
+                    metric.value = 0;
                 }
-            });
+            }
             flushStatSend();
             lastFlush = time;
         }
@@ -355,14 +418,26 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
 
+    private boolean send(final Metric metric) {
+        return send(metric.nameBytes, metric.value, metric.type.suffix, 1.0);
+    }
+
+
     enum MetricType {
-        COUNT, LEVEL, TIMING
+        COUNT("|c"), LEVEL("|g"), TIMING("|ms");
+
+        final byte[] suffix;
+
+        MetricType(final String suffix) {
+            this.suffix = Utf8.encode(suffix);
+        }
     }
 
     final static class Metric {
 
         long value;
         final String name;
+        final byte[] nameBytes;
         final MetricType type;
 
 
@@ -387,6 +462,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
 
         public Metric(String name, MetricType type) {
             this.name = name;
+            this.nameBytes = Utf8.encode(name);
             this.type = type;
         }
     }
@@ -94,6 +94,13 @@ public class StatsDReplicatorBuilder {
         return bufferSize;
     }
 
+    /**
+     * MTU of the path to StatsD. Stats are packed into datagrams of up to this size
+     * less the IP and UDP headers, so they are not fragmented.
+     *
+     * @param bufferSize MTU, defaults to 1500
+     * @return this
+     */
     public StatsDReplicatorBuilder setBufferSize(int bufferSize) {
         this.bufferSize = bufferSize;
         return this;
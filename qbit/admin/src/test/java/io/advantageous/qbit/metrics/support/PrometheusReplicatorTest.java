@@ -0,0 +1,123 @@
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.TimingHistogram;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PrometheusReplicatorTest {
+
+    PrometheusReplicator replicator;
+
+    @Before
+    public void setUp() throws Exception {
+        replicator = new PrometheusReplicator();
+    }
+
+    @Test
+    public void testCountsAreCumulative() throws Exception {
+        replicator.replicateCount("my.app.requests", 2, -1);
+        replicator.replicateCount("my.app.requests", 3, -1);
+
+        final String text = replicator.render();
+        assertTrue(text.contains("# TYPE my_app_requests_total counter\n"));
+        assertTrue(text.contains("my_app_requests_total 5\n"));
+    }
+
+    @Test
+    public void testLevelIsLastSet() throws Exception {
+        replicator.recordLevel("my.app-1.jvm.thread.count", 10);
+        replicator.recordLevel("my.app-1.jvm.thread.count", 12);
+
+        final String text = replicator.render();
+        assertTrue(text.contains("# TYPE my_app_1_jvm_thread_count gauge\n"));
+        assertTrue(text.contains("my_app_1_jvm_thread_count 12\n"));
+    }
+
+    @Test
+    public void testTimingSummary() throws Exception {
+        final TimingHistogram histogram = new TimingHistogram();
+        for (int index = 1; index <= 100; index++) {
+            histogram.record(index);
+        }
+        replicator.replicateTimings("call.time", histogram, -1);
+        replicator.replicateTiming("call.time", 200, -1);
+
+        final String text = replicator.render();
+        assertTrue(text.contains("# TYPE call_time summary\n"));
+        assertTrue(text.contains("call_time{quantile=\"0.5\"} "));
+        assertTrue(text.contains("call_time{quantile=\"0.999\"} 200\n"));
+        assertTrue(text.contains("call_time_sum 5250\n"));
+        assertTrue(text.contains("call_time_count 101\n"));
+    }
+
+    @Test
+    public void testQuantilesCoverTheWindow() throws Exception {
+        replicator = new PrometheusReplicator(10_000);
+        for (int index = 0; index < 100; index++) {
+            replicator.recordTiming("call.time", 1000);
+        }
+
+        StringBuilder out = new StringBuilder();
+        replicator.render(out, 100_000);
+        assertTrue(out.toString().contains("call_time{quantile=\"0.5\"} 1000\n"));
+
+        replicator.recordTiming("call.time", 10);
+        out = new StringBuilder();
+        replicator.render(out, 103_000);
+        assertTrue(out.toString().contains("call_time{quantile=\"0.5\"} 1000\n"));
+
+        /* The slow timings are more than a window old. */
+        replicator.recordTiming("call.time", 10);
+        out = new StringBuilder();
+        replicator.render(out, 111_000);
+        assertTrue(out.toString().contains("call_time{quantile=\"0.5\"} 10\n"));
+        assertTrue(out.toString().contains("call_time_sum 100020\n"));
+        assertTrue(out.toString().contains("call_time_count 102\n"));
+
+        out = new StringBuilder();
+        replicator.render(out, 130_000);
+        assertTrue(out.toString().contains("call_time{quantile=\"0.5\"} NaN\n"));
+        assertTrue(out.toString().contains("call_time_count 102\n"));
+    }
+
+    @Test
+    public void testMetricNamesDoNotCollide() throws Exception {
+        replicator.recordLevel("my.app.size", 1);
+        replicator.recordLevel("my_app.size", 2);
+        replicator.recordTiming("my.app.size", 3);
+        replicator.recordLevel("call_count", 4);
+        replicator.recordTiming("call", 5);
+        replicator.recordCount("hits", 6);
+        replicator.recordCount("hits_total", 7);
+
+        final String text = replicator.render();
+        assertTrue(text.contains("my_app_size 1\n"));
+        assertTrue(text.contains("my_app_size_2 2\n"));
+        assertTrue(text.contains("# TYPE my_app_size_3 summary\n"));
+        assertTrue(text.contains("call_count 4\n"));
+        assertTrue(text.contains("# TYPE call_2 summary\n"));
+        assertTrue(text.contains("call_2_count 1\n"));
+        assertTrue(text.contains("hits_total 6\n"));
+        assertTrue(text.contains("hits_2_total 7\n"));
+
+        final String[] lines = text.split("\n");
+        final Set<String> types = new HashSet<>();
+        for (String line : lines) {
+            if (line.startsWith("# TYPE ")) {
+                assertTrue(line, types.add(line.split(" ")[2]));
+            }
+        }
+    }
+
+    @Test
+    public void testMetricName() throws Exception {
+        assertEquals("my_app_host_1", PrometheusReplicator.metricName("my.app.host-1"));
+        assertEquals("_1x", PrometheusReplicator.metricName("1x"));
+        assertEquals("a:b_c", PrometheusReplicator.metricName("a:b_c"));
+    }
+}
@@ -0,0 +1,138 @@
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.StatsCollector;
+import io.advantageous.qbit.service.stats.TimingHistogram;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class StatRegistryTest {
+
+    StatRegistry registry;
+    Map<String, Long> counts;
+    Map<String, Long> levels;
+    Map<String, TimingHistogram> timings;
+    StatsCollector collector;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = new StatRegistry();
+        counts = new HashMap<>();
+        levels = new HashMap<>();
+        timings = new HashMap<>();
+
+        collector = new StatsCollector() {
+            @Override
+            public void recordCount(String name, long count) {
+                counts.put(name, count);
+            }
+
+            @Override
+            public void recordLevel(String name, long level) {
+                levels.put(name, level);
+            }
+
+            @Override
+            public void recordTimings(String name, TimingHistogram histogram) {
+                timings.put(name, histogram);
+            }
+        };
+    }
+
+    @Test
+    public void testCountsSumAndReset() throws Exception {
+        final StatRegistry.Counter counter = registry.counter("foo.count");
+        assertSame(counter, registry.counter("foo.count"));
+
+        counter.increment();
+        counter.add(4);
+        registry.recordCount("foo.count", 5);
+
+        registry.drain(collector);
+        assertEquals(10L, (long) counts.get("foo.count"));
+
+        counts.clear();
+        registry.drain(collector);
+        assertFalse(counts.containsKey("foo.count"));
+    }
+
+    @Test
+    public void testNoCountsLostWhileDraining() throws Exception {
+        final StatRegistry.Counter counter = registry.counter("foo.count");
+        final AtomicLong drained = new AtomicLong();
+        final StatsCollector summing = new StatsCollector() {
+            @Override
+            public void recordCount(String name, long count) {
+                drained.addAndGet(count);
+            }
+        };
+
+        final Thread[] threads = new Thread[4];
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(() -> {
+                for (int count = 0; count < 100_000; count++) {
+                    counter.increment();
+                }
+            });
+            threads[index].start();
+        }
+
+        boolean running = true;
+        while (running) {
+            registry.drain(summing);
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+        }
+        registry.drain(summing);
+
+        assertEquals(400_000L, drained.get());
+    }
+
+    @Test
+    public void testLevelOnlyWhenChanged() throws Exception {
+        registry.level("foo.level").set(3);
+        registry.recordLevel("foo.level", 7);
+
+        registry.drain(collector);
+        assertEquals(7L, (long) levels.get("foo.level"));
+
+        levels.clear();
+        registry.drain(collector);
+        assertFalse(levels.containsKey("foo.level"));
+    }
+
+    @Test
+    public void testTimingsMergedAcrossThreads() throws Exception {
+        final StatRegistry.Timing timing = registry.timing("foo.timing");
+
+        final Thread[] threads = new Thread[4];
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(() -> {
+                for (int count = 1; count <= 1000; count++) {
+                    timing.record(count);
+                }
+            });
+            threads[index].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        registry.drain(collector);
+        final TimingHistogram histogram = timings.get("foo.timing");
+        assertEquals(4000L, histogram.getCount());
+        assertEquals(1L, histogram.getMin());
+        assertEquals(1000L, histogram.getMax());
+
+        timings.clear();
+        registry.drain(collector);
+        assertFalse(timings.containsKey("foo.timing"));
+    }
+}
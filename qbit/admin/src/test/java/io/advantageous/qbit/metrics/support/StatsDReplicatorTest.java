@@ -0,0 +1,95 @@
+package io.advantageous.qbit.metrics.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StatsDReplicatorTest {
+
+    List<String> packets;
+    StatsDReplicator replicator;
+
+    @Before
+    public void setUp() throws Exception {
+        packets = new ArrayList<>();
+        replicator = new StatsDReplicator(InetAddress.getLoopbackAddress(), 8125, true, 500, 0) {
+            @Override
+            int sendDatagram(final ByteBuffer datagram) {
+                final int length = datagram.remaining();
+                packets.add(StandardCharsets.UTF_8.decode(datagram).toString());
+                return length;
+            }
+        };
+    }
+
+    private List<String> lines() {
+        final List<String> lines = new ArrayList<>();
+        for (String packet : packets) {
+            for (String line : packet.split("\n")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testCountsArePackedIntoDatagrams() throws Exception {
+        for (int index = 0; index < 100; index++) {
+            replicator.replicateCount("app.count." + index, 2, -1);
+            replicator.replicateCount("app.count." + index, 3, -1);
+        }
+        replicator.queueProcess();
+
+        assertTrue(packets.size() > 1);
+        assertTrue(packets.size() < 100);
+
+        final List<String> lines = lines();
+        assertEquals(100, lines.size());
+        assertTrue(lines.contains("app.count.0:5|c"));
+        assertTrue(lines.contains("app.count.99:5|c"));
+
+        /* Each datagram is as full as it can be, the next stat did not fit. */
+        int line = 0;
+        for (int index = 0; index < packets.size(); index++) {
+            final int length = packets.get(index).getBytes(StandardCharsets.UTF_8).length;
+            assertTrue(length <= 500 - 28);
+            line += packets.get(index).split("\n").length;
+            if (index < packets.size() - 1) {
+                assertTrue(length + 1 + lines.get(line).length() > 500 - 28);
+            }
+        }
+    }
+
+    @Test
+    public void testFormats() throws Exception {
+        replicator.timing("app.time", 12);
+        replicator.gauge("app.level", -7);
+        replicator.gauge("app.ratio", 0.5);
+        replicator.incrementBy("app.min", Long.MIN_VALUE);
+        replicator.incrementBy("app.max", Long.MAX_VALUE);
+        replicator.flushStatSend();
+
+        assertEquals(1, packets.size());
+        assertEquals("app.time:12|ms\napp.level:-7|g\napp.ratio:0.5|g\napp.min:-9223372036854775808|c"
+                        + "\napp.max:9223372036854775807|c",
+                packets.get(0));
+    }
+
+    @Test
+    public void testNamesSentDirectlyKeepReplicatedTypes() throws Exception {
+        replicator.timing("app.stat", 12);
+        replicator.timing("app.stat", 13);
+        replicator.replicateCount("app.stat", 5, -1);
+        replicator.queueProcess();
+
+        assertEquals(1, packets.size());
+        assertEquals("app.stat:12|ms\napp.stat:13|ms\napp.stat:5|c", packets.get(0));
+    }
+}
@@ -20,6 +20,7 @@ package io.advantageous.qbit;
 
 import io.advantageous.qbit.client.Client;
 import io.advantageous.qbit.concurrent.PeriodicScheduler;
+import io.advantageous.qbit.events.DeliveryPolicy;
 import io.advantageous.qbit.events.EventBusProxyCreator;
 import io.advantageous.qbit.events.EventManager;
 import io.advantageous.qbit.events.spi.EventConnector;
@@ -46,6 +47,7 @@ import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.impl.CallbackManager;
 import io.advantageous.qbit.service.stats.StatsCollector;
 import io.advantageous.qbit.spi.FactorySPI;
+import io.advantageous.qbit.spi.BinaryProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolParser;
 import io.advantageous.qbit.system.QBitSystemManager;
@@ -191,6 +193,15 @@ public interface Factory {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create an encoder for the length prefixed binary protocol.
+     *
+     * @return binary encoder.
+     */
+    default BinaryProtocolEncoder createBinaryEncoder() {
+        throw new UnsupportedOperationException();
+    }
+
 
 
     /**
@@ -233,6 +244,33 @@ public interface Factory {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create a remote proxy that sends method calls as binary frames.
+     *
+     * @param serviceInterface client view of client
+     * @param uri              uri of client
+     * @param serviceName      name of the client that we are proxying method calls to.
+     * @param port             port
+     * @param host             host
+     * @param connected        connected
+     * @param returnAddressArg return address
+     * @param sender           how we are sending the frames over the wire
+     * @param beforeMethodCall before method call
+     * @param <T>              type of client
+     * @param requestBatchSize request batch size
+     * @return remote proxy
+     */
+    default <T> T createBinaryRemoteProxyWithReturnAddress(Class<T> serviceInterface, String uri, String serviceName,
+                                                           String host,
+                                                           int port,
+                                                           AtomicBoolean connected,
+                                                           String returnAddressArg,
+                                                           Sender<byte[]> sender,
+                                                           BeforeMethodCall beforeMethodCall,
+                                                           int requestBatchSize) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Parses a method call using an address prefix and a body.
      * Useful for Websocket calls and POST calls (if you don't care about request params).
@@ -333,6 +371,13 @@ public interface Factory {
         return FactorySPI.getEventManagerFactory().createEventManager(name, eventConnector, statsCollector);
     }
 
+    default EventManager createEventManager(final String name, final EventConnector eventConnector,
+                                            final StatsCollector statsCollector,
+                                            final DeliveryPolicy deliveryPolicy) {
+        return FactorySPI.getEventManagerFactory().createEventManager(name, eventConnector, statsCollector,
+                deliveryPolicy);
+    }
+
     default ServiceEndpointServer createServiceServer(final HttpTransport httpServer,
                                                       final ProtocolEncoder encoder,
                                                       final ProtocolParser protocolParser,
@@ -357,12 +402,25 @@ public interface Factory {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create a client, asking for the binary protocol if binary is true.
+     * Factories that do not have a binary protocol fall back to text.
+     */
+    default Client createClient(String uri, HttpClient httpClient, int requestBatchSize, boolean binary) {
+        return createClient(uri, httpClient, requestBatchSize);
+    }
+
 
     default ProtocolParser createProtocolParser() {
         throw new UnsupportedOperationException();
     }
 
 
+    default ProtocolParser createBinaryProtocolParser() {
+        throw new UnsupportedOperationException();
+    }
+
+
     default EventManager eventManagerProxy() {
         return null;
     }
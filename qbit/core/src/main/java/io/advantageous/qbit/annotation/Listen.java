@@ -25,6 +25,10 @@ import java.lang.annotation.Target;
 
 /**
  * Listen for an event.
+ * <p>
+ * Channel names are hierarchical, segments are separated with '.'.
+ * The value can use '*' to match exactly one segment and '#' to match zero or more segments,
+ * wildcard channels can not be consumed.
  * @author richardhightower@gmail.com (Rick Hightower)
  * @see io.advantageous.qbit.annotation.OnEvent
  */
@@ -36,4 +40,10 @@ public @interface Listen {
 
     boolean consume() default false;
 
+    /**
+     * Property path into the event body, for example "symbol".
+     * When set the channel keeps only the newest event per key between flushes.
+     */
+    String conflateBy() default "";
+
 }
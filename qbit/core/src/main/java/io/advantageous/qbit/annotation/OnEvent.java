@@ -47,5 +47,12 @@ public @interface OnEvent {
      */
     boolean consume() default false;
 
+    /**
+     * Property path into the event body used as the conflation key.
+     * When set the channel only delivers the newest event per key each flush.
+     *
+     * @return key path or empty for no conflation
+     */
+    String conflateBy() default "";
 
 }
@@ -18,6 +18,8 @@
 
 package io.advantageous.qbit.boon;
 
+import io.advantageous.qbit.boon.spi.BoonBinaryProtocolEncoder;
+import io.advantageous.qbit.boon.spi.BoonBinaryProtocolParser;
 import io.advantageous.qbit.boon.spi.BoonJsonMapper;
 import io.advantageous.qbit.Factory;
 import io.advantageous.qbit.boon.service.impl.BoonServiceProxyFactory;
@@ -204,6 +206,25 @@ public class BoonQBitFactory implements Factory {
                         requestBatchSize));
     }
 
+    @Override
+    public <T> T createBinaryRemoteProxyWithReturnAddress(final Class<T> serviceInterface,
+                                                          final String address,
+                                                          final String serviceName,
+                                                          final String host,
+                                                          final int port,
+                                                          final AtomicBoolean connected,
+                                                          final String returnAddressArg,
+                                                          final Sender<byte[]> sender,
+                                                          final BeforeMethodCall beforeMethodCall,
+                                                          final int requestBatchSize) {
+        return remoteServiceProxyFactory.createProxyWithReturnAddress(
+                serviceInterface,
+                serviceName,
+                host, port, connected,
+                returnAddressArg, new SenderEndPoint(this.createBinaryEncoder(), address, sender, beforeMethodCall,
+                        requestBatchSize));
+    }
+
 
     @Override
     public MethodCall<Object> createMethodCallFromHttpRequest(final Request<Object> request, Object args) {
@@ -248,11 +269,21 @@ public class BoonQBitFactory implements Factory {
         return FactorySPI.getClientFactory().create(uri, httpClient, requestBatchSize);
     }
 
+    @Override
+    public Client createClient(String uri, HttpClient httpClient, int requestBatchSize, boolean binary) {
+        return FactorySPI.getClientFactory().create(uri, httpClient, requestBatchSize, binary);
+    }
+
     @Override
     public ProtocolParser createProtocolParser() {
         return new BoonProtocolParser();
     }
 
+    @Override
+    public ProtocolParser createBinaryProtocolParser() {
+        return new BoonBinaryProtocolParser();
+    }
+
 
     @Override
     public MethodCall<Object> createMethodCallToBeParsedFromBody(String address, String returnAddress, String objectName, String methodName, Object body, MultiMap<String, String> params) {
@@ -345,6 +376,11 @@ public class BoonQBitFactory implements Factory {
         return new BoonProtocolEncoder();
     }
 
+    @Override
+    public BinaryProtocolEncoder createBinaryEncoder() {
+        return new BoonBinaryProtocolEncoder();
+    }
+
 
     public EventBusProxyCreator eventBusProxyCreator() {
 
@@ -39,6 +39,8 @@ import io.advantageous.qbit.message.impl.MethodCallImpl;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.sender.Sender;
 import io.advantageous.qbit.service.BeforeMethodCall;
+import io.advantageous.qbit.spi.ProtocolParser;
+import io.advantageous.qbit.util.CallbackRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,9 +48,7 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -74,6 +74,10 @@ public class BoonClient implements Client {
      * Request batch size for queuing.
      */
     private final int requestBatchSize;
+    /**
+     * Send method calls as binary frames instead of text.
+     */
+    private final boolean binary;
     private final boolean debug = GlobalConstants.DEBUG;
     /**
      * Holds on to Boon cache so we don't have to recreate reflected gak.
@@ -82,7 +86,7 @@ public class BoonClient implements Client {
     /**
      * Map of handlers so we can do the whole async call back thing.
      */
-    private final Map<HandlerKey, Callback<Object>> handlers = new ConcurrentHashMap<>();
+    private final CallbackRegistry<Callback<Object>> handlers = new CallbackRegistry<>();
     /**
      * Logger.
      */
@@ -103,10 +107,24 @@ public class BoonClient implements Client {
     public BoonClient(final String uri,
                       final HttpClient httpClient,
                       final int requestBatchSize) {
+        this(uri, httpClient, requestBatchSize, false);
+    }
+
+    /**
+     * @param httpClient       httpClient
+     * @param uri              uri
+     * @param requestBatchSize request batch size
+     * @param binary           send method calls with the binary protocol
+     */
+    public BoonClient(final String uri,
+                      final HttpClient httpClient,
+                      final int requestBatchSize,
+                      final boolean binary) {
 
         this.httpServerProxy = httpClient;
         this.uri = uri;
         this.requestBatchSize = requestBatchSize;
+        this.binary = binary;
     }
 
 
@@ -136,12 +154,14 @@ public class BoonClient implements Client {
      * This does not handle batching or rather un-batching which we need for performance
      * we do handle batching in the parser/encoder.
      *
-     * @param webSocketText websocket text
+     * @param webSocketMessage websocket text or binary frame
      */
-    private void handleWebSocketReplyMessage(final String webSocketText) {
+    private void handleWebSocketReplyMessage(final Object webSocketMessage) {
 
 
-        final List<Message<Object>> messages = QBit.factory().createProtocolParser().parse("", webSocketText);
+        final ProtocolParser parser = webSocketMessage instanceof byte[] ?
+                QBit.factory().createBinaryProtocolParser() : QBit.factory().createProtocolParser();
+        final List<Message<Object>> messages = parser.parse("", webSocketMessage);
 
 
         //noinspection Convert2streamapi
@@ -149,12 +169,11 @@ public class BoonClient implements Client {
             if (message instanceof Response) {
                 @SuppressWarnings("unchecked") final Response<Object> response = ((Response) message);
                 final String[] split = StringScanner.split(response.returnAddress(), (char) PROTOCOL_ARG_SEPARATOR);
-                final HandlerKey key = split.length == 2 ? new HandlerKey(split[1], response.id()) : new HandlerKey(split[0], response.id());
-                final Callback<Object> handler = handlers.get(key);
+                final String returnAddress = split.length == 2 ? split[1] : split[0];
+                final Callback<Object> handler = handlers.remove(returnAddress, response.id());
 
                 if (handler != null) {
                     handleAsyncCallback(response, handler);
-                    handlers.remove(key);
                 } // else there was no handler, it was a one way method.
             }
         }
@@ -185,10 +204,10 @@ public class BoonClient implements Client {
     /**
      * Sends a message over websocket.
      *
-     * @param message     message to sendText over WebSocket
+     * @param message     message to send over WebSocket, a String or a binary frame
      * @param serviceName message to sendText over WebSocket
      */
-    private void send(final String serviceName, final String message) {
+    private void send(final String serviceName, final Object message) {
 
         if (webSocket == null) {
 
@@ -225,13 +244,17 @@ public class BoonClient implements Client {
 
         if (!webSocket.isClosed()) {
         /* By this point we should be open. */
-            webSocket.sendText(message);
+            if (message instanceof byte[]) {
+                webSocket.sendBinary((byte[]) message);
+            } else {
+                webSocket.sendText((String) message);
+            }
         } else {
             connected.set(false);
         }
     }
 
-    private void wireWebSocket(final String serviceName, final String message) {
+    private void wireWebSocket(final String serviceName, final Object message) {
 
         this.webSocket.setErrorConsumer(error ->
                 logger.error(sputs(this.getClass().getName(),
@@ -239,6 +262,9 @@ public class BoonClient implements Client {
 
         //noinspection Convert2MethodRef
         this.webSocket.setTextMessageConsumer(messageFromServer -> handleWebSocketReplyMessage(messageFromServer));
+
+        //noinspection Convert2MethodRef
+        this.webSocket.setBinaryMessageConsumer(messageFromServer -> handleWebSocketReplyMessage(messageFromServer));
     }
 
     /**
@@ -280,7 +306,7 @@ public class BoonClient implements Client {
                     final Object o = list[0];
                     if (o instanceof Callback) {
                         //noinspection unchecked
-                        handlers.put(new HandlerKey(call.returnAddress(), call.id()), createHandler(serviceInterface, call, (Callback) o));
+                        handlers.put(call.returnAddress(), call.id(), createHandler(serviceInterface, call, (Callback) o));
 
                         if (list.length - 1 == 0) {
                             list = new Object[0];
@@ -301,24 +327,47 @@ public class BoonClient implements Client {
         };
 
 
-        final Sender<String> sender = new Sender<String>() {
+        final T proxy;
 
-            @Override
-            public void send(String returnAddress, String buffer) {
-                BoonClient.this.send(serviceName, buffer);
-            }
+        if (binary) {
+            final Sender<byte[]> sender = new Sender<byte[]>() {
 
-            @Override
-            public void stop() {
-                BoonClient.this.stop();
-            }
-        };
+                @Override
+                public void send(String returnAddress, byte[] buffer) {
+                    BoonClient.this.send(serviceName, buffer);
+                }
 
-        T proxy = QBit.factory().createRemoteProxyWithReturnAddress(serviceInterface, uri, serviceName,
-                httpServerProxy.getHost(),
-                httpServerProxy.getPort(),
-                connected,
-                returnAddressArg, sender, beforeMethodCall, requestBatchSize);
+                @Override
+                public void stop() {
+                    BoonClient.this.stop();
+                }
+            };
+
+            proxy = QBit.factory().createBinaryRemoteProxyWithReturnAddress(serviceInterface, uri, serviceName,
+                    httpServerProxy.getHost(),
+                    httpServerProxy.getPort(),
+                    connected,
+                    returnAddressArg, sender, beforeMethodCall, requestBatchSize);
+        } else {
+            final Sender<String> sender = new Sender<String>() {
+
+                @Override
+                public void send(String returnAddress, String buffer) {
+                    BoonClient.this.send(serviceName, buffer);
+                }
+
+                @Override
+                public void stop() {
+                    BoonClient.this.stop();
+                }
+            };
+
+            proxy = QBit.factory().createRemoteProxyWithReturnAddress(serviceInterface, uri, serviceName,
+                    httpServerProxy.getHost(),
+                    httpServerProxy.getPort(),
+                    connected,
+                    returnAddressArg, sender, beforeMethodCall, requestBatchSize);
+        }
 
         if (proxy instanceof ClientProxy) {
             clientProxies.add((ClientProxy) proxy);
@@ -439,38 +488,4 @@ public class BoonClient implements Client {
         connected.set(true);
 
     }
-
-    /**
-     * Key to store callbackWithTimeout in call back map.
-     */
-    private class HandlerKey {
-        /**
-         * Return address
-         */
-        final String returnAddress;
-        /**
-         * Message id
-         */
-        final long messageId;
-
-        private HandlerKey(String returnAddress, long messageId) {
-            this.returnAddress = returnAddress;
-            this.messageId = messageId;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            HandlerKey that = (HandlerKey) o;
-            return messageId == that.messageId && !(returnAddress != null ? !returnAddress.equals(that.returnAddress) : that.returnAddress != null);
-        }
-
-        @Override
-        public int hashCode() {
-            int result = returnAddress != null ? returnAddress.hashCode() : 0;
-            result = 31 * result + (int) (messageId ^ (messageId >>> 32));
-            return result;
-        }
-    }
 }
@@ -29,4 +29,9 @@ public class BoonClientFactory implements ClientFactory {
     public Client create(String uri, HttpClient httpClient, int requestBatchSize) {
         return new BoonClient(uri, httpClient, requestBatchSize);
     }
+
+    @Override
+    public Client create(String uri, HttpClient httpClient, int requestBatchSize, boolean binary) {
+        return new BoonClient(uri, httpClient, requestBatchSize, binary);
+    }
 }
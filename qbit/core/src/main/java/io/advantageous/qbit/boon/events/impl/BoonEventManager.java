@@ -29,6 +29,9 @@ import io.advantageous.qbit.annotation.QueueCallback;
 import io.advantageous.qbit.annotation.QueueCallbackType;
 import io.advantageous.qbit.events.*;
 import io.advantageous.qbit.events.EventListener;
+import io.advantageous.qbit.events.impl.BoundedSubscriber;
+import io.advantageous.qbit.events.impl.ChannelTrie;
+import io.advantageous.qbit.events.impl.ConflatingEventBuffer;
 import io.advantageous.qbit.events.impl.EventBusImpl;
 import io.advantageous.qbit.events.spi.EventConnector;
 import io.advantageous.qbit.events.spi.EventTransferObject;
@@ -42,6 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static io.advantageous.boon.core.reflection.ClassMeta.classMeta;
 import static io.advantageous.qbit.annotation.AnnotationUtils.*;
@@ -58,7 +62,10 @@ public class BoonEventManager implements EventManager {
 
     private final EventBus eventBus;
     private final Map<String, List<Object>> eventMap = new ConcurrentHashMap<>();
+    private final Map<String, ConflatingEventBuffer> conflatingChannels = new ConcurrentHashMap<>();
     private final List<SendQueue<Event<Object>>> queuesToFlush = new ArrayList<>(100);
+    private final List<BoundedSubscriber> boundedSubscribers = new ArrayList<>();
+    private final DeliveryPolicy deliveryPolicy;
     private final HashSet<ServiceQueue> services = new HashSet<>();
     private final boolean debug = GlobalConstants.DEBUG || logger.isDebugEnabled();
     private final String name;
@@ -68,16 +75,24 @@ public class BoonEventManager implements EventManager {
     private long lastFlushTime = 0;
     private long now;
     private final String eventCountStatsKey;
+    private final String conflatedCountStatsKey;
 
 
     public BoonEventManager(final String name, EventConnector eventConnector, StatsCollector statsCollector) {
+        this(name, eventConnector, statsCollector, null);
+    }
+
+    public BoonEventManager(final String name, EventConnector eventConnector, StatsCollector statsCollector,
+                            final DeliveryPolicy deliveryPolicy) {
 
-        logger.info("Event manager created {} {} {}", name, eventConnector, statsCollector);
+        logger.info("Event manager created {} {} {} {}", name, eventConnector, statsCollector, deliveryPolicy);
         this.name = name;
         this.eventBus = new EventBusImpl(name, eventConnector, statsCollector);
         this.stats = statsCollector;
+        this.deliveryPolicy = deliveryPolicy != null && deliveryPolicy.bounded() ? deliveryPolicy : null;
 
         eventCountStatsKey = "EventManager." + name.replace(" ", ".");
+        conflatedCountStatsKey = eventCountStatsKey + ".conflated";
 
     }
 
@@ -105,12 +120,51 @@ public class BoonEventManager implements EventManager {
             events.clear();
         }
 
+        if (conflatingChannels.size() > 0) {
+            sendConflatedMessages();
+        }
+
+        flushSubscribers();
+    }
+
+    private void sendConflatedMessages() {
+        long conflated = 0;
+        for (Map.Entry<String, ConflatingEventBuffer> entry : conflatingChannels.entrySet()) {
+            final String channelName = entry.getKey();
+            final ConflatingEventBuffer buffer = entry.getValue();
+            for (int index = 0; index < buffer.size(); index++) {
+                eventBus.send(channelName, buffer.get(index));
+            }
+            buffer.clear();
+            conflated += buffer.takeConflatedCount();
+        }
+        if (conflated > 0) {
+            stats.recordCount(conflatedCountStatsKey, conflated);
+        }
+    }
+
+    private void flushSubscribers() {
+
+        //noinspection Convert2streamapi
+        for (BoundedSubscriber boundedSubscriber : boundedSubscribers) {
+            boundedSubscriber.drain();
+        }
+
         //noinspection Convert2streamapi
         for (SendQueue<Event<Object>> sendQueue : queuesToFlush) {
             sendQueue.flushSends();
         }
     }
 
+    /**
+     * Buffered events still have to go out when no new events are arriving.
+     */
+    private void drainBoundedSubscribers() {
+        if (boundedSubscribers.size() > 0) {
+            flushSubscribers();
+        }
+    }
+
     @QueueCallback(QueueCallbackType.IDLE)
     private void queueIdle() {
 
@@ -122,6 +176,7 @@ public class BoonEventManager implements EventManager {
             return;
         }
 
+        drainBoundedSubscribers();
         eventBus.flush();
 
     }
@@ -150,6 +205,7 @@ public class BoonEventManager implements EventManager {
             sendMessages();
         }
 
+        drainBoundedSubscribers();
         eventBus.flush();
 
     }
@@ -174,6 +230,7 @@ public class BoonEventManager implements EventManager {
             sendMessages();
         }
 
+        drainBoundedSubscribers();
         eventBus.flush();
 
     }
@@ -303,6 +360,10 @@ public class BoonEventManager implements EventManager {
         final String channel = listen.getValues().get("value").toString();
         final boolean consume = (boolean) listen.getValues().get("consume");
 
+        final Object conflateBy = listen.getValues().get("conflateBy");
+        if (conflateBy != null && !Str.isEmpty(conflateBy.toString())) {
+            conflateByPath(channel, conflateBy.toString());
+        }
 
 
         if (serviceQueue == null) {
@@ -407,6 +468,11 @@ public class BoonEventManager implements EventManager {
         logger.info("EventManager {}::subscribe() channel name {} sendQueue {}", name, channelName, sendQueue.name());
         queuesToFlush.add(sendQueue);
 
+        if (deliveryPolicy != null) {
+            eventBus.register(channelName, boundedSubscriber(channelName, sendQueue, true));
+            return;
+        }
+
         //noinspection Anonymous2MethodRef
         eventBus.register(channelName, new EventSubscriber<Object>() {
             @Override
@@ -424,6 +490,11 @@ public class BoonEventManager implements EventManager {
 
         queuesToFlush.add(sendQueue);
 
+        if (deliveryPolicy != null) {
+            eventBus.register(channelName, boundedSubscriber(channelName, sendQueue, false));
+            return;
+        }
+
         //noinspection Anonymous2MethodRef
         eventBus.register(channelName, new EventConsumer<Object>() {
             @Override
@@ -434,10 +505,51 @@ public class BoonEventManager implements EventManager {
 
     }
 
+    private BoundedSubscriber boundedSubscriber(final String channelName,
+                                                final SendQueue<Event<Object>> sendQueue,
+                                                final boolean subscriber) {
+
+        final String deadLetterChannel = deliveryPolicy.getDeadLetterChannel();
+        final BoundedSubscriber boundedSubscriber = new BoundedSubscriber(
+                eventCountStatsKey + "." + channelName + "." + sendQueue.name(),
+                sendQueue, subscriber, deliveryPolicy,
+                channelName.equals(deadLetterChannel) ? event -> { } : event -> send(deadLetterChannel, event),
+                stats);
+        boundedSubscribers.add(boundedSubscriber);
+        return boundedSubscriber;
+    }
+
     @Override
     public <T> void send(final String channel, T event) {
         messageCountSinceLastFlush++;
-        events(channel).add(event);
+        final ConflatingEventBuffer conflatingBuffer = conflatingChannels.get(channel);
+        if (conflatingBuffer != null) {
+            conflatingBuffer.put(event);
+        } else {
+            events(channel).add(event);
+        }
+    }
+
+    @Override
+    public void conflate(final String channel, final Function<Object, Object> keyExtractor) {
+
+        if (ChannelTrie.isPattern(channel)) {
+            throw new IllegalArgumentException(String.format("EventManager %s:: wildcard channel %s " +
+                    "can not be conflating", name, channel));
+        }
+
+        logger.info("EventManager {}:: channel {} is conflating", name, channel);
+        conflatingChannels.put(channel, new ConflatingEventBuffer(keyExtractor));
+    }
+
+    /**
+     * Conflating channel declared with a listen annotation, the key is a property path into the event body.
+     */
+    private void conflateByPath(final String channel, final String keyPath) {
+        if (conflatingChannels.containsKey(channel)) {
+            return;
+        }
+        conflate(channel, body -> BeanUtils.idx(body, keyPath));
     }
 
     @SafeVarargs
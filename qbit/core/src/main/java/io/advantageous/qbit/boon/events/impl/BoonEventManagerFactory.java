@@ -18,6 +18,7 @@
 
 package io.advantageous.qbit.boon.events.impl;
 
+import io.advantageous.qbit.events.DeliveryPolicy;
 import io.advantageous.qbit.events.EventManager;
 import io.advantageous.qbit.events.spi.EventConnector;
 import io.advantageous.qbit.events.spi.EventManagerFactory;
@@ -30,11 +31,17 @@ public class BoonEventManagerFactory implements EventManagerFactory {
 
     @Override
     public EventManager createEventManager(String name, EventConnector eventConnector, StatsCollector statsCollector) {
+        return createEventManager(name, eventConnector, statsCollector, null);
+    }
+
+    @Override
+    public EventManager createEventManager(String name, EventConnector eventConnector, StatsCollector statsCollector,
+                                           DeliveryPolicy deliveryPolicy) {
 
         if (Objects.isNull(name)) throw new IllegalArgumentException("Name cannot be null");
         if (Objects.isNull(eventConnector)) throw new IllegalArgumentException("EventConnector cannot be null");
         if (Objects.isNull(statsCollector)) throw new IllegalArgumentException("Stats collector cannot be null");
-        return new BoonEventManager(name, eventConnector, statsCollector);
+        return new BoonEventManager(name, eventConnector, statsCollector, deliveryPolicy);
 
     }
 }
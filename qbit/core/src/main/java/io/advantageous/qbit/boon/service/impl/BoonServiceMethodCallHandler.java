@@ -73,6 +73,19 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
     private SendQueue<Response<Object>> responseSendQueue;
     private final Map<String, MethodAccess> eventMap = new ConcurrentHashMap<>();
 
+    /**
+     * MethodHandle invokers for the public service methods, built at init time.
+     */
+    private final Map<MethodAccess, MethodHandleInvoker> invokers = new IdentityHashMap<>();
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Methods indexed by the method id the service bundle bound with bindMethodId.
+     * Copied on write since it only changes when a proxy is created.
+     */
+    private volatile MethodAccess[] methodsById = new MethodAccess[0];
+
     public BoonServiceMethodCallHandler(final boolean invokeDynamic) {
         this.invokeDynamic = invokeDynamic;
     }
@@ -81,7 +94,10 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
     public Response<Object> receiveMethodCall(MethodCall<Object> methodCall) {
 
         try {
-            if (methodCall.name() != null && !methodCall.name().isEmpty()) {
+            final MethodAccess method = methodById(methodCall.methodId());
+            if (method != null) {
+                return mapArgsAsyncHandlersAndInvoke(methodCall, method);
+            } else if (methodCall.name() != null && !methodCall.name().isEmpty()) {
                 return invokeByName(methodCall);
             } else {
                 return invokeByAddress(methodCall);
@@ -97,6 +113,25 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
         }
     }
 
+    private MethodAccess methodById(final int methodId) {
+        final MethodAccess[] methods = methodsById;
+        return methodId >= 0 && methodId < methods.length ? methods[methodId] : null;
+    }
+
+    @Override
+    public synchronized boolean bindMethodId(final int methodId, final String methodName) {
+        final MethodAccess method = classMeta.method(methodName);
+
+        if (method == null) {
+            throw new IllegalStateException("Service method does not exist " + name + "." + methodName);
+        }
+
+        final MethodAccess[] methods = Arrays.copyOf(methodsById, Math.max(methodsById.length, methodId + 1));
+        methods[methodId] = method;
+        methodsById = methods;
+        return true;
+    }
+
     private Response<Object> invokeByAddress(MethodCall<Object> methodCall) {
         String address = methodCall.address();
 
@@ -228,7 +263,7 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
         if (binding.hasRequestParamBindings()) {
 
             Object body = bodyFromRequestParams(method, methodCall, binding);
-            Object returnValue = method.invokeDynamicObject(service, body);
+            Object returnValue = invokeWithHandle(method, argumentArray(body), body);
             return response(method, methodCall, returnValue);
         }
 
@@ -242,7 +277,8 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
 
         if (method.parameterTypes().length == 0) {
 
-            Object returnValue = method.invokeDynamicObject(service, null);
+            final MethodHandleInvoker invoker = invokers.get(method);
+            Object returnValue = invoker != null ? invoker.invoke(NO_ARGS) : method.invokeDynamicObject(service, null);
             return response(method, methodCall, returnValue);
 
         }
@@ -255,7 +291,7 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
             if (body == null || (body instanceof String && Str.isEmpty(body))) {
                 if (method.parameterTypes()[0] != Callback.class) {
                     body = methodCall.params();
-                    Object returnValue = method.invokeDynamicObject(service, body);
+                    Object returnValue = invokeWithHandle(method, new Object[]{body}, body);
                     return response(method, methodCall, returnValue);
                 }
             }
@@ -286,15 +322,25 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
             }
 
 
-            if (invokeDynamic) {
+            final Object[] args = argsList.toArray(new Object[argsList.size()]);
+            final MethodHandleInvoker invoker = invokers.get(method);
+
+            if (invoker != null && invoker.accepts(args)) {
+                returnValue = invoker.invoke(args);
+            } else if (invokeDynamic) {
                 returnValue = method.invokeDynamicObject(service, argsList);
             } else {
-                returnValue = method.invoke(service, argsList.toArray(new Object[argsList.size()]));
+                returnValue = method.invoke(service, args);
             }
 
         } else {
 
-            if (invokeDynamic) {
+            final MethodHandleInvoker invoker = invokers.get(method);
+            final Object[] args = invoker == null ? null : argumentArray(methodCall.body());
+
+            if (args != null && invoker.accepts(args)) {
+                returnValue = invoker.invoke(args);
+            } else if (invokeDynamic) {
 
                 if (methodCall.body() instanceof List) {
                     final List argsList = (List) methodCall.body();
@@ -322,6 +368,28 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
         return response(method, methodCall, returnValue);
     }
 
+    /**
+     * Invokes the method through its handle when the args fit it, otherwise lets Boon coerce the body.
+     */
+    private Object invokeWithHandle(final MethodAccess method, final Object[] args, final Object body) {
+        final MethodHandleInvoker invoker = invokers.get(method);
+
+        if (invoker != null && args != null && invoker.accepts(args)) {
+            return invoker.invoke(args);
+        }
+        return method.invokeDynamicObject(service, body);
+    }
+
+    private Object[] argumentArray(final Object body) {
+        if (body instanceof Object[]) {
+            return (Object[]) body;
+        } else if (body instanceof List) {
+            final List list = (List) body;
+            return list.toArray(new Object[list.size()]);
+        }
+        return null;
+    }
+
 
     private boolean hasHandlers(MethodAccess method) {
 
@@ -664,6 +732,11 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
                 continue;
             }
 
+            final MethodHandleInvoker invoker = MethodHandleInvoker.invoker(service, methodAccess);
+            if (invoker != null) {
+                invokers.put(methodAccess, invoker);
+            }
+
             registerMethod(methodAccess);
         }
 
@@ -27,12 +27,15 @@ import io.advantageous.qbit.client.ServiceProxyFactory;
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.MethodCallBuilder;
 import io.advantageous.qbit.service.EndPoint;
+import io.advantageous.qbit.service.ServiceBundle;
 import io.advantageous.qbit.util.Timer;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -80,11 +83,32 @@ public class BoonServiceProxyFactory implements ServiceProxyFactory {
         };
 
 
+        /* Local proxies to a service bundle send the method id so the bundle can dispatch with an array index. */
+        final ServiceBundle serviceBundle = endPoint instanceof ServiceBundle ? (ServiceBundle) endPoint : null;
+        final Map<Method, Integer> methodIds = new ConcurrentHashMap<>();
+
         InvocationHandler invocationHandler = new InvocationHandler() {
 
             long timestamp = Timer.timer().now();
             int times = 10;
 
+            private int methodId(final Method method) {
+                if (serviceBundle == null) {
+                    return -1;
+                }
+                Integer methodId = methodIds.get(method);
+                if (methodId == null) {
+                    try {
+                        methodId = serviceBundle.methodId(serviceName, method.getName());
+                    } catch (IllegalStateException ex) {
+                        /* Not there (yet), route by name so the call fails the same way it always has. */
+                        return -1;
+                    }
+                    methodIds.put(method, methodId);
+                }
+                return methodId;
+            }
+
             @Override
             public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 
@@ -147,6 +171,7 @@ public class BoonServiceProxyFactory implements ServiceProxyFactory {
                         .setName(method.getName())
                         .setTimestamp(timestamp)
                         .setBody(args)
+                        .setMethodId(methodId(method))
                         .build();
 
                 assert endPoint != null;
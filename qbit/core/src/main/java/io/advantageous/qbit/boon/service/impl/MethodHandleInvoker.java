@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.boon.core.reflection.MethodAccess;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Calls a service method through a MethodHandle that is bound to the service and built once at init time.
+ * <p>
+ * The handle is adapted to take an Object[] and return an Object, so a call does not go through reflection
+ * and the JIT can inline it like a normal call. It does no argument conversion, use accepts to check that the
+ * arguments already have the right types and fall back to Boon (which coerces them) if they do not.
+ *
+ * @author rhightower
+ */
+class MethodHandleInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final MethodHandle methodHandle;
+    private final Class<?>[] argumentTypes;
+    private final boolean[] primitive;
+
+    private MethodHandleInvoker(final MethodHandle methodHandle, final Class<?>[] parameterTypes) {
+        this.methodHandle = methodHandle;
+        this.argumentTypes = new Class<?>[parameterTypes.length];
+        this.primitive = new boolean[parameterTypes.length];
+        for (int index = 0; index < parameterTypes.length; index++) {
+            primitive[index] = parameterTypes[index].isPrimitive();
+            argumentTypes[index] = primitive[index]
+                    ? MethodType.methodType(parameterTypes[index]).wrap().returnType()
+                    : parameterTypes[index];
+        }
+    }
+
+    /**
+     * @param service      service object the handle is bound to
+     * @param methodAccess method
+     * @return invoker or null if the method can't be called through a handle
+     */
+    static MethodHandleInvoker invoker(final Object service, final MethodAccess methodAccess) {
+        final Method method = methodAccess.method();
+
+        if (method.isVarArgs() || Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+
+        try {
+            method.setAccessible(true);
+            final MethodHandle methodHandle = MethodHandles.lookup().unreflect(method)
+                    .bindTo(service)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+            return new MethodHandleInvoker(methodHandle, method.getParameterTypes());
+        } catch (IllegalAccessException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @param args arguments
+     * @return true if the args can be passed as they are
+     */
+    boolean accepts(final Object[] args) {
+        if (args.length != argumentTypes.length) {
+            return false;
+        }
+        for (int index = 0; index < args.length; index++) {
+            final Object arg = args[index];
+            if (arg == null) {
+                if (primitive[index]) {
+                    return false;
+                }
+            } else if (!argumentTypes[index].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the method. Anything the method throws that is not a RuntimeException is wrapped
+     * like reflection would, so callers can unwrap the InvocationTargetException.
+     *
+     * @param args arguments, check them with accepts first
+     * @return return value or null for void methods
+     */
+    Object invoke(final Object[] args) {
+        try {
+            return methodHandle.invokeExact(args);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(new InvocationTargetException(throwable));
+        }
+    }
+}
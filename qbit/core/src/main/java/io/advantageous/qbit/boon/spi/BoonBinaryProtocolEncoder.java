@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.qbit.message.Message;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import io.advantageous.qbit.spi.BinaryProtocolEncoder;
+import io.advantageous.qbit.util.MultiMap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static io.advantageous.qbit.service.Protocol.*;
+
+/**
+ * Binary protocol encoder.
+ * <p>
+ * A frame is the marker byte, the version byte and then one message.
+ * A message is its type byte, a varint length and the payload, a group is a varint count of nested messages.
+ * Numbers are varints, strings are a varint length (plus one, zero means null) followed by UTF-8.
+ * Each encoding thread reuses its own ByteBuffer, the only copy is the final byte array handed to the transport.
+ *
+ * @author rhightower
+ */
+public class BoonBinaryProtocolEncoder implements BinaryProtocolEncoder {
+
+    /**
+     * Room reserved in front of a payload for its varint length.
+     */
+    private static final int LENGTH_RESERVE = 5;
+
+    /**
+     * Per-thread buffers that grew past this for a big message are dropped after the frame is copied out,
+     * so one large body does not pin a large buffer on every encoding thread.
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final int INITIAL_BUFFER = 1024;
+
+    private final BinaryBodyCodec bodyCodec;
+
+    final ThreadLocal<ByteBuffer> bufRef = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocate(INITIAL_BUFFER);
+        }
+    };
+
+    public BoonBinaryProtocolEncoder() {
+        this(new BoonJsonBodyCodec());
+    }
+
+    public BoonBinaryProtocolEncoder(final BinaryBodyCodec bodyCodec) {
+        this.bodyCodec = bodyCodec;
+    }
+
+    @Override
+    public byte[] encodeAsBytes(final Response<Object> response) {
+        ByteBuffer buf = startFrame();
+        buf = encode(buf, response);
+        return finishFrame(buf);
+    }
+
+    @Override
+    public byte[] encodeAsBytes(final MethodCall<Object> methodCall) {
+        ByteBuffer buf = startFrame();
+        buf = encode(buf, methodCall);
+        return finishFrame(buf);
+    }
+
+    @Override
+    public byte[] encodeAsBytes(final Collection<Message<Object>> messages) {
+        ByteBuffer buf = startFrame();
+        buf = ensure(buf, 1 + LENGTH_RESERVE);
+        buf.put((byte) PROTOCOL_MESSAGE_TYPE_GROUP);
+        final int mark = reserveLength(buf);
+        buf = writeVarLong(buf, messages.size());
+
+        for (Message<Object> message : messages) {
+            if (message instanceof MethodCall) {
+                buf = encode(buf, (MethodCall<Object>) message);
+            } else if (message instanceof Response) {
+                buf = encode(buf, (Response<Object>) message);
+            }
+        }
+        closeLength(buf, mark);
+        return finishFrame(buf);
+    }
+
+    private ByteBuffer startFrame() {
+        final ByteBuffer buf = bufRef.get();
+        buf.clear();
+        buf.put((byte) BINARY_PROTOCOL_MARKER);
+        buf.put((byte) BINARY_PROTOCOL_VERSION);
+        return buf;
+    }
+
+    private byte[] finishFrame(final ByteBuffer buf) {
+        final byte[] frame = Arrays.copyOf(buf.array(), buf.position());
+        bufRef.set(buf.capacity() > MAX_RETAINED_BUFFER ? ByteBuffer.allocate(INITIAL_BUFFER) : buf);
+        return frame;
+    }
+
+    private ByteBuffer encode(ByteBuffer buf, final MethodCall<Object> methodCall) {
+        buf = ensure(buf, 1 + LENGTH_RESERVE);
+        buf.put((byte) PROTOCOL_MESSAGE_TYPE_METHOD);
+        final int mark = reserveLength(buf);
+
+        buf = writeVarLong(buf, zigZag(methodCall.id()));
+        buf = writeString(buf, methodCall.address());
+        buf = writeString(buf, methodCall.returnAddress());
+        buf = writeMultiMap(buf, methodCall.headers());
+        buf = writeMultiMap(buf, methodCall.params());
+        buf = writeString(buf, methodCall.objectName());
+        buf = writeString(buf, methodCall.name());
+        buf = writeVarLong(buf, zigZag(methodCall.timestamp()));
+
+        final Object body = methodCall.body();
+        if (body instanceof Collection) {
+            final Collection<?> args = (Collection<?>) body;
+            buf = writeVarLong(buf, args.size());
+            for (Object arg : args) {
+                buf = writeBody(buf, arg);
+            }
+        } else if (body instanceof Object[]) {
+            final Object[] args = (Object[]) body;
+            buf = writeVarLong(buf, args.length);
+            //noinspection ForLoopReplaceableByForEach
+            for (int index = 0; index < args.length; index++) {
+                buf = writeBody(buf, args[index]);
+            }
+        } else if (body != null) {
+            buf = writeVarLong(buf, 1);
+            buf = writeBody(buf, body);
+        } else {
+            buf = writeVarLong(buf, 0);
+        }
+
+        closeLength(buf, mark);
+        return buf;
+    }
+
+    private ByteBuffer encode(ByteBuffer buf, final Response<Object> response) {
+        buf = ensure(buf, 1 + LENGTH_RESERVE);
+        buf.put((byte) PROTOCOL_MESSAGE_TYPE_RESPONSE);
+        final int mark = reserveLength(buf);
+
+        buf = writeVarLong(buf, zigZag(response.id()));
+        buf = writeString(buf, response.address());
+        buf = writeString(buf, response.returnAddress());
+        buf = writeVarLong(buf, zigZag(response.timestamp()));
+        buf = ensure(buf, 1);
+        buf.put((byte) (response.wasErrors() ? 1 : 0));
+        buf = writeBody(buf, response.body());
+
+        closeLength(buf, mark);
+        return buf;
+    }
+
+    private ByteBuffer writeMultiMap(ByteBuffer buf, final MultiMap<String, String> multiMap) {
+        if (multiMap == null || multiMap.size() == 0) {
+            return writeVarLong(buf, 0);
+        }
+
+        final Map<? extends String, ? extends Collection<String>> map = multiMap.baseMap();
+        int count = 0;
+        for (Collection<String> values : map.values()) {
+            if (values.size() > 0) {
+                count++;
+            }
+        }
+
+        buf = writeVarLong(buf, count);
+        for (Map.Entry<? extends String, ? extends Collection<String>> entry : map.entrySet()) {
+            final Collection<String> values = entry.getValue();
+            if (values.size() == 0) {
+                continue;
+            }
+            buf = writeString(buf, entry.getKey());
+            buf = writeVarLong(buf, values.size());
+            for (String value : values) {
+                buf = writeString(buf, value);
+            }
+        }
+        return buf;
+    }
+
+    /**
+     * A null body is written as length zero, the codec is not asked to encode it.
+     * Otherwise the codec writes straight into the frame and the length is filled in after.
+     */
+    private ByteBuffer writeBody(ByteBuffer buf, final Object body) {
+        if (body == null) {
+            return writeVarLong(buf, 0);
+        }
+        buf = ensure(buf, LENGTH_RESERVE);
+        final int mark = reserveLength(buf);
+        buf = bodyCodec.encode(body, buf);
+        closeLength(buf, mark);
+        return buf;
+    }
+
+    private ByteBuffer writeString(ByteBuffer buf, final String value) {
+        if (value == null) {
+            return writeVarLong(buf, 0);
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf = writeVarLong(buf, bytes.length + 1L);
+        buf = ensure(buf, bytes.length);
+        buf.put(bytes);
+        return buf;
+    }
+
+    static ByteBuffer writeVarLong(ByteBuffer buf, long value) {
+        buf = ensure(buf, 10);
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+        return buf;
+    }
+
+    static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int reserveLength(final ByteBuffer buf) {
+        final int mark = buf.position();
+        buf.position(mark + LENGTH_RESERVE);
+        return mark;
+    }
+
+    /**
+     * Writes the payload length into the reserved space and slides the payload down over the unused part.
+     */
+    private static void closeLength(final ByteBuffer buf, final int mark) {
+        final byte[] array = buf.array();
+        final int payloadStart = mark + LENGTH_RESERVE;
+        int length = buf.position() - payloadStart;
+
+        int index = mark;
+        while ((length & ~0x7F) != 0) {
+            array[index++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        array[index++] = (byte) length;
+
+        if (index < payloadStart) {
+            System.arraycopy(array, payloadStart, array, index, buf.position() - payloadStart);
+            buf.position(buf.position() - (payloadStart - index));
+        }
+    }
+
+    static ByteBuffer ensure(final ByteBuffer buf, final int needed) {
+        if (buf.remaining() >= needed) {
+            return buf;
+        }
+        final int capacity = Math.max(buf.capacity() * 2, buf.position() + needed);
+        final ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.boon.core.Lists;
+import io.advantageous.boon.core.Str;
+import io.advantageous.qbit.message.Message;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.impl.ResponseImpl;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import io.advantageous.qbit.spi.ProtocolParser;
+import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.MultiMapImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.advantageous.boon.core.Exceptions.die;
+import static io.advantageous.qbit.service.Protocol.*;
+
+/**
+ * Parses frames written by BoonBinaryProtocolEncoder.
+ * Bodies are decoded straight out of the frame array, nothing is split or copied first.
+ *
+ * @author rhightower
+ */
+public class BoonBinaryProtocolParser implements ProtocolParser {
+
+    private final BinaryBodyCodec bodyCodec;
+
+    public BoonBinaryProtocolParser() {
+        this(new BoonJsonBodyCodec());
+    }
+
+    public BoonBinaryProtocolParser(final BinaryBodyCodec bodyCodec) {
+        this.bodyCodec = bodyCodec;
+    }
+
+    /**
+     * @param body message body
+     * @return true if the body is a binary frame this parser understands
+     */
+    public static boolean isBinaryFrame(final Object body) {
+        if (!(body instanceof byte[])) {
+            return false;
+        }
+        final byte[] bytes = (byte[]) body;
+        return bytes.length > 3 &&
+                (bytes[0] & 0xFF) == BINARY_PROTOCOL_MARKER &&
+                bytes[1] == BINARY_PROTOCOL_VERSION;
+    }
+
+    @Override
+    public boolean supports(Object args, MultiMap<String, String> params) {
+        if (!isBinaryFrame(args)) {
+            return false;
+        }
+        final byte type = ((byte[]) args)[2];
+        return type == PROTOCOL_MESSAGE_TYPE_METHOD ||
+                type == PROTOCOL_MESSAGE_TYPE_GROUP || type == PROTOCOL_MESSAGE_TYPE_RESPONSE;
+    }
+
+    @Override
+    public MethodCall<Object> parseMethodCall(Object body) {
+        return parseMethodCallUsingAddressPrefix("", body);
+    }
+
+    @Override
+    public MethodCall<Object> parseMethodCallUsingAddressPrefix(String addressPrefix, Object body) {
+        if (!isBinaryFrame(body)) {
+            return null;
+        }
+        final Input input = new Input((byte[]) body);
+        final Message<Object> message = readMessage(addressPrefix, input);
+        return message instanceof MethodCall ? (MethodCall<Object>) message : null;
+    }
+
+    @Override
+    public List<Message<Object>> parse(String address, Object body) {
+
+        if (!isBinaryFrame(body)) {
+            die("Body must be a binary frame at this point");
+            return null;
+        }
+
+        final Input input = new Input((byte[]) body);
+
+        if (input.bytes[input.position] != PROTOCOL_MESSAGE_TYPE_GROUP) {
+            return Lists.list(readMessage(address, input));
+        }
+
+        input.position++;
+        final int end = input.readLength();
+        final int count = (int) input.readVarLong();
+        final List<Message<Object>> messages = new ArrayList<>(count);
+
+        while (input.position < end) {
+            messages.add(readMessage(address, input));
+        }
+        return messages;
+    }
+
+    @Override
+    public List<MethodCall<Object>> parseMethods(Object body) {
+        //noinspection unchecked
+        return (List<MethodCall<Object>>) (Object) parse("", body);
+    }
+
+    @Override
+    public List<MethodCall<Object>> parseMethodCallListUsingAddressPrefix(String addressPrefix, Object body) {
+        //noinspection unchecked
+        return (List<MethodCall<Object>>) (Object) parse("", body);
+    }
+
+    @Override
+    public Response<Object> parseResponse(Object body) {
+        if (!isBinaryFrame(body)) {
+            return null;
+        }
+        final Input input = new Input((byte[]) body);
+        final Message<Object> message = readMessage("", input);
+        return message instanceof Response ? (Response<Object>) message : null;
+    }
+
+    private Message<Object> readMessage(final String addressPrefix, final Input input) {
+        final byte type = input.bytes[input.position++];
+        final int end = input.readLength();
+
+        final Message<Object> message;
+        switch (type) {
+            case PROTOCOL_MESSAGE_TYPE_METHOD:
+                message = readMethodCall(addressPrefix, input);
+                break;
+            case PROTOCOL_MESSAGE_TYPE_RESPONSE:
+                message = readResponse(input);
+                break;
+            default:
+                die("Unsupported binary message type", type);
+                return null;
+        }
+
+        /* Skip anything a newer encoder appended to the payload. */
+        input.position = end;
+        return message;
+    }
+
+    private MethodCall<Object> readMethodCall(final String addressPrefix, final Input input) {
+        final long id = unZigZag(input.readVarLong());
+        final String address = input.readString();
+        String returnAddress = input.readString();
+
+        if (!Str.isEmpty(addressPrefix)) {
+            returnAddress = Str.add(addressPrefix, "" + ((char) PROTOCOL_ARG_SEPARATOR), returnAddress);
+        }
+
+        final MultiMap<String, String> headers = input.readMultiMap();
+        final MultiMap<String, String> params = input.readMultiMap();
+        final String objectName = input.readString();
+        final String methodName = input.readString();
+        final long timestamp = unZigZag(input.readVarLong());
+
+        final int argCount = (int) input.readVarLong();
+        final Object[] args = new Object[argCount];
+        for (int index = 0; index < argCount; index++) {
+            args[index] = readBody(input);
+        }
+
+        return new MethodCallBuilder().setId(id).setAddress(address).setReturnAddress(returnAddress)
+                .setHeaders(headers).setObjectName(objectName).setName(methodName).setTimestamp(timestamp)
+                .setBody(args).setParams(params).build();
+    }
+
+    private Response<Object> readResponse(final Input input) {
+        final long id = unZigZag(input.readVarLong());
+        final String address = input.readString();
+        final String returnAddress = input.readString();
+        final long timestamp = unZigZag(input.readVarLong());
+        final boolean wasErrors = input.bytes[input.position++] == 1;
+        final Object body = readBody(input);
+        return new ResponseImpl<>(id, timestamp, address, returnAddress, null, body, null, wasErrors);
+    }
+
+    private Object readBody(final Input input) {
+        final int length = (int) input.readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        final Object body = bodyCodec.decode(input.bytes, input.position, length);
+        input.position += length;
+        return body;
+    }
+
+    static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read cursor over a frame.
+     */
+    private static final class Input {
+        private final byte[] bytes;
+        private int position = 2;
+
+        private Input(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 63) {
+                    die("Malformed varint in binary frame");
+                }
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        /**
+         * @return absolute end of the payload that follows
+         */
+        int readLength() {
+            final int length = (int) readVarLong();
+            final int end = position + length;
+            if (length < 0 || end > bytes.length) {
+                die("Binary frame is truncated");
+            }
+            return end;
+        }
+
+        String readString() {
+            final int length = (int) readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            final String value = new String(bytes, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        MultiMap<String, String> readMultiMap() {
+            final int count = (int) readVarLong();
+            if (count == 0) {
+                return null;
+            }
+            final MultiMap<String, String> multiMap = new MultiMapImpl<>();
+            for (int entry = 0; entry < count; entry++) {
+                final String key = readString();
+                final int valueCount = (int) readVarLong();
+                for (int index = 0; index < valueCount; index++) {
+                    multiMap.add(key, readString());
+                }
+            }
+            return multiMap;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.boon.json.JsonParserAndMapper;
+import io.advantageous.boon.json.JsonParserFactory;
+import io.advantageous.boon.json.JsonSerializer;
+import io.advantageous.boon.json.JsonSerializerFactory;
+import io.advantageous.boon.primitive.CharBuf;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import io.advantageous.qbit.util.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Default body codec for the binary protocol, bodies are UTF-8 JSON.
+ * The values decode to the same lists and maps the text protocol produces so services see no difference.
+ * Bodies are written as UTF-8 straight from the serializer's chars and parsed straight from the bytes,
+ * no String is built either way.
+ *
+ * @author rhightower
+ */
+public class BoonJsonBodyCodec implements BinaryBodyCodec {
+
+    private final ThreadLocal<JsonSerializer> jsonSerializer = new ThreadLocal<JsonSerializer>() {
+        @Override
+        protected JsonSerializer initialValue() {
+            return new JsonSerializerFactory().addFilter((parent, fieldAccess) -> !fieldAccess.name().equals("metaClass")).create();
+        }
+    };
+
+    private final ThreadLocal<JsonParserAndMapper> jsonParser = new ThreadLocal<JsonParserAndMapper>() {
+        @Override
+        protected JsonParserAndMapper initialValue() {
+            return new JsonParserFactory().createUTF8DirectByteParser();
+        }
+    };
+
+    @Override
+    public byte[] encode(final Object body) {
+        return Utf8.encode(jsonSerializer.get().serialize(body));
+    }
+
+    @Override
+    public ByteBuffer encode(final Object body, ByteBuffer buf) {
+        final CharBuf json = jsonSerializer.get().serialize(body);
+        final int length = Utf8.encodedLength(json);
+        buf = BoonBinaryProtocolEncoder.ensure(buf, length);
+        Utf8.encode(json, buf.array(), buf.arrayOffset() + buf.position());
+        buf.position(buf.position() + length);
+        return buf;
+    }
+
+    /**
+     * The byte parser has no offset and length, so a body in the middle of a frame is copied out as bytes first.
+     */
+    @Override
+    public Object decode(final byte[] bytes, final int offset, final int length) {
+        final byte[] json = offset == 0 && length == bytes.length ? bytes : Arrays.copyOfRange(bytes, offset, offset + length);
+        return jsonParser.get().parse(json);
+    }
+}
@@ -58,6 +58,17 @@ public class BoonJsonMapper implements JsonMapper {
     };
 
 
+    /**
+     * Holds the parser for UTF-8 bytes, it parses the bytes directly instead of decoding them to chars first.
+     */
+    private final ThreadLocal<JsonParserAndMapper> bytesParser = new ThreadLocal<JsonParserAndMapper>() {
+        @Override
+        protected JsonParserAndMapper initialValue() {
+            return new JsonParserFactory().setIgnoreSet(Sets.set("metaClass")).createUTF8DirectByteParser();
+        }
+    };
+
+
     /**
      * Holds the JsonSerializer to deserialize JSON into Java objects.
      */
@@ -142,6 +153,18 @@ public class BoonJsonMapper implements JsonMapper {
     }
 
 
+    /**
+     * Converts from Object into JSON chars.
+     * This is the serializer's own buffer, it is reused by the next call on this thread.
+     * @param object object to convert to JSON.
+     * @return json chars
+     */
+    @Override
+    public CharSequence toJsonChars(Object object) {
+        return serializer.get().serialize(object);
+    }
+
+
     /**
      * Converts from a json string using componentClassKey and componentClassValue as a guide to a Map.
      *
@@ -154,8 +177,68 @@ public class BoonJsonMapper implements JsonMapper {
      */
     @Override
     public <K, V> Map<K, V> fromJsonMap(String json, Class<K> componentClassKey, Class<V> componentClassValue) {
+        return convertMap((Map) parser.get().parse(json), componentClassKey, componentClassValue);
+    }
+
+
+    /**
+     * Convert UTF-8 JSON bytes into one Java Object.
+     * @param json json
+     * @return Java object
+     */
+    @Override
+    public Object fromJson(byte[] json) {
+        return bytesParser.get().parse(json);
+    }
+
+
+    /**
+     * Convert from UTF-8 JSON bytes using Class as a suggestion for how to do the parse.
+     * @param json json
+     * @param cls cls
+     * @param <T> Type
+     * @return Java object of Type T
+     */
+    @Override
+    public <T> T fromJson(byte[] json, Class<T> cls) {
+        return bytesParser.get().parse(cls, json);
+    }
+
+
+    /**
+     * Converts from UTF-8 JSON bytes using componentClass as a guide to a List.
+     * @param json json
+     * @param componentClass componentClass
+     * @param <T> Type
+     * @return List of Java objects of Type T.
+     */
+    @Override
+    public <T> List<T> fromJsonArray(byte[] json, Class<T> componentClass) {
+        return bytesParser.get().parseList(componentClass, json);
+    }
+
+
+    /**
+     * Converts from UTF-8 JSON bytes using componentClassKey and componentClassValue as a guide to a Map.
+     * @param json json
+     * @param componentClassKey componentClassKey type of Key
+     * @param componentClassValue componentClassValue type of value
+     * @param <K> K type of map key
+     * @param <V> V type of map value
+     * @return Map
+     */
+    @Override
+    public <K, V> Map<K, V> fromJsonMap(byte[] json, Class<K> componentClassKey, Class<V> componentClassValue) {
+        return convertMap((Map) bytesParser.get().parse(json), componentClassKey, componentClassValue);
+    }
+
+
+    /**
+     * Converts each entry of a parsed JSON object using componentClassKey and componentClassValue.
+     */
+    private <K, V> Map<K, V> convertMap(final Map<Object, Object> map,
+                                        final Class<K> componentClassKey, final Class<V> componentClassValue) {
 
-        final Map<Object, Object> map  = (Map) parser.get().parse(json);
         Mapper mapper = this.mapper.get();
 
         final Map<K, V> results = new TreeMap<>();
@@ -38,6 +38,7 @@ public class ClientBuilder {
     public static final String QBIT_CLIENT_BUILDER = "qbit.client.builder.";
 
     private int protocolBatchSize = 10;
+    private boolean binaryProtocol;
     private String uri;
     private HttpClientBuilder httpClientBuilder;
 
@@ -52,6 +53,7 @@ public class ClientBuilder {
         httpClientBuilder.setPipeline(propertyResolver.getBooleanProperty("pipeline", true));
         httpClientBuilder.setTimeOutInMilliseconds(propertyResolver.getIntegerProperty("timeOutInMilliseconds", 3000));
         this.protocolBatchSize = propertyResolver.getIntegerProperty("protocolBatchSize", protocolBatchSize);
+        this.binaryProtocol = propertyResolver.getBooleanProperty("binaryProtocol", false);
         httpClientBuilder.setTimeOutInMilliseconds(propertyResolver.getIntegerProperty("flushInterval", 500));
         this.uri = propertyResolver.getStringProperty("uri", "/services");
         httpClientBuilder.setTimeOutInMilliseconds(propertyResolver.getIntegerProperty("timeoutSeconds", 30) * 1000);
@@ -206,6 +208,21 @@ public class ClientBuilder {
         return this;
     }
 
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
+    }
+
+    /**
+     * Send method calls as binary frames. The server answers a connection in the protocol it was called with.
+     *
+     * @param binaryProtocol use the binary protocol
+     * @return this
+     */
+    public ClientBuilder setBinaryProtocol(boolean binaryProtocol) {
+        this.binaryProtocol = binaryProtocol;
+        return this;
+    }
+
     public Client build() {
 
         /**
@@ -218,7 +235,8 @@ public class ClientBuilder {
 
         //noinspection UnnecessaryLocalVariable
         @SuppressWarnings("UnnecessaryLocalVariable")
-        Client client = QBit.factory().createClient(uri, httpClientBuilder.build(), protocolBatchSize);
+        Client client = QBit.factory().createClient(uri, httpClientBuilder.build(), protocolBatchSize,
+                binaryProtocol);
         return client;
 
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events;
+
+import java.util.function.Function;
+
+/**
+ * How events are delivered to send queue subscribers (services).
+ * <p>
+ * With a buffer size above zero every subscription gets its own bounded buffer.
+ * Events are handed to the subscriber's queue while it is less than maxLag batches behind,
+ * after that they wait in the buffer, and once the buffer is full the overflow policy decides what happens.
+ *
+ * @author rhightower
+ */
+public class DeliveryPolicy {
+
+    private int bufferSize;
+    private int maxLag = 100;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private String deadLetterChannel = "DEAD_LETTER";
+    private long blockTimeoutMS = 1_000;
+    private Function<Object, Object> keyExtractor = body -> body;
+
+    public static DeliveryPolicy deliveryPolicy() {
+        return new DeliveryPolicy();
+    }
+
+    public boolean bounded() {
+        return bufferSize > 0;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public DeliveryPolicy setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public int getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * @param maxLag how many batches can sit in a subscriber's queue before events are held back
+     * @return this
+     */
+    public DeliveryPolicy setMaxLag(int maxLag) {
+        this.maxLag = maxLag;
+        return this;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public DeliveryPolicy setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    public String getDeadLetterChannel() {
+        return deadLetterChannel;
+    }
+
+    /**
+     * @param deadLetterChannel channel that gets the overflowing events (the whole event, so the channel is kept)
+     * @return this
+     */
+    public DeliveryPolicy setDeadLetterChannel(String deadLetterChannel) {
+        this.deadLetterChannel = deadLetterChannel;
+        return this;
+    }
+
+    public long getBlockTimeoutMS() {
+        return blockTimeoutMS;
+    }
+
+    public DeliveryPolicy setBlockTimeoutMS(long blockTimeoutMS) {
+        this.blockTimeoutMS = blockTimeoutMS;
+        return this;
+    }
+
+    public Function<Object, Object> getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    /**
+     * @param keyExtractor pulls the conflation key out of an event body
+     * @return this
+     */
+    public DeliveryPolicy setKeyExtractor(Function<Object, Object> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        return this;
+    }
+}
@@ -23,6 +23,8 @@ import io.advantageous.qbit.message.Event;
 import io.advantageous.qbit.queue.SendQueue;
 import io.advantageous.qbit.service.ServiceQueue;
 
+import java.util.function.Function;
+
 /**
  * Manages an event bus.
  * Event Manager for managing event buses.
@@ -153,4 +155,16 @@ public interface EventManager {
 
     void forwardEvent(EventTransferObject<Object> event);
 
+
+    /**
+     * Makes a channel conflating: between flushes only the newest event per key is kept and delivered.
+     * Good for channels like price ticks or health updates where only the latest value matters.
+     *
+     * @param channel      channel name (not a wildcard)
+     * @param keyExtractor pulls the key out of the event body
+     */
+    default void conflate(String channel, Function<Object, Object> keyExtractor) {
+        throw new UnsupportedOperationException("conflate is not supported by " + getClass().getName());
+    }
+
 }
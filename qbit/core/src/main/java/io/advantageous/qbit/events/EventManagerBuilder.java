@@ -3,6 +3,7 @@ package io.advantageous.qbit.events;
 import io.advantageous.qbit.Factory;
 import io.advantageous.qbit.QBit;
 import io.advantageous.qbit.events.impl.ConditionalEventConnector;
+import io.advantageous.qbit.events.impl.PartitionedEventManager;
 import io.advantageous.qbit.events.spi.EventConnector;
 import io.advantageous.qbit.events.spi.EventTransferObject;
 import io.advantageous.qbit.message.Event;
@@ -11,7 +12,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -24,6 +29,10 @@ public class EventManagerBuilder {
     private List<Predicate<Event<Object>>> eventConnectorPredicates = new ArrayList<>();
     private String name;
     private StatsCollector statsCollector;
+    private int partitionCount = 1;
+    private int partitionFlushInterval = 50;
+    private DeliveryPolicy deliveryPolicy;
+    private Map<String, Function<Object, Object>> conflatingChannels = new LinkedHashMap<>();
     public static EventConnector DEFAULT_NO_EVENT_CONNECTOR = event -> {};
     public static StatsCollector DEFAULT_NO_STATS_COLLECTOR = new StatsCollector() {};
     private final Logger logger = LoggerFactory.getLogger(EventManagerBuilder.class);
@@ -70,6 +79,74 @@ public class EventManagerBuilder {
         return this;
     }
 
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Spread channels over this many event managers, each with its own thread.
+     * The default of 1 builds a plain event manager.
+     *
+     * @param partitionCount number of partitions
+     * @return this
+     */
+    public EventManagerBuilder setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+        return this;
+    }
+
+    public int getPartitionFlushInterval() {
+        return partitionFlushInterval;
+    }
+
+    /**
+     * How often, in milliseconds, the per thread proxies to the partitions flush.
+     *
+     * @param partitionFlushInterval flush interval in milliseconds
+     * @return this
+     */
+    public EventManagerBuilder setPartitionFlushInterval(int partitionFlushInterval) {
+        this.partitionFlushInterval = partitionFlushInterval;
+        return this;
+    }
+
+    public DeliveryPolicy getDeliveryPolicy() {
+        return deliveryPolicy;
+    }
+
+    /**
+     * Bounds what each subscribing service can fall behind by, see {@link DeliveryPolicy}.
+     * Without one, events are sent to subscribers' queues as they come in.
+     *
+     * @param deliveryPolicy delivery policy
+     * @return this
+     */
+    public EventManagerBuilder setDeliveryPolicy(DeliveryPolicy deliveryPolicy) {
+        this.deliveryPolicy = deliveryPolicy;
+        return this;
+    }
+
+    public Map<String, Function<Object, Object>> getConflatingChannels() {
+        return conflatingChannels;
+    }
+
+    public EventManagerBuilder setConflatingChannels(Map<String, Function<Object, Object>> conflatingChannels) {
+        this.conflatingChannels = conflatingChannels;
+        return this;
+    }
+
+    /**
+     * Only the newest event per key is delivered on this channel each flush.
+     *
+     * @param channel      channel name
+     * @param keyExtractor pulls the key out of the event body
+     * @return this
+     */
+    public EventManagerBuilder addConflatingChannel(String channel, Function<Object, Object> keyExtractor) {
+        conflatingChannels.put(channel, keyExtractor);
+        return this;
+    }
+
     public EventConnector getEventConnector() {
         if (eventConnector == null) {
             logger.debug("Event Connector is null for {} event bus, creating NoOp Event Connector", getName());
@@ -108,13 +185,30 @@ public class EventManagerBuilder {
 
     public EventManager build(final String name) {
 
+        final EventManager eventManager;
+        if (partitionCount > 1) {
+            eventManager = new PartitionedEventManager(name, partitionCount,
+                    index -> createEventManager(name + "." + index),
+                    partitionFlushInterval, TimeUnit.MILLISECONDS);
+        } else {
+            eventManager = createEventManager(name);
+        }
+
+        if (conflatingChannels != null) {
+            conflatingChannels.forEach(eventManager::conflate);
+        }
+        return eventManager;
+    }
+
+    private EventManager createEventManager(final String name) {
+
 
         if ( eventConnector == null) {
-            return getFactory().createEventManager(name, getEventConnector(), getStatsCollector());
+            return createEventManager(name, getEventConnector());
         } else {
 
             if (getEventConnectorPredicates().size() == 0) {
-                return getFactory().createEventManager(name, getEventConnector(), getStatsCollector());
+                return createEventManager(name, getEventConnector());
             } else {
 
                 Predicate<Event<Object>> mainPredicate = getEventConnectorPredicates().get(0);
@@ -122,11 +216,17 @@ public class EventManagerBuilder {
                 for (int index = 1; index < eventConnectorPredicates.size(); index++) {
                     mainPredicate = mainPredicate.and(eventConnectorPredicates.get(index));
                 }
-                return getFactory().createEventManager(name,
-                        new ConditionalEventConnector(mainPredicate, getEventConnector()), getStatsCollector());
+                return createEventManager(name, new ConditionalEventConnector(mainPredicate, getEventConnector()));
             }
 
         }
     }
 
+    private EventManager createEventManager(final String name, final EventConnector connector) {
+        if (deliveryPolicy == null) {
+            return getFactory().createEventManager(name, connector, getStatsCollector());
+        }
+        return getFactory().createEventManager(name, connector, getStatsCollector(), deliveryPolicy);
+    }
+
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events;
+
+/**
+ * What a bounded subscriber does when its buffer is full.
+ *
+ * @author rhightower
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Throw away the oldest buffered event to make room.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Throw away the event that did not fit.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Replace the buffered event with the same key, drop the oldest if there is none.
+     */
+    CONFLATE,
+
+    /**
+     * Make the event manager wait for the subscriber to catch up, up to the block timeout.
+     */
+    BLOCK,
+
+    /**
+     * Send the event that did not fit to the dead letter channel.
+     */
+    DEAD_LETTER
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.DeliveryPolicy;
+import io.advantageous.qbit.events.EventListener;
+import io.advantageous.qbit.events.OverflowPolicy;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.service.stats.StatsCollector;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers a channel's events to a subscriber's send queue through a bounded ring buffer.
+ * <p>
+ * Events go straight to the send queue while the subscriber is keeping up.
+ * When its queue is more than maxLag batches behind, events are held in the buffer,
+ * and when the buffer is full the overflow policy decides what to do with the extra event.
+ * <p>
+ * Lag (buffered events plus batches waiting in the subscriber's queue) and drop counts go to the stats collector.
+ * Only called from the event manager thread.
+ *
+ * @author rhightower
+ */
+public class BoundedSubscriber implements EventListener<Object> {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final SendQueue<Event<Object>> sendQueue;
+    private final boolean subscriber;
+    private final Object[] buffer;
+    private final int maxLag;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Function<Object, Object> keyExtractor;
+    private final Consumer<Event<Object>> deadLetter;
+    private final StatsCollector stats;
+    private final String lagStatKey;
+    private final String dropStatKey;
+
+    private int head;
+    private int count;
+    private long droppedSinceLastReport;
+
+    /**
+     * @param statKeyPrefix prefix for the lag and drop stats
+     * @param sendQueue     subscriber's queue
+     * @param subscriber    false if this is the channel's consumer
+     * @param policy        delivery policy
+     * @param deadLetter    where DEAD_LETTER sends overflowing events
+     * @param stats         stats collector
+     */
+    public BoundedSubscriber(final String statKeyPrefix,
+                             final SendQueue<Event<Object>> sendQueue,
+                             final boolean subscriber,
+                             final DeliveryPolicy policy,
+                             final Consumer<Event<Object>> deadLetter,
+                             final StatsCollector stats) {
+        this.sendQueue = sendQueue;
+        this.subscriber = subscriber;
+        this.buffer = new Object[policy.getBufferSize()];
+        this.maxLag = policy.getMaxLag();
+        this.overflowPolicy = policy.getOverflowPolicy();
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(policy.getBlockTimeoutMS());
+        this.keyExtractor = policy.getKeyExtractor();
+        this.deadLetter = deadLetter;
+        this.stats = stats;
+        this.lagStatKey = statKeyPrefix + ".lag";
+        this.dropStatKey = statKeyPrefix + ".dropped";
+    }
+
+    @Override
+    public boolean subscriber() {
+        return subscriber;
+    }
+
+    @Override
+    public void listen(final Event<Object> event) {
+
+        if (count == 0 && !behind()) {
+            sendQueue.send(event);
+            return;
+        }
+
+        if (count < buffer.length) {
+            add(event);
+        } else {
+            overflow(event);
+        }
+        drain();
+    }
+
+    /**
+     * Moves buffered events to the subscriber's queue as far as its lag allows and reports stats.
+     *
+     * @return number of events handed to the send queue
+     */
+    public int drain() {
+        int delivered = 0;
+        while (count > 0 && !behind()) {
+            sendQueue.send(removeOldest());
+            delivered++;
+        }
+        reportStats();
+        return delivered;
+    }
+
+    public int buffered() {
+        return count;
+    }
+
+    private boolean behind() {
+        return sendQueue.size() > maxLag;
+    }
+
+    private void overflow(final Event<Object> event) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                droppedSinceLastReport++;
+                break;
+            case CONFLATE:
+                if (!replaceSameKey(event)) {
+                    removeOldest();
+                    droppedSinceLastReport++;
+                    add(event);
+                }
+                break;
+            case BLOCK:
+                waitForSubscriber();
+                sendQueue.send(removeOldest());
+                add(event);
+                break;
+            case DEAD_LETTER:
+                droppedSinceLastReport++;
+                deadLetter.accept(event);
+                break;
+            case DROP_OLDEST:
+            default:
+                removeOldest();
+                droppedSinceLastReport++;
+                add(event);
+        }
+    }
+
+    /**
+     * Flushes what we have and parks until the subscriber is under maxLag or the block timeout runs out.
+     */
+    private void waitForSubscriber() {
+        sendQueue.flushSends();
+        final long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (behind() && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Conflation, the newer event takes the place of the buffered one with the same key.
+     */
+    private boolean replaceSameKey(final Event<Object> event) {
+        final Object key = keyExtractor.apply(event.body());
+        for (int index = 0; index < count; index++) {
+            final int slot = (head + index) % buffer.length;
+            @SuppressWarnings("unchecked") final Event<Object> buffered = (Event<Object>) buffer[slot];
+            if (Objects.equals(key, keyExtractor.apply(buffered.body()))) {
+                buffer[slot] = event;
+                droppedSinceLastReport++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(final Event<Object> event) {
+        buffer[(head + count) % buffer.length] = event;
+        count++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Event<Object> removeOldest() {
+        final Event<Object> event = (Event<Object>) buffer[head];
+        buffer[head] = null;
+        head = (head + 1) % buffer.length;
+        count--;
+        return event;
+    }
+
+    private void reportStats() {
+        stats.recordLevel(lagStatKey, count + sendQueue.size());
+        if (droppedSinceLastReport > 0) {
+            stats.recordCount(dropStatKey, droppedSinceLastReport);
+            droppedSinceLastReport = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedSubscriber{" +
+                "sendQueue=" + sendQueue.name() +
+                ", buffered=" + count +
+                ", overflowPolicy=" + overflowPolicy +
+                '}';
+    }
+}
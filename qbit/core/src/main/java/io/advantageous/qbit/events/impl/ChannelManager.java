@@ -39,6 +39,14 @@ public class ChannelManager<T> {
     private final boolean debug = logger.isDebugEnabled();
     private final String name;
     private final List<EventListener<T>> listeners;
+    /**
+     * Listeners as an array so a send is just an array walk.
+     */
+    private EventListener<T>[] listenerArray = emptyListeners();
+    /**
+     * Listeners that subscribed with a wildcard pattern that matches this channel.
+     */
+    private EventListener<T>[] wildcardListeners = emptyListeners();
     private final StatsCollector stats;
     private final String eventBusName;
     private EventListener<T> consumer;
@@ -68,6 +76,7 @@ public class ChannelManager<T> {
         if (eventListener.subscriber()) {
             if (debug) logger.debug("subscription to channel <> from <> ", name, eventListener);
             listeners.add(eventListener);
+            listenerArray = toArray(listeners);
             stats.recordLevel(eventBusName + "::" + name, listeners.size());
         } else {
             if (debug) logger.debug("consumer to channel <> from <> ", name, eventListener);
@@ -88,6 +97,7 @@ public class ChannelManager<T> {
         if (eventListener.subscriber()) {
             logger.info("remove subscription to channel {} from {} ", name, eventListener);
             listeners.remove(eventListener);
+            listenerArray = toArray(listeners);
             stats.recordLevel(eventBusName + "::" + name, listeners.size());
         } else {
 
@@ -98,6 +108,25 @@ public class ChannelManager<T> {
         }
     }
 
+    /**
+     * Replaces the listeners that reach this channel through wildcard subscriptions.
+     *
+     * @param wildcardListeners matching wildcard listeners
+     */
+    public void wildcardListeners(final List<EventListener<T>> wildcardListeners) {
+        this.wildcardListeners = toArray(wildcardListeners);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> EventListener<T>[] emptyListeners() {
+        return (EventListener<T>[]) new EventListener[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> EventListener<T>[] toArray(final List<EventListener<T>> listeners) {
+        return listeners.toArray((EventListener<T>[]) new EventListener[listeners.size()]);
+    }
+
     public void send(final Event<T> event) {
 
         if (debug) logger.debug("ChannelManager::send() {}", event);
@@ -110,9 +139,21 @@ public class ChannelManager<T> {
         }
 
 
-        for (EventListener<T> listener : listeners) {
+        final EventListener<T>[] listeners = this.listenerArray;
+        //noinspection ForLoopReplaceableByForEach
+        for (int index = 0; index < listeners.length; index++) {
+            try {
+                listeners[index].listen(event);
+            } catch (Exception ex) {
+                logger.error("Unable to send event for Channel" + name, ex);
+            }
+        }
+
+        final EventListener<T>[] wildcardListeners = this.wildcardListeners;
+        //noinspection ForLoopReplaceableByForEach
+        for (int index = 0; index < wildcardListeners.length; index++) {
             try {
-                listener.listen(event);
+                wildcardListeners[index].listen(event);
             } catch (Exception ex) {
                 logger.error("Unable to send event for Channel" + name, ex);
             }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.EventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topic trie for hierarchical channel subscriptions.
+ * <p>
+ * Channel names are split into segments on '.'.
+ * In a subscription '*' matches exactly one segment and '#' matches zero or more segments,
+ * so "orders.*.created" matches "orders.eu.created" and "orders.#" matches "orders" and "orders.eu.created".
+ * <p>
+ * The trie is only walked when subscriptions change or a channel is first used,
+ * the event bus caches the matching listeners per concrete channel.
+ * Not thread safe, it is owned by the event bus thread.
+ *
+ * @author rhightower
+ */
+public class ChannelTrie<T> {
+
+    public static final String SINGLE_WILDCARD = "*";
+    public static final String MULTI_WILDCARD = "#";
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * @param channelName channel name
+     * @return true if the name has a '*' or '#' segment
+     */
+    public static boolean isPattern(final String channelName) {
+        if (channelName.indexOf('*') == -1 && channelName.indexOf('#') == -1) {
+            return false;
+        }
+        for (String segment : split(channelName)) {
+            if (SINGLE_WILDCARD.equals(segment) || MULTI_WILDCARD.equals(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] split(final String channelName) {
+        return channelName.split("\\.", -1);
+    }
+
+    public void add(final String pattern, final EventListener<T> listener) {
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            node = node.child(segment);
+        }
+        node.listeners.add(listener);
+        size++;
+    }
+
+    /**
+     * @return true if the listener was registered for the pattern
+     */
+    public boolean remove(final String pattern, final EventListener<T> listener) {
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            node = node.existingChild(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        if (node.listeners.remove(listener)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds every listener whose pattern matches a concrete channel name.
+     * A listener that matches more than once is only returned once.
+     *
+     * @param channelName concrete channel name
+     * @return matching listeners
+     */
+    public List<EventListener<T>> match(final String channelName) {
+        final List<EventListener<T>> matches = new ArrayList<>();
+        if (size > 0) {
+            collect(root, split(channelName), 0, matches);
+        }
+        return matches;
+    }
+
+    private void collect(final Node<T> node, final String[] segments, final int index,
+                         final List<EventListener<T>> matches) {
+
+        if (node.multi != null) {
+            for (int next = index; next <= segments.length; next++) {
+                collect(node.multi, segments, next, matches);
+            }
+        }
+
+        if (index == segments.length) {
+            for (EventListener<T> listener : node.listeners) {
+                if (!containsIdentity(matches, listener)) {
+                    matches.add(listener);
+                }
+            }
+            return;
+        }
+
+        if (node.children != null) {
+            final Node<T> child = node.children.get(segments[index]);
+            if (child != null) {
+                collect(child, segments, index + 1, matches);
+            }
+        }
+
+        if (node.single != null) {
+            collect(node.single, segments, index + 1, matches);
+        }
+    }
+
+    private static <T> boolean containsIdentity(final List<EventListener<T>> list, final EventListener<T> listener) {
+        for (EventListener<T> item : list) {
+            if (item == listener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node<T> {
+        private Map<String, Node<T>> children;
+        private Node<T> single;
+        private Node<T> multi;
+        private final List<EventListener<T>> listeners = new ArrayList<>(1);
+
+        private Node<T> child(final String segment) {
+            if (SINGLE_WILDCARD.equals(segment)) {
+                if (single == null) {
+                    single = new Node<>();
+                }
+                return single;
+            } else if (MULTI_WILDCARD.equals(segment)) {
+                if (multi == null) {
+                    multi = new Node<>();
+                }
+                return multi;
+            }
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        private Node<T> existingChild(final String segment) {
+            if (SINGLE_WILDCARD.equals(segment)) {
+                return single;
+            } else if (MULTI_WILDCARD.equals(segment)) {
+                return multi;
+            }
+            return children == null ? null : children.get(segment);
+        }
+    }
+}
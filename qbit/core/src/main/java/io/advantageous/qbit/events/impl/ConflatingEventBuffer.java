@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Holds the events sent to a conflating channel between flushes, keeping only the newest event per key.
+ * <p>
+ * Events come back out in the order their key was first seen.
+ * The keys live in an open addressed (linear probing) table that is reused from flush to flush,
+ * so a steady stream of updates to the same keys does not allocate.
+ * Not thread safe, only used from the event manager thread.
+ *
+ * @author rhightower
+ */
+public class ConflatingEventBuffer {
+
+    private static final Object NULL_KEY = new Object();
+    private static final int FREE = -1;
+
+    private final Function<Object, Object> keyExtractor;
+
+    /**
+     * Key table, a slot holds a key or null when free.
+     */
+    private Object[] keys;
+
+    /**
+     * For each key slot, the index of its event in events.
+     */
+    private int[] eventIndexes;
+
+    /**
+     * Events in first seen order, with the slot of the key each one belongs to.
+     */
+    private Object[] events;
+    private int[] eventSlots;
+
+    private int mask;
+    private int size;
+    private long conflated;
+
+    public ConflatingEventBuffer(final Function<Object, Object> keyExtractor) {
+        this(keyExtractor, 16);
+    }
+
+    public ConflatingEventBuffer(final Function<Object, Object> keyExtractor, final int initialCapacity) {
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        int tableSize = 2;
+        while (tableSize < initialCapacity * 2) {
+            tableSize <<= 1;
+        }
+        allocate(tableSize);
+    }
+
+    private void allocate(final int tableSize) {
+        keys = new Object[tableSize];
+        eventIndexes = new int[tableSize];
+        Arrays.fill(eventIndexes, FREE);
+        events = new Object[tableSize / 2];
+        eventSlots = new int[tableSize / 2];
+        mask = tableSize - 1;
+    }
+
+    /**
+     * Adds the event, replacing the pending event with the same key if there is one.
+     *
+     * @param event event body
+     */
+    public void put(final Object event) {
+        Object key = keyExtractor.apply(event);
+        if (key == null) {
+            key = NULL_KEY;
+        }
+
+        int slot = spread(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                events[eventIndexes[slot]] = event;
+                conflated++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == events.length) {
+            grow();
+            put(event);
+            return;
+        }
+
+        keys[slot] = key;
+        eventIndexes[slot] = size;
+        events[size] = event;
+        eventSlots[size] = slot;
+        size++;
+    }
+
+    private static int spread(final int hash) {
+        final int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private void grow() {
+        final Object[] oldEvents = events;
+        final int oldSize = size;
+        final Object[] oldKeys = new Object[oldSize];
+        for (int index = 0; index < oldSize; index++) {
+            oldKeys[index] = keys[eventSlots[index]];
+        }
+
+        allocate(keys.length * 2);
+        size = 0;
+
+        for (int index = 0; index < oldSize; index++) {
+            int slot = spread(oldKeys[index].hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[index];
+            eventIndexes[slot] = size;
+            events[size] = oldEvents[index];
+            eventSlots[size] = slot;
+            size++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index 0 to size - 1, in first seen order
+     * @return newest event for that key
+     */
+    public Object get(final int index) {
+        return events[index];
+    }
+
+    /**
+     * @return events replaced by a newer event for the same key since the last call
+     */
+    public long takeConflatedCount() {
+        final long count = conflated;
+        conflated = 0;
+        return count;
+    }
+
+    /**
+     * Empties the buffer, only the slots that were used are cleared.
+     */
+    public void clear() {
+        for (int index = 0; index < size; index++) {
+            final int slot = eventSlots[index];
+            keys[slot] = null;
+            eventIndexes[slot] = FREE;
+            events[index] = null;
+        }
+        size = 0;
+    }
+}
@@ -42,6 +42,10 @@ public class EventBusImpl implements EventBus {
     final Map<String, ChannelManager<Object>> channelMap = new ConcurrentHashMap<>(20);
     private final StatsCollector stats;
     private final String name;
+    /**
+     * Wildcard subscriptions, resolved into each ChannelManager when it is created or the patterns change.
+     */
+    private final ChannelTrie<Object> wildcardChannels = new ChannelTrie<>();
     long messageCounter = 0;
 
     public EventBusImpl(final String name,
@@ -54,10 +58,26 @@ public class EventBusImpl implements EventBus {
 
     @Override
     public <T> void register(String channelName, EventListener<T> listener) {
+        if (ChannelTrie.isPattern(channelName)) {
+            if (!listener.subscriber()) {
+                throw new IllegalArgumentException("EventBus " + name +
+                        " :: wildcard channels only support subscribers, not consumers " + channelName);
+            }
+            //noinspection unchecked
+            wildcardChannels.add(channelName, (EventListener<Object>) listener);
+            refreshWildcardListeners();
+            return;
+        }
         //noinspection unchecked
         channel(channelName).add((EventListener<Object>) listener);
     }
 
+    private void refreshWildcardListeners() {
+        for (Map.Entry<String, ChannelManager<Object>> entry : channelMap.entrySet()) {
+            entry.getValue().wildcardListeners(wildcardChannels.match(entry.getKey()));
+        }
+    }
+
     private ChannelManager<Object> channel(String channelName) {
         ChannelManager<Object> channelManager = channelMap.get(channelName);
 
@@ -65,6 +85,9 @@ public class EventBusImpl implements EventBus {
 
             //noinspection unchecked
             channelManager = new ChannelManager(name, channelName, stats);
+            if (!wildcardChannels.isEmpty()) {
+                channelManager.wildcardListeners(wildcardChannels.match(channelName));
+            }
             channelMap.put(channelName, channelManager);
         }
         return channelManager;
@@ -88,6 +111,13 @@ public class EventBusImpl implements EventBus {
 
     @Override
     public <T> void unregister(String channelName, EventListener<T> listener) {
+        if (ChannelTrie.isPattern(channelName)) {
+            //noinspection unchecked
+            if (wildcardChannels.remove(channelName, (EventListener<Object>) listener)) {
+                refreshWildcardListeners();
+            }
+            return;
+        }
         //noinspection unchecked
         channel(channelName).remove((EventListener<Object>) listener);
     }
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.EventListener;
+import io.advantageous.qbit.events.spi.EventConnector;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.service.Stoppable;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Event connector that appends every event that goes through the event bus to a durable journal,
+ * so events can be replayed after a restart or into a subscriber that joined late.
+ * <p>
+ * The journal is a directory of fixed size, memory mapped segment files named after the offset of their first event.
+ * Each record is:
+ * <pre>
+ *     int length, int crc32, long offset, short channel length, channel (UTF-8), body (BinaryBodyCodec)
+ * </pre>
+ * The length (of everything after the crc) is written last, so a record that was not completely
+ * written reads as the end of the journal. Appends are plain writes to the mapped segment, and
+ * the segment is forced to disk at most every syncIntervalMS when the event bus flushes, so many events share one fsync.
+ * <p>
+ * Appends, flushes and syncs are synchronized, since a partitioned event manager calls its connector
+ * from every partition thread. Replay can be called from any thread,
+ * it only reads events that were completely appended when it started.
+ * Replay into listeners or send queues, not back into the event manager, or the events are journaled again.
+ * To replay and then keep receiving new events, subscribe. Subscribers get every event stamped with its journal offset,
+ * replayed and live, so they see each offset once with no gap when they catch up.
+ * <p>
+ * With a retention size set, the oldest segments are unmapped and deleted when a new segment would take the journal
+ * over that size. The current segment is always kept.
+ *
+ * @author rhightower
+ */
+public class JournalEventConnector implements EventConnector, Stoppable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final long DEFAULT_SYNC_INTERVAL_MS = 100;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 2;
+
+    private final Logger logger = LoggerFactory.getLogger(JournalEventConnector.class);
+    private final File directory;
+    private final BinaryBodyCodec codec;
+    private final int segmentSize;
+    private final long syncIntervalMS;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, byte[]> channelNames = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private final long retentionBytes;
+
+    /**
+     * Subscribers that caught up with the journal, new events are delivered to them as they are appended.
+     */
+    private final List<EventListener<Object>> liveListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Guards moving nextOffset and delivering to live listeners, so a subscriber is added exactly at the end of the journal.
+     */
+    private final Object liveLock = new Object();
+
+    private Segment current;
+    private int writePosition;
+    private boolean dirty;
+    private long lastSyncTime;
+
+    /**
+     * Next offset to be written, anything below it can be replayed.
+     */
+    private volatile long nextOffset;
+
+    public JournalEventConnector(final File directory, final BinaryBodyCodec codec) {
+        this(directory, codec, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL_MS);
+    }
+
+    /**
+     * @param directory      directory that holds the segment files, created if needed
+     * @param codec          encodes and decodes event bodies
+     * @param segmentSize    size in bytes of each segment file
+     * @param syncIntervalMS how often at most the current segment is forced to disk, 0 forces on every flush
+     */
+    public JournalEventConnector(final File directory, final BinaryBodyCodec codec,
+                                 final int segmentSize, final long syncIntervalMS) {
+        this(directory, codec, segmentSize, syncIntervalMS, 0);
+    }
+
+    /**
+     * @param directory      directory that holds the segment files, created if needed
+     * @param codec          encodes and decodes event bodies
+     * @param segmentSize    size in bytes of each segment file
+     * @param syncIntervalMS how often at most the current segment is forced to disk, 0 forces on every flush
+     * @param retentionBytes how big the journal may get before the oldest segments are deleted, 0 keeps everything
+     */
+    public JournalEventConnector(final File directory, final BinaryBodyCodec codec,
+                                 final int segmentSize, final long syncIntervalMS, final long retentionBytes) {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.syncIntervalMS = syncIntervalMS;
+        this.retentionBytes = retentionBytes;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Unable to create journal directory " + directory);
+        }
+        open();
+    }
+
+    private void open() {
+        final File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                final String fileName = file.getName();
+                final long baseOffset = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+                segments.put(baseOffset, new Segment(file, baseOffset, segmentSize));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            current = createSegment(0);
+            writePosition = 0;
+            nextOffset = 0;
+            return;
+        }
+
+        /* Find the end of the last segment. */
+        current = segments.lastEntry().getValue();
+        final ByteBuffer buffer = current.buffer.duplicate();
+        long offset = current.baseOffset;
+        int position = 0;
+        int length;
+        while ((length = validRecordLength(buffer, position, offset)) > 0) {
+            position += HEADER_SIZE + length;
+            offset++;
+        }
+        writePosition = position;
+        nextOffset = offset;
+        enforceRetention();
+        logger.info("JournalEventConnector opened {} with {} segments, next offset {}", directory, segments.size(), offset);
+    }
+
+    private Segment createSegment(final long baseOffset) {
+        final File file = new File(directory, String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+        final Segment segment = new Segment(file, baseOffset, segmentSize);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    @Override
+    public synchronized void forwardEvent(final EventTransferObject<Object> event) {
+
+        byte[] channel = channelNames.get(event.channel());
+        if (channel == null) {
+            channel = event.channel().getBytes(StandardCharsets.UTF_8);
+            channelNames.put(event.channel(), channel);
+        }
+        final byte[] body = codec.encode(event.body());
+        final int length = FIXED_PAYLOAD_SIZE + channel.length + body.length;
+
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException("Event on channel " + event.channel() + " is " + length +
+                    " bytes, which does not fit in a journal segment of " + segmentSize + " bytes");
+        }
+
+        if (writePosition + HEADER_SIZE + length > segmentSize) {
+            roll();
+        }
+
+        final long offset = nextOffset;
+        final ByteBuffer buffer = current.buffer;
+        final int payloadStart = writePosition + HEADER_SIZE;
+        buffer.position(payloadStart);
+        buffer.putLong(offset);
+        buffer.putShort((short) channel.length);
+        buffer.put(channel);
+        buffer.put(body);
+
+        crc.reset();
+        crc.update(channel, 0, channel.length);
+        crc.update(body, 0, body.length);
+        buffer.putInt(writePosition + 4, (int) crc.getValue() ^ (int) offset);
+        buffer.putInt(writePosition, length);
+
+        writePosition = payloadStart + length;
+        dirty = true;
+
+        synchronized (liveLock) {
+            nextOffset = offset + 1;
+            if (!liveListeners.isEmpty()) {
+                final Event<Object> journaled = new EventTransferObject<>(event.body(), offset, event.channel());
+                for (EventListener<Object> listener : liveListeners) {
+                    listener.listen(journaled);
+                }
+            }
+        }
+    }
+
+    private void roll() {
+        sync();
+        current = createSegment(nextOffset);
+        writePosition = 0;
+        enforceRetention();
+    }
+
+    /**
+     * Deletes the oldest segments while the journal is over the retention size.
+     */
+    private void enforceRetention() {
+        if (retentionBytes <= 0) {
+            return;
+        }
+        long size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.buffer.capacity();
+        }
+        while (size > retentionBytes && segments.size() > 1) {
+            final Segment oldest = segments.pollFirstEntry().getValue();
+            size -= oldest.buffer.capacity();
+            oldest.delete();
+            logger.info("JournalEventConnector {} deleted segment {}, first offset is now {}",
+                    directory, oldest.file.getName(), firstOffset());
+        }
+    }
+
+    /**
+     * Forces the journal to disk if there are unsynced events and the sync interval has passed.
+     */
+    @Override
+    public synchronized void flush() {
+        if (dirty && System.currentTimeMillis() - lastSyncTime >= syncIntervalMS) {
+            sync();
+        }
+    }
+
+    /**
+     * Forces the current segment to disk.
+     */
+    public synchronized void sync() {
+        if (dirty) {
+            current.buffer.force();
+            dirty = false;
+        }
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return offset the next event will get
+     */
+    public long nextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * @return offset of the oldest event in the journal
+     */
+    public long firstOffset() {
+        return segments.isEmpty() ? nextOffset : segments.firstKey();
+    }
+
+    /**
+     * Replays events into a listener, the event id is the journal offset.
+     *
+     * @param fromOffset first offset to replay
+     * @param listener   listener
+     * @return offset to continue from next time
+     */
+    public long replay(final long fromOffset, final EventListener<Object> listener) {
+        return replay(fromOffset, (Consumer<Event<Object>>) listener::listen);
+    }
+
+    /**
+     * Replays events into a service's send queue and flushes it.
+     *
+     * @param fromOffset first offset to replay
+     * @param sendQueue  send queue
+     * @return offset to continue from next time
+     */
+    public long replay(final long fromOffset, final SendQueue<Event<Object>> sendQueue) {
+        final long next = replay(fromOffset, (Consumer<Event<Object>>) sendQueue::send);
+        sendQueue.flushSends();
+        return next;
+    }
+
+    /**
+     * Replays events from fromOffset into the listener, then delivers new events to it as they are appended
+     * until it unsubscribes. Replayed and live events both have the journal offset as their id.
+     * Live events are delivered on the thread that appends them, normally the event manager thread,
+     * so the listener should hand them off rather than do slow work.
+     * Events that retention already deleted are skipped.
+     *
+     * @param fromOffset first offset to deliver
+     * @param listener   listener
+     */
+    public void subscribe(final long fromOffset, final EventListener<Object> listener) {
+        long offset = fromOffset;
+        while (true) {
+            final long next = replay(offset, listener);
+            synchronized (liveLock) {
+                if (next >= nextOffset) {
+                    liveListeners.add(listener);
+                    return;
+                }
+            }
+            if (next == offset) {
+                throw new IllegalStateException("Unable to replay journal " + directory + " past offset " + offset);
+            }
+            offset = next;
+        }
+    }
+
+    /**
+     * @param listener listener to stop delivering live events to
+     */
+    public void unsubscribe(final EventListener<Object> listener) {
+        liveListeners.remove(listener);
+    }
+
+    private long replay(final long fromOffset, final Consumer<Event<Object>> consumer) {
+
+        final long endOffset = nextOffset;
+        long offset = Math.max(fromOffset, firstOffset());
+
+        while (offset < endOffset) {
+            final Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                /* Deleted by retention while replaying, carry on from the oldest event that is left. */
+                offset = firstOffset();
+                continue;
+            }
+            final Segment segment = entry.getValue();
+            long recordOffset = segment.baseOffset;
+
+            synchronized (segment) {
+                if (segment.deleted) {
+                    continue;
+                }
+                final ByteBuffer buffer = segment.buffer.duplicate();
+                final CRC32 checksum = new CRC32();
+
+                int position = 0;
+                int length;
+                while (recordOffset < endOffset && (length = recordLength(buffer, position)) > 0) {
+                    if (recordOffset >= offset) {
+                        consumer.accept(readRecord(buffer, position, length, recordOffset, checksum));
+                    }
+                    position += HEADER_SIZE + length;
+                    recordOffset++;
+                }
+            }
+
+            if (recordOffset <= offset) {
+                /* Nothing more in this segment, and no segment starts here. */
+                break;
+            }
+            offset = recordOffset;
+        }
+        return offset;
+    }
+
+    private Event<Object> readRecord(final ByteBuffer buffer, final int position, final int length,
+                                     final long offset, final CRC32 checksum) {
+        final byte[] payload = readPayload(buffer, position, length, offset, checksum);
+        if (payload == null) {
+            throw new IllegalStateException("Corrupt journal record at offset " + offset + " in " + directory);
+        }
+
+        final int channelLength = ((payload[8] & 0xFF) << 8) | (payload[9] & 0xFF);
+        final String channel = new String(payload, FIXED_PAYLOAD_SIZE, channelLength, StandardCharsets.UTF_8);
+        final int bodyStart = FIXED_PAYLOAD_SIZE + channelLength;
+        final Object body = codec.decode(payload, bodyStart, length - bodyStart);
+        return new EventTransferObject<>(body, offset, channel);
+    }
+
+    /**
+     * @return the record payload, or null if the offset or checksum do not match
+     */
+    private static byte[] readPayload(final ByteBuffer buffer, final int position, final int length,
+                                      final long expectedOffset, final CRC32 checksum) {
+        final byte[] payload = new byte[length];
+        buffer.position(position + HEADER_SIZE);
+        buffer.get(payload);
+
+        checksum.reset();
+        checksum.update(payload, FIXED_PAYLOAD_SIZE, length - FIXED_PAYLOAD_SIZE);
+        final long offset = ByteBuffer.wrap(payload).getLong();
+        if (offset != expectedOffset || ((int) checksum.getValue() ^ (int) offset) != buffer.getInt(position + 4)) {
+            return null;
+        }
+        return payload;
+    }
+
+    private int recordLength(final ByteBuffer buffer, final int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        final int length = buffer.getInt(position);
+        return length >= FIXED_PAYLOAD_SIZE && position + HEADER_SIZE + length <= buffer.capacity() ? length : 0;
+    }
+
+    /**
+     * Used on open, a record only counts if its checksum matches, anything after a torn record is ignored.
+     */
+    private int validRecordLength(final ByteBuffer buffer, final int position, final long expectedOffset) {
+        final int length = recordLength(buffer, position);
+        if (length == 0) {
+            return 0;
+        }
+        if (readPayload(buffer, position, length, expectedOffset, crc) == null) {
+            logger.warn("JournalEventConnector {} ignoring torn record at offset {}", directory, expectedOffset);
+            return 0;
+        }
+        return length;
+    }
+
+    @Override
+    public synchronized void stop() {
+        sync();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEventConnector{" +
+                "directory=" + directory +
+                ", segments=" + segments.size() +
+                ", nextOffset=" + nextOffset +
+                '}';
+    }
+
+    private static final class Segment {
+
+        private final File file;
+        private final long baseOffset;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        /**
+         * Set under the segment lock once retention unmapped it, replay checks it before reading.
+         */
+        private boolean deleted;
+
+        private Segment(final File file, final long baseOffset, final int size) {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            try {
+                this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+            } catch (IOException ex) {
+                throw new IllegalStateException("Unable to map journal segment " + file, ex);
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Unable to close journal segment " + file, ex);
+            }
+        }
+
+        private synchronized void delete() {
+            deleted = true;
+            close();
+            unmap(buffer);
+            if (!file.delete()) {
+                throw new IllegalStateException("Unable to delete journal segment " + file);
+            }
+        }
+    }
+
+    /**
+     * Unmaps a buffer now rather than when it is garbage collected, so a deleted segment gives back its
+     * address space and disk space right away. If the JDK does not allow it, the GC unmaps it later.
+     */
+    private static void unmap(final MappedByteBuffer buffer) {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                /* Java 9 and later. */
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException ex) {
+                /* Java 8. */
+                final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                final Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Exception ex) {
+            LoggerFactory.getLogger(JournalEventConnector.class).debug("Unable to unmap journal segment", ex);
+        }
+    }
+}
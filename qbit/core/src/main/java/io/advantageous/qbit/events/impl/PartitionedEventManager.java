@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.client.ClientProxy;
+import io.advantageous.qbit.events.EventListener;
+import io.advantageous.qbit.events.EventManager;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.service.ServiceQueue;
+import io.advantageous.qbit.service.ServiceProxyUtils;
+import io.advantageous.qbit.service.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static io.advantageous.qbit.service.ServiceBuilder.serviceBuilder;
+import static io.advantageous.qbit.service.ServiceContext.serviceContext;
+
+/**
+ * Event manager that spreads channels over several event managers, each running in its own service queue.
+ * <p>
+ * A channel always hashes to the same partition so events on a channel stay in the order they were sent.
+ * Each partition keeps its own buffers, flush cycle and event bus, so fan out for different channels
+ * runs on different threads.
+ * <p>
+ * Sends go through a proxy per partition per calling thread, this class can be shared between threads.
+ * The proxies flush on a timer until the event manager is stopped.
+ * Annotation based listeners (listen, joinService) and wildcard listeners are registered with every partition
+ * since the channels they match can land on any partition, so they can be called from several threads.
+ * <p>
+ * The event connector is shared by all partitions and gets called from all of their threads.
+ *
+ * @author rhightower
+ */
+public class PartitionedEventManager implements EventManager, ClientProxy, Stoppable {
+
+    private final Logger logger = LoggerFactory.getLogger(PartitionedEventManager.class);
+
+    private final String name;
+    private final ServiceQueue[] partitions;
+    private final int flushInterval;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Every proxy handed out to any thread, so stop can cancel their flush timers.
+     */
+    private final Queue<PartitionProxy> allProxies = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<EventManager[]> proxies = new ThreadLocal<EventManager[]>() {
+        @Override
+        protected EventManager[] initialValue() {
+            final EventManager[] eventManagers = new EventManager[partitions.length];
+            for (int index = 0; index < partitions.length; index++) {
+                final PartitionProxy proxy = partitions[index].createProxyWithAutoFlush(PartitionProxy.class,
+                        flushInterval, timeUnit);
+                allProxies.add(proxy);
+                eventManagers[index] = proxy;
+            }
+            return eventManagers;
+        }
+    };
+
+    /**
+     * @param name                name of the event manager
+     * @param partitionCount      number of partitions
+     * @param eventManagerFactory creates the event manager for a partition given its index
+     * @param flushInterval       how often the per thread proxies flush
+     * @param timeUnit            time unit for flush interval
+     */
+    public PartitionedEventManager(final String name,
+                                   final int partitionCount,
+                                   final IntFunction<EventManager> eventManagerFactory,
+                                   final int flushInterval,
+                                   final TimeUnit timeUnit) {
+
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be at least 1 but was " + partitionCount);
+        }
+
+        this.name = name;
+        this.flushInterval = flushInterval;
+        this.timeUnit = timeUnit;
+        this.partitions = new ServiceQueue[partitionCount];
+
+        for (int index = 0; index < partitionCount; index++) {
+            partitions[index] = serviceBuilder().setInvokeDynamic(false)
+                    .setServiceObject(eventManagerFactory.apply(index))
+                    .build().startServiceQueue();
+        }
+
+        logger.info("Partitioned event manager {} created with {} partitions", name, partitionCount);
+    }
+
+    /**
+     * Picks the partition for a channel.
+     *
+     * @param channel channel name
+     * @return partition index
+     */
+    public int partition(final String channel) {
+        final int hash = channel.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % partitions.length;
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    private EventManager partitionFor(final String channel) {
+        return proxies.get()[partition(channel)];
+    }
+
+    @Override
+    public void joinService(final ServiceQueue serviceQueue) {
+        for (EventManager eventManager : proxies.get()) {
+            eventManager.joinService(serviceQueue);
+        }
+    }
+
+    @Override
+    public void leave() {
+        final ServiceQueue serviceQueue = serviceContext().currentService();
+        if (serviceQueue == null) {
+            throw new IllegalStateException(String.format("EventManager %s:: Must be called from inside of a Service", name));
+        }
+        stopListening(serviceQueue.service());
+    }
+
+    @Override
+    public void listen(final Object listener) {
+        for (EventManager eventManager : proxies.get()) {
+            eventManager.listen(listener);
+        }
+    }
+
+    @Override
+    public void stopListening(final Object listener) {
+        for (EventManager eventManager : proxies.get()) {
+            eventManager.stopListening(listener);
+        }
+    }
+
+    @Override
+    public <T> void register(final String channelName, final EventListener<T> listener) {
+        if (ChannelTrie.isPattern(channelName)) {
+            for (EventManager eventManager : proxies.get()) {
+                eventManager.register(channelName, listener);
+            }
+        } else {
+            partitionFor(channelName).register(channelName, listener);
+        }
+    }
+
+    @Override
+    public <T> void unregister(final String channelName, final EventListener<T> listener) {
+        if (ChannelTrie.isPattern(channelName)) {
+            for (EventManager eventManager : proxies.get()) {
+                eventManager.unregister(channelName, listener);
+            }
+        } else {
+            partitionFor(channelName).unregister(channelName, listener);
+        }
+    }
+
+    /**
+     * A wildcard subscription would have every partition thread writing to the same send queue,
+     * so it is rejected. Services get wildcard subscriptions through joinService instead.
+     */
+    @Override
+    public void subscribe(final String channelName, final SendQueue<Event<Object>> listener) {
+        if (ChannelTrie.isPattern(channelName)) {
+            throw new IllegalArgumentException(String.format("EventManager %s:: can not subscribe a send queue " +
+                    "to wildcard channel %s across partitions, use joinService", name, channelName));
+        }
+        partitionFor(channelName).subscribe(channelName, listener);
+    }
+
+    @Override
+    public void consume(final String channelName, final SendQueue<Event<Object>> listener) {
+        partitionFor(channelName).consume(channelName, listener);
+    }
+
+    @Override
+    public <T> void send(final String channel, final T event) {
+        partitionFor(channel).send(channel, event);
+    }
+
+    @SafeVarargs
+    @Override
+    public final <T> void sendArray(final String channel, final T... event) {
+        partitionFor(channel).send(channel, event);
+    }
+
+    @SafeVarargs
+    @Override
+    public final <T> void sendArguments(final String channel, final T... event) {
+        partitionFor(channel).send(channel, event);
+    }
+
+    @Override
+    public <T> void sendCopy(final String channel, final T event) {
+        partitionFor(channel).sendCopy(channel, event);
+    }
+
+    @Override
+    public void forwardEvent(final EventTransferObject<Object> event) {
+        partitionFor(event.channel()).forwardEvent(event);
+    }
+
+    @Override
+    public void conflate(final String channel, final Function<Object, Object> keyExtractor) {
+        partitionFor(channel).conflate(channel, keyExtractor);
+    }
+
+    /**
+     * Flushes the calling thread's proxies to every partition.
+     */
+    @Override
+    public void clientProxyFlush() {
+        for (EventManager eventManager : proxies.get()) {
+            ServiceProxyUtils.flushServiceProxy(eventManager);
+        }
+    }
+
+    /**
+     * Stops the proxies of every thread, which cancels their flush timers, then the partitions.
+     */
+    @Override
+    public void stop() {
+        PartitionProxy proxy;
+        while ((proxy = allProxies.poll()) != null) {
+            try {
+                proxy.stop();
+            } catch (Exception ex) {
+                logger.warn("Unable to stop proxy of event manager " + name, ex);
+            }
+        }
+        for (ServiceQueue partition : partitions) {
+            try {
+                partition.stop();
+            } catch (Exception ex) {
+                logger.warn("Unable to stop partition of event manager " + name, ex);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + super.toString();
+    }
+
+    /**
+     * Service proxies handle stop themselves by stopping their send queue, it never reaches the partition.
+     */
+    interface PartitionProxy extends EventManager, Stoppable {
+    }
+}
@@ -18,6 +18,7 @@
 
 package io.advantageous.qbit.events.spi;
 
+import io.advantageous.qbit.events.DeliveryPolicy;
 import io.advantageous.qbit.events.EventManager;
 import io.advantageous.qbit.service.stats.StatsCollector;
 
@@ -30,4 +31,11 @@ public interface EventManagerFactory {
                                             final StatsCollector statsCollector) {
         return null;
     }
+
+    default EventManager createEventManager(final String name,
+                                            final EventConnector eventConnector,
+                                            final StatsCollector statsCollector,
+                                            final DeliveryPolicy deliveryPolicy) {
+        return createEventManager(name, eventConnector, statsCollector);
+    }
 }
@@ -19,7 +19,9 @@
 package io.advantageous.qbit.http.request;
 
 
+import io.advantageous.qbit.json.JsonMapper;
 import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.Utf8;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
@@ -46,6 +48,23 @@ public interface HttpResponseReceiver<T> {
         response(code, contentType, body);
     }
 
+    /**
+     * Sends an object as a JSON response.
+     * Receivers that write to a transport can override this to encode the JSON straight into the transport's buffer.
+     *
+     * @param code       status code
+     * @param body       object to send as JSON
+     * @param jsonMapper json mapper
+     * @param headers    response headers
+     */
+    default void jsonResponse(int code, Object body, JsonMapper jsonMapper, MultiMap<String, String> headers) {
+        if (!isText()) {
+            response(code, "application/json", (T) Utf8.encode(jsonMapper.toJsonChars(body)), headers);
+        } else {
+            response(code, "application/json", (T) jsonMapper.toJson(body), headers);
+        }
+    }
+
 
     default Consumer<Exception> errorHandler() {
         return exception -> LoggerFactory.getLogger(HttpTextResponse.class)
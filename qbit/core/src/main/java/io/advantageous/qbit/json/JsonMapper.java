@@ -18,6 +18,8 @@
 
 package io.advantageous.qbit.json;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +64,16 @@ public interface JsonMapper {
      */
     String toJson(Object object);
 
+    /**
+     * Converts from Object into JSON chars, for writing the JSON out without building a String.
+     * The chars may be reused by the next call on the same thread.
+     * @param object object to convert to JSON.
+     * @return json chars
+     */
+    default CharSequence toJsonChars(Object object) {
+        return toJson(object);
+    }
+
     /**
      * Converts from a json string using componentClassKey and componentClassValue as a guide to a Map.
      *
@@ -73,4 +85,86 @@ public interface JsonMapper {
      * @return Map
      */
     <K,V> Map<K, V> fromJsonMap(String json, Class<K> componentClassKey, Class<V> componentClassValue);
+
+    /**
+     * Convert UTF-8 JSON bytes into one Java Object.
+     * Implementations should parse the bytes directly, the default goes through a String.
+     * @param json json
+     * @return Java object
+     */
+    default Object fromJson(byte[] json) {
+        return fromJson(new String(json, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convert from UTF-8 JSON bytes using Class as a suggestion for how to do the parse.
+     * @param json json
+     * @param cls cls
+     * @param <T> Type
+     * @return Java object of Type T
+     */
+    default <T> T fromJson(byte[] json, Class<T> cls) {
+        return fromJson(new String(json, StandardCharsets.UTF_8), cls);
+    }
+
+    /**
+     * Converts from UTF-8 JSON bytes using componentClass as a guide to a List.
+     * @param json json
+     * @param componentClass componentClass
+     * @param <T> Type
+     * @return List of Java objects of Type T.
+     */
+    default <T> List<T> fromJsonArray(byte[] json, Class<T> componentClass) {
+        return fromJsonArray(new String(json, StandardCharsets.UTF_8), componentClass);
+    }
+
+    /**
+     * Converts from UTF-8 JSON bytes using componentClassKey and componentClassValue as a guide to a Map.
+     * @param json json
+     * @param componentClassKey componentClassKey type of Key
+     * @param componentClassValue componentClassValue type of value
+     * @param <K> K type of map key
+     * @param <V> V type of map value
+     * @return Map
+     */
+    default <K, V> Map<K, V> fromJsonMap(byte[] json, Class<K> componentClassKey, Class<V> componentClassValue) {
+        return fromJsonMap(new String(json, StandardCharsets.UTF_8), componentClassKey, componentClassValue);
+    }
+
+    /**
+     * Convert the remaining UTF-8 JSON bytes of a buffer into one Java Object.
+     * The buffer's position is not changed.
+     * @param json json
+     * @return Java object
+     */
+    default Object fromJson(ByteBuffer json) {
+        return fromJson(bytes(json));
+    }
+
+    /**
+     * Convert the remaining UTF-8 JSON bytes of a buffer using Class as a suggestion for how to do the parse.
+     * The buffer's position is not changed.
+     * @param json json
+     * @param cls cls
+     * @param <T> Type
+     * @return Java object of Type T
+     */
+    default <T> T fromJson(ByteBuffer json, Class<T> cls) {
+        return fromJson(bytes(json), cls);
+    }
+
+    /**
+     * The remaining bytes of a buffer, without a copy when a heap buffer is exactly its backing array.
+     * @param buffer buffer
+     * @return bytes
+     */
+    static byte[] bytes(final ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
 }
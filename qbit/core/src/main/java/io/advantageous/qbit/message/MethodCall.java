@@ -34,6 +34,16 @@ public interface MethodCall<T> extends Request<T> {
 
     boolean hasCallback();
 
+    /**
+     * Id the service bundle gave the target service method, see ServiceBundle.methodId.
+     * Lets the bundle dispatch with an array index instead of looking up the object name or address.
+     *
+     * @return method id or -1 if the call should be routed by name or address
+     */
+    default int methodId() {
+        return -1;
+    }
+
     default Object[] args() {
         Object body = this.body();
 
@@ -43,6 +43,7 @@ public class MethodCallBuilder {
     private String objectName;
     private String returnAddress;
     private Request<Object> originatingRequest;
+    private int methodId = -1;
 
     public static MethodCallBuilder methodCallBuilder() {
         return new MethodCallBuilder();
@@ -62,7 +63,8 @@ public class MethodCallBuilder {
                 .setBody(arg)
                 .setObjectName(methodCall.objectName())
                 .setReturnAddress(methodCall.returnAddress())
-                .setOriginatingRequest(methodCall.originatingRequest()).build();
+                .setOriginatingRequest(methodCall.originatingRequest())
+                .setMethodId(methodCall.methodId()).build();
 
     }
 
@@ -191,11 +193,20 @@ public class MethodCallBuilder {
         return this;
     }
 
+    public int getMethodId() {
+        return methodId;
+    }
+
+    public MethodCallBuilder setMethodId(int methodId) {
+        this.methodId = methodId;
+        return this;
+    }
+
     public MethodCall<Object> build() {
 
 
         return new MethodCallImpl(getTimestamp(), getId(), getName(), getAddress(), getParams(), getHeaders(),
-                getBody(), getObjectName(), getReturnAddress(), getOriginatingRequest());
+                getBody(), getObjectName(), getReturnAddress(), getOriginatingRequest(), getMethodId());
 
     }
 
@@ -41,6 +41,7 @@ public class MethodCallImpl implements MethodCall<Object> {
     private final String objectName;
     private final String returnAddress;
     private final boolean hasCallback;
+    private final int methodId;
     private Object transformedBody;
     private Request<Object> originatingRequest;
 
@@ -51,6 +52,10 @@ public class MethodCallImpl implements MethodCall<Object> {
     }
 
     public MethodCallImpl(long timestamp, long id, String name, String address, MultiMap<String, String> params, MultiMap<String, String> headers, Object body, String objectName, String returnAddress, Request<Object> originatingRequest) {
+        this(timestamp, id, name, address, params, headers, body, objectName, returnAddress, originatingRequest, -1);
+    }
+
+    public MethodCallImpl(long timestamp, long id, String name, String address, MultiMap<String, String> params, MultiMap<String, String> headers, Object body, String objectName, String returnAddress, Request<Object> originatingRequest, int methodId) {
         this.timestamp = timestamp;
         this.id = id;
         this.name = name;
@@ -61,6 +66,7 @@ public class MethodCallImpl implements MethodCall<Object> {
         this.objectName = objectName;
         this.returnAddress = returnAddress;
         this.originatingRequest = originatingRequest;
+        this.methodId = methodId;
 
         this.hasCallback = detectCallback();
     }
@@ -110,6 +116,11 @@ public class MethodCallImpl implements MethodCall<Object> {
         return id;
     }
 
+    @Override
+    public int methodId() {
+        return methodId;
+    }
+
     @Override
     public String address() {
         return address;
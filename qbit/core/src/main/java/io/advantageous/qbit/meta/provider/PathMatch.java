@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.meta.provider;
+
+/**
+ * Where the '/' separated parts of a request path start and end, filled in by the router.
+ * <p>
+ * Part indexes are the same as the indexes into Str.split(path, '/'), so part 0 is the empty
+ * part before the leading '/', which is what URINamedParam and URIPositionalParam indexIntoURI refer to.
+ * Reuse one per thread, it only grows.
+ *
+ * @author rhightower
+ */
+public class PathMatch {
+
+    private String path;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int partCount;
+
+    void reset(final String path) {
+        this.path = path;
+        this.partCount = 0;
+    }
+
+    void addPart(final int start, final int end) {
+        if (partCount == starts.length) {
+            final int[] newStarts = new int[starts.length * 2];
+            final int[] newEnds = new int[ends.length * 2];
+            System.arraycopy(starts, 0, newStarts, 0, partCount);
+            System.arraycopy(ends, 0, newEnds, 0, partCount);
+            starts = newStarts;
+            ends = newEnds;
+        }
+        starts[partCount] = start;
+        ends[partCount] = end;
+        partCount++;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public int partCount() {
+        return partCount;
+    }
+
+    public int start(final int index) {
+        return starts[index];
+    }
+
+    public int end(final int index) {
+        return ends[index];
+    }
+
+    /**
+     * @param index part index
+     * @return the part, or null if the path does not have that many parts
+     */
+    public String part(final int index) {
+        if (index >= partCount) {
+            return null;
+        }
+        return path.substring(starts[index], ends[index]);
+    }
+}
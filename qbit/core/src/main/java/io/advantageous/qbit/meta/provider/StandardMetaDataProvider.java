@@ -19,34 +19,41 @@ package io.advantageous.qbit.meta.provider;
 
 
 import io.advantageous.boon.core.Str;
-import io.advantageous.boon.core.StringScanner;
 import io.advantageous.qbit.annotation.RequestMethod;
 import io.advantageous.qbit.meta.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Holds a bunch of meta data about a service bundle.
+ * <p>
+ * The request paths are compiled into a UriRouter when the provider is created,
+ * lookups are case insensitive and do not allocate.
  */
 public class StandardMetaDataProvider implements MetaDataProvider {
 
 
-    private final Map<String, RequestMetaData> metaDataMap = new ConcurrentHashMap<>(100);
-    private final NavigableMap<String, NavigableMap<Integer,RequestMetaData>> treeMap = new TreeMap<>();
+    private final UriRouter<RequestMetaData> router = new UriRouter<>();
+    private final List<String> paths = new ArrayList<>(100);
+    private final List<RequestMetaData> endpoints = new ArrayList<>(100);
     private final RequestMethod httpRequestMethod;
 
     private final Logger logger = LoggerFactory.getLogger(StandardMetaDataProvider.class);
     private final boolean debug = logger.isDebugEnabled();
-    private final String rootURI;
+
+    private final ThreadLocal<PathMatch> pathMatch = new ThreadLocal<PathMatch>() {
+        @Override
+        protected PathMatch initialValue() {
+            return new PathMatch();
+        }
+    };
 
 
     public StandardMetaDataProvider(final ContextMeta context, final RequestMethod method) {
         this.httpRequestMethod = method;
-        this.rootURI = context.getRootURI();
         context.getServices().forEach(service -> addService(context, service));
     }
 
@@ -83,100 +90,47 @@ public class StandardMetaDataProvider implements MetaDataProvider {
             return;
         }
 
-        if (requestMeta.getCallType() == CallType.ADDRESS) {
-            final String requestPath = requestMeta.getRequestURI();
-            final String path = Str.join('/', context.getRootURI(), servicePath, requestPath).replace("//", "/");
-
-            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(),
-                    requestMeta.getRequestURI(), servicePath);
-
-        } else if (requestMeta.getCallType() == CallType.ADDRESS_WITH_PATH_PARAMS) {
+        if (requestMeta.getCallType() == CallType.ADDRESS
+                || requestMeta.getCallType() == CallType.ADDRESS_WITH_PATH_PARAMS) {
 
-            final String requestPath =
-                StringScanner.substringBefore(requestMeta.getRequestURI(), "{");
-
-
-            final String path = Str.join('/', context.getRootURI(), servicePath, requestPath).replace("//", "/");
-
-            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(), requestMeta.getRequestURI(),
-                    servicePath);
+            final String requestPath = requestMeta.getRequestURI();
+            final String path = Str.join('/', context.getRootURI(), servicePath, requestPath)
+                    .replace("//", "/").toLowerCase();
 
+            final RequestMetaData requestMetaData = new RequestMetaData(path, context, requestMeta, method, service);
+            router.add(path, requestMetaData);
+            paths.add(path);
+            endpoints.add(requestMetaData);
         }
 
     }
 
-    private void addRequestEndPointUsingPath(final ContextMeta context,
-                                             final ServiceMeta service,
-                                             final ServiceMethodMeta method,
-                                             final RequestMeta requestMeta,
-                                             final String path,
-                                             final String requestURI,
-                                             final String servicePath) {
-        RequestMetaData metaData = new RequestMetaData(path, context, requestMeta, method, service);
-
-        if (requestMeta.getCallType() == CallType.ADDRESS) {
-            metaDataMap.put(path, metaData);
-        } else {
-            NavigableMap<Integer, RequestMetaData> map = treeMap.get(path);
-
-            if (map == null) {
-                map = new TreeMap<>();
-                treeMap.put(path, map);
-            }
-
-
-            int count = Str.split(servicePath+requestURI, '/').length -1;
-
-            map.put(count, metaData);
-
-        }
-    }
-
+    /**
+     * Finds the endpoint for a path and records where its parts are, for reading path params.
+     *
+     * @param path  request path
+     * @param match gets the part offsets
+     * @return request meta data or null
+     */
+    public RequestMetaData get(final String path, final PathMatch match) {
+        final RequestMetaData requestMetaData = router.route(path, match);
 
-    private RequestMetaData doGet(final String path) {
-
-        RequestMetaData requestMetaData = metaDataMap.get(path);
-
-        if (requestMetaData == null) {
-            Map.Entry<String, NavigableMap<Integer, RequestMetaData>> uriParamNumMapEntry = treeMap.lowerEntry(path);
-
-            if (uriParamNumMapEntry == null) {
-                return null;
-            }
-
-            final String requestURI = StringScanner.substringAfter(path, rootURI);
-
-            int count = Str.split(requestURI, '/').length -1;
-            NavigableMap<Integer, RequestMetaData> uriParamMap = uriParamNumMapEntry.getValue();
-
-            requestMetaData = uriParamMap.get(count);
-
-            if (requestMetaData!=null && path.startsWith(requestMetaData.getPath())) {
-                return requestMetaData;
-            } else {
-                return null;
-            }
-        } else {
-            return requestMetaData;
+        if (debug && requestMetaData == null) {
+            paths.forEach(mappedPath -> logger.debug("Path not found path {}, mapped path {}", path, mappedPath));
         }
+        return requestMetaData;
     }
 
     @Override
     public RequestMetaData get(final String path) {
-        RequestMetaData requestMetaData = doGet(path);
-        if (requestMetaData == null) {
-            requestMetaData = doGet(path.toLowerCase());
-        }
-
-        if (debug && requestMetaData == null) {
-
-
-            this.metaDataMap.keySet().forEach(mappedPath -> logger.debug("Path not found path {}, mapped path {}", path, mappedPath));
-        }
-        return requestMetaData;
+        return get(path, pathMatch.get());
     }
 
     public List<String> getPaths() {
-        return new ArrayList<>(this.metaDataMap.keySet());
+        return new ArrayList<>(paths);
+    }
+
+    public List<RequestMetaData> getEndpoints() {
+        return new ArrayList<>(endpoints);
     }
 }
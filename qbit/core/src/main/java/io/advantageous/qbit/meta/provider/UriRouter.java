@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.meta.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Segment trie that maps request paths to endpoints, built once when the provider is created.
+ * <p>
+ * Templates and paths are split on '/'. A template segment with a '{' in it matches any one segment,
+ * every other segment has to match exactly, ignoring case.
+ * When a literal and a path param both match a segment, the literal wins, and the router
+ * backs up and tries the path param if the literal leads nowhere.
+ * Routing does not allocate, the part offsets go into a PathMatch.
+ *
+ * @param <T> endpoint
+ * @author rhightower
+ */
+public class UriRouter<T> {
+
+    private final Node<T> root = new Node<>(null);
+
+    private static final class Node<T> {
+
+        private final String literal;
+        private final List<Node<T>> literals = new ArrayList<>(2);
+        private Node<T>[] literalArray = newArray(0);
+        private Node<T> param;
+        private T endpoint;
+
+        private Node(final String literal) {
+            this.literal = literal;
+        }
+
+        private Node<T> literal(final String segment) {
+            for (Node<T> child : literals) {
+                if (child.literal.equalsIgnoreCase(segment)) {
+                    return child;
+                }
+            }
+            final Node<T> child = new Node<>(segment);
+            literals.add(child);
+            literalArray = literals.toArray(newArray(literals.size()));
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(final int size) {
+            return new Node[size];
+        }
+    }
+
+    /**
+     * @param template path template, like /services/employee/{id}
+     * @param endpoint what the template maps to, a later add of the same template replaces it
+     */
+    public void add(final String template, final T endpoint) {
+        Node<T> node = root;
+        int start = 0;
+        while (true) {
+            int end = template.indexOf('/', start);
+            if (end == -1) {
+                end = template.length();
+            }
+            final String segment = template.substring(start, end);
+
+            if (segment.indexOf('{') != -1) {
+                if (node.param == null) {
+                    node.param = new Node<>(null);
+                }
+                node = node.param;
+            } else {
+                node = node.literal(segment);
+            }
+
+            if (end == template.length()) {
+                break;
+            }
+            start = end + 1;
+        }
+        node.endpoint = endpoint;
+    }
+
+    /**
+     * @param path  request path
+     * @param match gets the part offsets of the path
+     * @return the endpoint or null
+     */
+    public T route(final String path, final PathMatch match) {
+        match.reset(path);
+        int start = 0;
+        final int length = path.length();
+        while (true) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            match.addPart(start, end);
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
+        }
+        return route(root, path, match, 0);
+    }
+
+    private T route(final Node<T> node, final String path, final PathMatch match, final int index) {
+
+        if (index == match.partCount()) {
+            return node.endpoint;
+        }
+
+        final int start = match.start(index);
+        final int length = match.end(index) - start;
+
+        for (Node<T> child : node.literalArray) {
+            final String literal = child.literal;
+            if (literal.length() == length && path.regionMatches(true, start, literal, 0, length)) {
+                final T endpoint = route(child, path, match, index + 1);
+                if (endpoint != null) {
+                    return endpoint;
+                }
+                break;
+            }
+        }
+
+        if (node.param != null) {
+            return route(node.param, path, match, index + 1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.transformer;
+
+import io.advantageous.qbit.http.request.HttpRequest;
+import io.advantageous.qbit.json.JsonMapper;
+import io.advantageous.qbit.meta.provider.PathMatch;
+
+import java.util.List;
+
+/**
+ * Binds one argument of a REST call, compiled from its ParameterMeta by RequestBinder.
+ *
+ * @author rhightower
+ */
+interface ParameterBinder {
+
+    /**
+     * @param request    http request
+     * @param pathMatch  where the parts of the request path are
+     * @param jsonMapper json mapper for this thread
+     * @param args       the argument is added here
+     * @param errors     binding errors are added here
+     * @return false if binding has to stop because of an error
+     */
+    boolean bind(HttpRequest request, PathMatch pathMatch, JsonMapper jsonMapper,
+                 List<Object> args, List<String> errors);
+}
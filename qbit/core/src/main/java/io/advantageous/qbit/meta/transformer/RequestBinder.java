@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.transformer;
+
+import io.advantageous.boon.core.Str;
+import io.advantageous.boon.core.reflection.MapObjectConversion;
+import io.advantageous.qbit.http.request.HttpRequest;
+import io.advantageous.qbit.json.JsonMapper;
+import io.advantageous.qbit.meta.ParameterMeta;
+import io.advantageous.qbit.meta.RequestMetaData;
+import io.advantageous.qbit.meta.params.*;
+import io.advantageous.qbit.meta.provider.PathMatch;
+import io.advantageous.qbit.reactive.Callback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.advantageous.boon.core.Str.sputs;
+
+/**
+ * Turns an HttpRequest into the argument list of one endpoint.
+ * <p>
+ * It is compiled once from the RequestMetaData so a request does not look at param types,
+ * build error messages, decode default values or split the path.
+ * Request, header and path params stay strings, the service method invocation coerces them.
+ *
+ * @author rhightower
+ */
+public class RequestBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestBinder.class);
+
+    private final RequestMetaData metaData;
+    private final ParameterBinder[] binders;
+
+    private RequestBinder(final RequestMetaData metaData, final ParameterBinder[] binders) {
+        this.metaData = metaData;
+        this.binders = binders;
+    }
+
+    public static RequestBinder compile(final RequestMetaData metaData) {
+
+        final List<ParameterMeta> parameters = metaData.getRequest().getParameters();
+        final List<ParameterBinder> binders = new ArrayList<>(parameters.size());
+
+        for (ParameterMeta parameterMeta : parameters) {
+            if (parameterMeta.getClassType() == Callback.class) {
+                continue;
+            }
+            binders.add(compile(parameterMeta));
+        }
+        return new RequestBinder(metaData, binders.toArray(new ParameterBinder[binders.size()]));
+    }
+
+    private static ParameterBinder compile(final ParameterMeta parameterMeta) {
+
+        final Param param = parameterMeta.getParam();
+        final ParamType paramType = param.getParamType() == null ? ParamType.BODY : param.getParamType();
+
+        switch (paramType) {
+            case REQUEST:
+                final String requestParamName = ((NamedParam) param).getName();
+                return stringBinder(param, sputs("Unable to find required request param", requestParamName),
+                        (request, pathMatch) -> request.params().get(requestParamName));
+            case HEADER:
+                final String headerName = ((NamedParam) param).getName();
+                return stringBinder(param, sputs("Unable to find required header param", headerName),
+                        (request, pathMatch) -> request.headers().get(headerName));
+            case PATH_BY_NAME:
+                final URINamedParam uriNamedParam = (URINamedParam) param;
+                final int namedIndex = uriNamedParam.getIndexIntoURI();
+                return stringBinder(param, sputs("Unable to find required path param", uriNamedParam.getName()),
+                        (request, pathMatch) -> pathMatch.part(namedIndex));
+            case PATH_BY_POSITION:
+                final int positionIndex = ((URIPositionalParam) param).getIndexIntoURI();
+                return stringBinder(param, sputs("Unable to find required path param", positionIndex),
+                        (request, pathMatch) -> pathMatch.part(positionIndex));
+            case BODY:
+                return bodyBinder(parameterMeta);
+            case BODY_BY_POSITION:
+                return bodyByPositionBinder(parameterMeta);
+            default:
+                throw new IllegalArgumentException("Unknown param type " + paramType);
+        }
+    }
+
+    /**
+     * Where a string param comes from.
+     */
+    private interface ValueSource {
+        String value(HttpRequest request, PathMatch pathMatch);
+    }
+
+    private static ParameterBinder stringBinder(final Param param, final String missingMessage,
+                                                final ValueSource source) {
+        final boolean required = param.isRequired();
+        final String defaultValue = param.getDefaultValue() == null ? null
+                : decodeURLEncoding(param.getDefaultValue().toString());
+
+        return (request, pathMatch, jsonMapper, args, errors) -> {
+            final String value = source.value(request, pathMatch);
+            if (value == null || value.isEmpty()) {
+                if (required) {
+                    errors.add(missingMessage);
+                    return false;
+                }
+                args.add(defaultValue);
+            } else {
+                args.add(decodeURLEncoding(value));
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Decodes the body the way the parameter type needs, the choice is made at compile time.
+     * UTF-8 body bytes are handed to the JsonMapper as is.
+     */
+    private interface BodyDecoder {
+        Object decode(JsonMapper jsonMapper, Object json);
+    }
+
+    private static ParameterBinder bodyBinder(final ParameterMeta parameterMeta) {
+        final Param param = parameterMeta.getParam();
+        final boolean required = param.isRequired();
+        final Object defaultValue = param.getDefaultValue();
+        final BodyDecoder decoder;
+
+        if (parameterMeta.isArray() || parameterMeta.isCollection()) {
+            final Class<?> componentClass = parameterMeta.getComponentClass();
+            decoder = (jsonMapper, json) -> json instanceof byte[]
+                    ? jsonMapper.fromJsonArray((byte[]) json, componentClass)
+                    : jsonMapper.fromJsonArray(json.toString(), componentClass);
+        } else if (parameterMeta.isMap()) {
+            final Class<?> keyClass = parameterMeta.getComponentClassKey();
+            final Class<?> valueClass = parameterMeta.getComponentClassValue();
+            decoder = (jsonMapper, json) -> json instanceof byte[]
+                    ? jsonMapper.fromJsonMap((byte[]) json, keyClass, valueClass)
+                    : jsonMapper.fromJsonMap(json.toString(), keyClass, valueClass);
+        } else {
+            final Class<?> classType = parameterMeta.getClassType();
+            decoder = (jsonMapper, json) -> json instanceof byte[]
+                    ? jsonMapper.fromJson((byte[]) json, classType)
+                    : jsonMapper.fromJson(json.toString(), classType);
+        }
+
+        return (request, pathMatch, jsonMapper, args, errors) -> {
+            Object value = request.body();
+            if (isEmpty(value)) {
+                if (required) {
+                    errors.add("Unable to find body");
+                    return false;
+                }
+                value = defaultValue;
+            }
+
+            try {
+                value = decoder.decode(jsonMapper, value);
+            } catch (Exception exception) {
+                errors.add("Unable to JSON parse body :: " + exception.getMessage());
+                logger.warn("Unable to parse object", exception);
+                if (value instanceof byte[]) {
+                    value = new String((byte[]) value, StandardCharsets.UTF_8);
+                }
+            }
+            args.add(value);
+            return true;
+        };
+    }
+
+    private static ParameterBinder bodyByPositionBinder(final ParameterMeta parameterMeta) {
+        final BodyArrayParam param = (BodyArrayParam) parameterMeta.getParam();
+        final boolean required = param.isRequired();
+        final Object defaultValue = param.getDefaultValue();
+        final int position = param.getPosition();
+        final Class<?> classType = parameterMeta.getClassType();
+
+        return (request, pathMatch, jsonMapper, args, errors) -> {
+            Object value = request.body();
+            if (isEmpty(value)) {
+                if (required) {
+                    errors.add("Unable to find body");
+                    return false;
+                }
+                value = defaultValue;
+            }
+
+            value = value instanceof byte[] ? jsonMapper.fromJson((byte[]) value) : jsonMapper.fromJson(value.toString());
+
+            if (value instanceof List) {
+                final Object item = ((List) value).get(position);
+                if (item instanceof Map) {
+                    //noinspection unchecked
+                    value = MapObjectConversion.fromMap(((Map) item), classType);
+                }
+            }
+            args.add(value);
+            return true;
+        };
+    }
+
+    private static boolean isEmpty(final Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length == 0;
+        }
+        return Str.isEmpty(body);
+    }
+
+    static String decodeURLEncoding(final String value) {
+        if (value.indexOf('%') == -1 && value.indexOf('+') == -1) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return value;
+        }
+    }
+
+    /**
+     * Binds the arguments, stopping at the first missing required param.
+     *
+     * @param request    http request
+     * @param pathMatch  where the parts of the request path are, from routing the request
+     * @param jsonMapper json mapper for this thread
+     * @param errors     binding errors are added here
+     * @return arguments, the callback parameters are left out
+     */
+    public List<Object> bind(final HttpRequest request, final PathMatch pathMatch,
+                             final JsonMapper jsonMapper, final List<String> errors) {
+        final List<Object> args = new ArrayList<>(binders.length);
+        for (ParameterBinder binder : binders) {
+            if (!binder.bind(request, pathMatch, jsonMapper, args, errors)) {
+                break;
+            }
+        }
+        return args;
+    }
+
+    public RequestMetaData getMetaData() {
+        return metaData;
+    }
+}
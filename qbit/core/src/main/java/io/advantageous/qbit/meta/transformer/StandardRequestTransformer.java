@@ -18,8 +18,6 @@
 package io.advantageous.qbit.meta.transformer;
 
 
-import io.advantageous.boon.core.Str;
-import io.advantageous.boon.core.reflection.MapObjectConversion;
 import io.advantageous.qbit.Factory;
 import io.advantageous.qbit.QBit;
 import io.advantageous.qbit.annotation.RequestMethod;
@@ -27,27 +25,22 @@ import io.advantageous.qbit.http.request.HttpRequest;
 import io.advantageous.qbit.json.JsonMapper;
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.MethodCallBuilder;
-import io.advantageous.qbit.meta.ParameterMeta;
 import io.advantageous.qbit.meta.RequestMetaData;
-import io.advantageous.qbit.meta.params.*;
+import io.advantageous.qbit.meta.provider.PathMatch;
 import io.advantageous.qbit.meta.provider.StandardMetaDataProvider;
-import io.advantageous.qbit.reactive.Callback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static io.advantageous.boon.core.Str.sputs;
-
 /**
  * The only implementation of RequestTransformer which takes a map
  * of StandardMetaDataProvider mapped to request methods (GET, POST), and uses it to
  * decide which method to invoke on an object.
+ * <p>
+ * The arguments of each endpoint are bound by a RequestBinder compiled when the transformer is created.
  */
 public class StandardRequestTransformer implements RequestTransformer {
 
@@ -57,8 +50,20 @@ public class StandardRequestTransformer implements RequestTransformer {
 
     private final Map<RequestMethod, StandardMetaDataProvider> metaDataProviderMap;
 
+    /**
+     * Argument binders compiled up front for every endpoint, only read after construction.
+     */
+    private final Map<RequestMetaData, RequestBinder> binders = new IdentityHashMap<>();
+
     private final Factory factory = QBit.factory();
 
+    private final ThreadLocal<PathMatch> pathMatch = new ThreadLocal<PathMatch>() {
+        @Override
+        protected PathMatch initialValue() {
+            return new PathMatch();
+        }
+    };
+
     protected final ThreadLocal<JsonMapper> jsonMapper = new ThreadLocal<JsonMapper>() {
         @Override
         protected JsonMapper initialValue() {
@@ -69,14 +74,8 @@ public class StandardRequestTransformer implements RequestTransformer {
 
     public StandardRequestTransformer(final Map<RequestMethod, StandardMetaDataProvider> metaDataProviderMap) {
         this.metaDataProviderMap = metaDataProviderMap;
-    }
-
-    private final String decodeURLEncoding(String value) {
-        try {
-            return URLDecoder.decode(value, "UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            return value;
-        }
+        metaDataProviderMap.values().forEach(provider ->
+                provider.getEndpoints().forEach(metaData -> binders.put(metaData, RequestBinder.compile(metaData))));
     }
 
     @Override
@@ -86,7 +85,8 @@ public class StandardRequestTransformer implements RequestTransformer {
 
         final StandardMetaDataProvider standardMetaDataProvider = metaDataProviderMap
                 .get(RequestMethod.valueOf(request.getMethod()));
-        final RequestMetaData metaData = standardMetaDataProvider.get(request.address());
+        final PathMatch match = pathMatch.get();
+        final RequestMetaData metaData = standardMetaDataProvider.get(request.address(), match);
 
 
         final MethodCallBuilder methodCallBuilder = new MethodCallBuilder();
@@ -104,178 +104,12 @@ public class StandardRequestTransformer implements RequestTransformer {
         methodCallBuilder.setName(metaData.getMethod().getName());
         methodCallBuilder.setObjectName(metaData.getService().getName());
 
-
-        final List<ParameterMeta> parameters = metaData.getRequest().getParameters();
-
-        final List<Object> args = new ArrayList<>(parameters.size());
-
-        loop:
-        for (ParameterMeta parameterMeta : parameters) {
-
-            ParamType paramType = parameterMeta.getParam().getParamType();
-
-            paramType = paramType == null ? ParamType.BODY : paramType;
-
-            Object value;
-            NamedParam namedParam;
-
-            if (parameterMeta.getClassType() == Callback.class) {
-                continue;
-            }
-
-            switch (paramType) {
-                case REQUEST:
-                    namedParam = ((NamedParam) parameterMeta.getParam());
-                    value = request.params().get(namedParam.getName());
-
-                    if (namedParam.isRequired() &&  Str.isEmpty(value)) {
-                        errorsList.add(sputs("Unable to find required request param", namedParam.getName()));
-                        break loop;
-
-                    }
-                    if (Str.isEmpty(value)) {
-                        value = namedParam.getDefaultValue();
-                    }
-                    value = value !=null ? decodeURLEncoding(value.toString()) : value;
-
-                    break;
-                case HEADER:
-                    namedParam = ((NamedParam) parameterMeta.getParam());
-                    value = request.headers().get(namedParam.getName());
-                    if (namedParam.isRequired() && Str.isEmpty(value)) {
-                        errorsList.add(sputs("Unable to find required header param", namedParam.getName()));
-                        break loop;
-                    }
-
-                    if (Str.isEmpty(value)) {
-                        value = namedParam.getDefaultValue();
-                    }
-                    value = value !=null ? decodeURLEncoding(value.toString()) : value;
-                    break;
-                case PATH_BY_NAME:
-                    URINamedParam uriNamedParam = ((URINamedParam) parameterMeta.getParam());
-
-                    final String[] split = Str.split(request.address(), '/');
-
-                    if (uriNamedParam.getIndexIntoURI() >= split.length) {
-                        if (uriNamedParam.isRequired()) {
-                            errorsList.add(sputs("Unable to find required path param", uriNamedParam.getName()));
-                            break loop;
-                        }
-                    }
-                    value = split[uriNamedParam.getIndexIntoURI()];
-                    if (uriNamedParam.isRequired() && Str.isEmpty(value)) {
-                        errorsList.add(sputs("Unable to find required path param", uriNamedParam.getName()));
-                        break loop;
-                    }
-                    if (Str.isEmpty(value)) {
-                        value = uriNamedParam.getDefaultValue();
-                    }
-                    value = value !=null ? decodeURLEncoding(value.toString()) : value;
-                    break;
-
-                case PATH_BY_POSITION:
-                    URIPositionalParam positionalParam = ((URIPositionalParam) parameterMeta.getParam());
-
-                    final String[] pathSplit = Str.split(request.address(), '/');
-
-                    if (positionalParam.getIndexIntoURI() >= pathSplit.length) {
-                        if (positionalParam.isRequired()) {
-                            errorsList.add(sputs("Unable to find required path param",
-                                    positionalParam.getIndexIntoURI()));
-                            break loop;
-                        }
-                    }
-
-                    value = pathSplit[positionalParam.getIndexIntoURI()];
-                    if (positionalParam.isRequired() && Str.isEmpty(value)) {
-                        errorsList.add(sputs("Unable to find required path param",
-                                positionalParam.getIndexIntoURI()));
-                        break loop;
-                    }
-                    if (Str.isEmpty(value)) {
-                        value = positionalParam.getDefaultValue();
-                    }
-                    value = value !=null ? decodeURLEncoding(value.toString()) : value;
-                    break;
-
-                case BODY:
-                    BodyParam bodyParam = (BodyParam) parameterMeta.getParam();
-                    value = request.body();
-                    if (value instanceof byte[]) {
-                        final byte[] bytes = (byte[]) value;
-                        value = new String(bytes, StandardCharsets.UTF_8);
-                    }
-
-                    if (bodyParam.isRequired() && Str.isEmpty(value)) {
-
-                        errorsList.add("Unable to find body");
-                        break loop;
-
-                    }
-
-
-                    if (Str.isEmpty(value)) {
-                        value = bodyParam.getDefaultValue();
-                    }
-
-                    try {
-                        if (parameterMeta.isArray() || parameterMeta.isCollection()) {
-                            value = jsonMapper.get().fromJsonArray(value.toString(), parameterMeta.getComponentClass());
-                        } else if (parameterMeta.isMap()) {
-
-                            value = jsonMapper.get().fromJsonMap(value.toString(), parameterMeta.getComponentClassKey(),
-                                    parameterMeta.getComponentClassValue());
-                        } else {
-                            value = jsonMapper.get().fromJson(value.toString(), parameterMeta.getClassType());
-                        }
-                    }catch (Exception exception) {
-                        errorsList.add("Unable to JSON parse body :: " + exception.getMessage());
-                        logger.warn("Unable to parse object", exception);
-                    }
-                    break;
-
-                case BODY_BY_POSITION:
-                    BodyArrayParam bodyArrayParam = (BodyArrayParam) parameterMeta.getParam();
-                    value = request.body();
-                    if (value instanceof byte[]) {
-                        final byte[] bytes = (byte[]) value;
-                        value = new String(bytes, StandardCharsets.UTF_8);
-                    }
-
-                    if (bodyArrayParam.isRequired() && Str.isEmpty(value)) {
-
-                        errorsList.add("Unable to find body");
-                        break loop;
-
-                    }
-
-                    if (Str.isEmpty(value)) {
-                        value = bodyArrayParam.getDefaultValue();
-                    }
-
-                    value = jsonMapper.get().fromJson(value.toString());
-
-                    if (value instanceof List) {
-                        final List list = (List) value;
-                        final Object o = list.get(bodyArrayParam.getPosition());
-                        if (o instanceof Map) {
-                            //noinspection unchecked
-                            value = MapObjectConversion.fromMap(((Map) o), parameterMeta.getClassType());
-                        }
-                    }
-                    break;
-
-                default:
-                    throw new IllegalArgumentException();
-            }
-
-            args.add(value);
-
-
+        RequestBinder binder = binders.get(metaData);
+        if (binder == null) {
+            binder = RequestBinder.compile(metaData);
         }
 
-        methodCallBuilder.setBody(args);
+        methodCallBuilder.setBody(binder.bind(request, match, jsonMapper.get(), errorsList));
 
         return methodCallBuilder.build();
 
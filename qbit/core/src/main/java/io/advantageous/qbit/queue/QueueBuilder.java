@@ -22,6 +22,10 @@ import io.advantageous.qbit.config.PropertyResolver;
 import io.advantageous.qbit.queue.impl.AddTimeoutUnableToEnqueueHandler;
 import io.advantageous.qbit.queue.impl.BasicQueue;
 import io.advantageous.qbit.queue.impl.DefaultUnableToEnqueueHandler;
+import io.advantageous.qbit.queue.impl.EventLoopGroup;
+import io.advantageous.qbit.queue.impl.TimedPollWaitStrategy;
+import io.advantageous.qbit.queue.impl.ringbuffer.MpscRingBufferQueue;
+import io.advantageous.qbit.queue.impl.ringbuffer.SpscRingBufferQueue;
 
 import java.util.Properties;
 import java.util.concurrent.*;
@@ -36,6 +40,7 @@ public class QueueBuilder implements Cloneable {
     public static final String QBIT_QUEUE_BUILDER = "qbit.queue.builder.";
 
     private int batchSize;
+    private int minBatchSize;
     private int pollWait;
     private int size;
     private int checkEvery;
@@ -48,6 +53,43 @@ public class QueueBuilder implements Cloneable {
     private int enqueueTimeout;
 
     private UnableToEnqueueHandler unableToEnqueueHandler;
+    private WaitStrategy waitStrategy;
+    private EventLoopGroup eventLoopGroup;
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    /**
+     * Shares the threads of an event loop group with other queues instead of giving
+     * the queue listener its own thread. Null (the default) means a thread per queue.
+     *
+     * @param eventLoopGroup event loop group
+     * @return this
+     */
+    public QueueBuilder setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+        return this;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        if (waitStrategy == null) {
+            waitStrategy = new TimedPollWaitStrategy();
+        }
+        return waitStrategy;
+    }
+
+    /**
+     * Sets how the queue listener waits once the queue is empty.
+     * The default blocks on a timed poll of pollWait.
+     *
+     * @param waitStrategy wait strategy
+     * @return this
+     */
+    public QueueBuilder setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
 
     public UnableToEnqueueHandler getUnableToEnqueueHandler() {
 
@@ -75,6 +117,8 @@ public class QueueBuilder implements Cloneable {
                 .getIntegerProperty("enqueueTimeoutSeconds", 1000);
         this.batchSize = propertyResolver
                 .getIntegerProperty("batchSize", 10);
+        this.minBatchSize = propertyResolver
+                .getIntegerProperty("minBatchSize", -1);
         this.checkEvery = propertyResolver
                 .getIntegerProperty("checkEvery", 10);
         this.size = propertyResolver
@@ -186,6 +230,38 @@ public class QueueBuilder implements Cloneable {
     }
 
 
+    /**
+     * Use a preallocated lock free ring buffer that many send queues (threads) can write to.
+     * The size is rounded up to the next power of two.
+     *
+     * @return this
+     */
+    public QueueBuilder setRingBufferQueue() {
+        if (size == -1) {
+            size = 100_000;
+        }
+
+        queueClass = MpscRingBufferQueue.class;
+        return this;
+    }
+
+
+    /**
+     * Use a preallocated lock free ring buffer that only ONE send queue (thread) writes to.
+     * The size is rounded up to the next power of two.
+     *
+     * @return this
+     */
+    public QueueBuilder setSingleProducerRingBufferQueue() {
+        if (size == -1) {
+            size = 100_000;
+        }
+
+        queueClass = SpscRingBufferQueue.class;
+        return this;
+    }
+
+
     public int getSize() {
         return size;
     }
@@ -213,6 +289,36 @@ public class QueueBuilder implements Cloneable {
         return this;
     }
 
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    /**
+     * Turns on adaptive batching if this is between 0 and batchSize.
+     * Send queues then start at minBatchSize and grow toward batchSize while the consumer is behind,
+     * and shrink back when they have to flush before the batch fills.
+     *
+     * @param minBatchSize smallest batch size
+     * @return this
+     */
+    public QueueBuilder setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+        return this;
+    }
+
+    /**
+     * Batch size adapts to the load between minBatchSize and maxBatchSize.
+     *
+     * @param minBatchSize smallest batch size
+     * @param maxBatchSize largest batch size
+     * @return this
+     */
+    public QueueBuilder setAdaptiveBatchSize(int minBatchSize, int maxBatchSize) {
+        this.minBatchSize = minBatchSize;
+        this.batchSize = maxBatchSize;
+        return this;
+    }
+
     public int getPollWait() {
         return pollWait;
     }
@@ -245,7 +351,10 @@ public class QueueBuilder implements Cloneable {
                 this.getSize(),
                 this.getCheckEvery(),
                 this.isTryTransfer(),
-                this.getUnableToEnqueueHandler());
+                this.getUnableToEnqueueHandler(),
+                this.getWaitStrategy(),
+                this.getEventLoopGroup(),
+                this.getMinBatchSize());
     }
 
 }
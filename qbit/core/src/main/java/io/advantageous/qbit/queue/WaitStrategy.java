@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue;
+
+/**
+ * Decides what a queue listener thread does once its receive queue has been drained.
+ * <p>
+ * This is how you trade CPU for hand-off latency. A latency critical service can busy spin on a pinned core,
+ * while a background service can block on a timed poll and use no CPU when there is nothing to do.
+ * <p>
+ * Implementations should be stateless since one strategy is shared by every queue a QueueBuilder builds.
+ *
+ * @author rhightower
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait for the next item after the queue went empty.
+     * Return as soon as an item shows up. Return null once we have waited long enough for the queue
+     * to be considered idle so the listener gets its idle callback and stop gets checked.
+     *
+     * @param receiveQueue queue to wait on
+     * @param <T>          item type
+     * @return next item or null if the queue stayed empty
+     */
+    <T> T waitForItem(ReceiveQueue<T> receiveQueue);
+}
@@ -54,6 +54,8 @@ public class BasicQueue<T> implements Queue<T> {
     private final TimeUnit pollTimeTimeUnit;
     private final AtomicBoolean stop = new AtomicBoolean(true);
     private final Supplier<SendQueue<T>> sendQueueSupplier;
+    private final WaitStrategy waitStrategy;
+    private final EventLoopGroup eventLoopGroup;
 
 
     public BasicQueue(final String name,
@@ -66,12 +68,55 @@ public class BasicQueue<T> implements Queue<T> {
                       final int checkEvery,
                       boolean tryTransfer,
                       UnableToEnqueueHandler unableToEnqueueHandler) {
+        this(name, waitTime, timeUnit, batchSize, queueClass, checkIfBusy, size, checkEvery, tryTransfer,
+                unableToEnqueueHandler, new TimedPollWaitStrategy(), null);
+    }
+
+
+    public BasicQueue(final String name,
+                      final int waitTime,
+                      @SuppressWarnings("SameParameterValue") final TimeUnit timeUnit,
+                      final int batchSize,
+                      final Class<? extends BlockingQueue> queueClass,
+                      final boolean checkIfBusy,
+                      final int size,
+                      final int checkEvery,
+                      boolean tryTransfer,
+                      UnableToEnqueueHandler unableToEnqueueHandler,
+                      final WaitStrategy waitStrategy,
+                      final EventLoopGroup eventLoopGroup) {
+        this(name, waitTime, timeUnit, batchSize, queueClass, checkIfBusy, size, checkEvery, tryTransfer,
+                unableToEnqueueHandler, waitStrategy, eventLoopGroup, -1);
+    }
+
 
-        logger.info("Queue created {} {} batchSize {} size {} checkEvery {} tryTransfer {} waitTime {}",
-                name, queueClass, batchSize, size, checkEvery, tryTransfer, waitTime);
+    /**
+     * @param minBatchSize if this is between 0 and batchSize, send queues adapt their batch size to the load
+     *                     between minBatchSize and batchSize, see AbstractBasicSendQueue
+     */
+    public BasicQueue(final String name,
+                      final int waitTime,
+                      @SuppressWarnings("SameParameterValue") final TimeUnit timeUnit,
+                      final int batchSize,
+                      final Class<? extends BlockingQueue> queueClass,
+                      final boolean checkIfBusy,
+                      final int size,
+                      final int checkEvery,
+                      boolean tryTransfer,
+                      UnableToEnqueueHandler unableToEnqueueHandler,
+                      final WaitStrategy waitStrategy,
+                      final EventLoopGroup eventLoopGroup,
+                      final int minBatchSize) {
+
+        logger.info("Queue created {} {} batchSize {} minBatchSize {} size {} checkEvery {} tryTransfer {} " +
+                        "waitTime {} waitStrategy {} eventLoopGroup {}",
+                name, queueClass, batchSize, minBatchSize, size, checkEvery, tryTransfer, waitTime,
+                waitStrategy, eventLoopGroup);
 
 
         this.name = name;
+        this.waitStrategy = waitStrategy;
+        this.eventLoopGroup = eventLoopGroup;
         this.pollTimeWait = waitTime;
         this.pollTimeTimeUnit = timeUnit;
         this.batchSize = batchSize;
@@ -100,14 +145,14 @@ public class BasicQueue<T> implements Queue<T> {
         if (queue instanceof LinkedTransferQueue) {
 
             if (tryTransfer) {
-                sendQueueSupplier = () -> new BasicSendQueueWithTryTransfer<>(name, batchSize, (TransferQueue<Object>) queue,
+                sendQueueSupplier = () -> new BasicSendQueueWithTryTransfer<>(name, batchSize, minBatchSize, (TransferQueue<Object>) queue,
                         checkEvery, BasicQueue.this);
             } else {
-                sendQueueSupplier = () -> new BasicSendQueueWithTransferQueue<>(name, batchSize, ((TransferQueue<Object>) queue),
+                sendQueueSupplier = () -> new BasicSendQueueWithTransferQueue<>(name, batchSize, minBatchSize, ((TransferQueue<Object>) queue),
                         checkEvery, BasicQueue.this);
             }
         } else {
-            sendQueueSupplier = () -> new BasicBlockingQueueSender<>(name, batchSize, queue,
+            sendQueueSupplier = () -> new BasicBlockingQueueSender<>(name, batchSize, minBatchSize, queue,
                     checkIfBusy, unableToEnqueueHandler, BasicQueue.this);
         }
 
@@ -148,7 +193,11 @@ public class BasicQueue<T> implements Queue<T> {
 
     @Override
     public void startListener(final ReceiveQueueListener<T> listener) {
-        this.receiveQueueManager = new BasicReceiveQueueManager<>(name);
+        if (eventLoopGroup == null) {
+            this.receiveQueueManager = new BasicReceiveQueueManager<>(name, waitStrategy);
+        } else {
+            this.receiveQueueManager = eventLoopGroup.receiveQueueManager(pollTimeWait, pollTimeTimeUnit);
+        }
         stop.set(false);
         logger.info("Starting queue listener for  {} {}", name, listener);
         this.receiveQueueManager.addQueueToManage(name, this.receiveQueue(), listener, batchSize);
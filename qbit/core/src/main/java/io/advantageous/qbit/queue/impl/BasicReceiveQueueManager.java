@@ -23,6 +23,7 @@ import io.advantageous.qbit.concurrent.ExecutorContext;
 import io.advantageous.qbit.queue.ReceiveQueue;
 import io.advantageous.qbit.queue.ReceiveQueueListener;
 import io.advantageous.qbit.queue.ReceiveQueueManager;
+import io.advantageous.qbit.queue.WaitStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,7 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
     private final Logger logger = LoggerFactory.getLogger(BasicReceiveQueueManager.class);
     private final boolean debug = logger.isDebugEnabled();
     private final String name;
+    private final WaitStrategy waitStrategy;
     private ExecutorContext executorContext;
     private final AtomicBoolean stop = new AtomicBoolean();
     private  QueueInfo<T> queueInfo;
@@ -64,7 +66,12 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
 
 
     public BasicReceiveQueueManager(final String name) {
+        this(name, new TimedPollWaitStrategy());
+    }
+
+    public BasicReceiveQueueManager(final String name, final WaitStrategy waitStrategy) {
         this.name = name;
+        this.waitStrategy = waitStrategy;
     }
 
     @Override
@@ -136,9 +143,9 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
 
 
             /* Get the next item, but wait this time since the queue was empty.
-            * This pauses the queue handling so we don't eat up all of the CPU.
+            * How we wait (block, park, yield or spin) is up to the wait strategy.
             * */
-            item = inputQueue.pollWait();
+            item = waitStrategy.waitForItem(inputQueue);
 
             if (item == null) {
                 if (stop.get()) {
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the receive queue in a tight loop.
+ * Lowest hand-off latency, but it burns a whole core so only use it for services pinned to their own core.
+ *
+ * @author rhightower
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    private final long idleTimeNanos;
+
+    /**
+     * @param idleTime how long to spin before reporting the queue as idle
+     * @param timeUnit time unit of idleTime
+     */
+    public BusySpinWaitStrategy(final long idleTime, final TimeUnit timeUnit) {
+        this.idleTimeNanos = timeUnit.toNanos(idleTime);
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> receiveQueue) {
+        final long deadline = System.nanoTime() + idleTimeNanos;
+        T item;
+        while ((item = receiveQueue.poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "BusySpinWaitStrategy{" +
+                "idleTimeNanos=" + idleTimeNanos +
+                '}';
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.ReceiveQueueManager;
+import io.advantageous.qbit.service.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fixed set of event loop threads that many queue listeners share.
+ * <p>
+ * Normally every BasicQueue.startListener gets its own thread. When a QueueBuilder has an EventLoopGroup,
+ * the listener is pinned to one of the group's threads instead, so 200 services do not need 200 threads.
+ * A queue is always handled by the same thread, so a service behind a queue is still single threaded.
+ * <p>
+ * Each loop round robins over its queues and takes at most batchSize items from a queue before moving
+ * on to the next one. When none of its queues have work the loop parks, doubling the park time up to
+ * the max park time. The max park time is the worst case hand-off latency for a quiet queue.
+ * WaitStrategy is not used for queues managed by an EventLoopGroup.
+ *
+ * @author rhightower
+ */
+public class EventLoopGroup implements Stoppable {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(EventLoopGroup.class);
+    private final String name;
+    private final long maxParkNanos;
+    private final EventLoop[] eventLoops;
+
+    /**
+     * @param name        name used for the thread names
+     * @param threadCount number of event loop threads
+     * @param maxParkTime longest time a loop parks when all of its queues are empty
+     * @param timeUnit    time unit for maxParkTime
+     */
+    public EventLoopGroup(final String name, final int threadCount, final long maxParkTime, final TimeUnit timeUnit) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("EventLoopGroup needs at least one thread but was " + threadCount);
+        }
+        this.name = name;
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, timeUnit.toNanos(maxParkTime));
+        this.eventLoops = new EventLoop[threadCount];
+        for (int index = 0; index < threadCount; index++) {
+            eventLoops[index] = new EventLoop("EventLoop|" + name + "|" + index);
+        }
+    }
+
+    /**
+     * Creates a group with one thread per core that parks at most one millisecond.
+     *
+     * @param name name used for the thread names
+     * @return new event loop group
+     */
+    public static EventLoopGroup eventLoopGroup(final String name) {
+        return new EventLoopGroup(name, Runtime.getRuntime().availableProcessors(), 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a queue manager whose queue will be handled by one of the threads in this group.
+     *
+     * @param idleTime how long a queue has to be empty before its listener gets an idle callback
+     * @param timeUnit time unit for idleTime
+     * @param <T>      item type
+     * @return queue manager
+     */
+    public <T> ReceiveQueueManager<T> receiveQueueManager(final long idleTime, final TimeUnit timeUnit) {
+        return new EventLoopReceiveQueueManager<>(timeUnit.toNanos(idleTime));
+    }
+
+    public int threadCount() {
+        return eventLoops.length;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Shuts down every queue listener in the group. The threads exit once they have no queues left.
+     */
+    @Override
+    public void stop() {
+        logger.info("Stopping event loop group {}", name);
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop.running.get()) {
+                eventLoop.stopAll = true;
+            }
+        }
+    }
+
+    private EventLoop leastLoaded() {
+        EventLoop leastLoaded = eventLoops[0];
+        for (int index = 1; index < eventLoops.length; index++) {
+            if (eventLoops[index].queueCount.get() < leastLoaded.queueCount.get()) {
+                leastLoaded = eventLoops[index];
+            }
+        }
+        return leastLoaded;
+    }
+
+    @Override
+    public String toString() {
+        return "EventLoopGroup{" +
+                "name='" + name + '\'' +
+                ", threadCount=" + eventLoops.length +
+                ", maxParkNanos=" + maxParkNanos +
+                '}';
+    }
+
+    private final class EventLoopReceiveQueueManager<T> implements ReceiveQueueManager<T> {
+
+        private final long idleTimeNanos;
+        private QueueRegistration<T> registration;
+
+        private EventLoopReceiveQueueManager(final long idleTimeNanos) {
+            this.idleTimeNanos = idleTimeNanos;
+        }
+
+        @Override
+        public void addQueueToManage(final String name,
+                                     final ReceiveQueue<T> queue,
+                                     final ReceiveQueueListener<T> listener,
+                                     final int batchSize) {
+            registration = new QueueRegistration<>(name, queue, listener, batchSize, idleTimeNanos);
+        }
+
+        @Override
+        public void start() {
+            if (registration == null) {
+                throw new IllegalStateException("No queue to manage, call addQueueToManage first");
+            }
+            leastLoaded().register(registration);
+        }
+
+        @Override
+        public void stop() {
+            if (registration != null) {
+                registration.stop.set(true);
+            }
+        }
+    }
+
+    /**
+     * A queue, its listener and the state the event loop keeps for it. Only touched by its event loop thread,
+     * except for the stop flag.
+     */
+    private static final class QueueRegistration<T> {
+
+        private final String name;
+        private final ReceiveQueue<T> inputQueue;
+        private final ReceiveQueueListener<T> listener;
+        private final int batchSize;
+        private final long idleTimeNanos;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private boolean initialized;
+        private long lastActiveTime;
+
+        private QueueRegistration(final String name,
+                                  final ReceiveQueue<T> inputQueue,
+                                  final ReceiveQueueListener<T> listener,
+                                  final int batchSize,
+                                  final long idleTimeNanos) {
+            this.name = name;
+            this.inputQueue = inputQueue;
+            this.listener = listener;
+            this.batchSize = batchSize;
+            this.idleTimeNanos = idleTimeNanos;
+        }
+
+        /**
+         * Handles at most one batch of items.
+         *
+         * @param now current nano time
+         * @return true if there was work
+         */
+        private boolean process(final long now) {
+
+            if (!initialized) {
+                initialized = true;
+                lastActiveTime = now;
+                listener.init();
+            }
+
+            T item = inputQueue.poll();
+
+            if (item == null) {
+                /* Same as the dedicated thread: idle after a full wait time with nothing to do. */
+                if (now - lastActiveTime >= idleTimeNanos) {
+                    lastActiveTime = now;
+                    listener.idle();
+                }
+                return false;
+            }
+
+            lastActiveTime = now;
+            listener.startBatch();
+
+            int count = 0;
+            while (item != null) {
+                listener.receive(item);
+                count++;
+
+                /* Give the other queues on this loop a turn. */
+                if (count >= batchSize) {
+                    listener.limit();
+                    return true;
+                }
+                item = inputQueue.poll();
+            }
+
+            listener.empty();
+            return true;
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+
+        private final String threadName;
+        private final AtomicInteger queueCount = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final ConcurrentLinkedQueue<QueueRegistration<?>> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean stopAll;
+
+        private EventLoop(final String threadName) {
+            this.threadName = threadName;
+        }
+
+        private void register(final QueueRegistration<?> registration) {
+            logger.info("Adding queue {} to {}", registration.name, threadName);
+            queueCount.incrementAndGet();
+            pending.add(registration);
+            if (running.compareAndSet(false, true)) {
+                startThread();
+            }
+        }
+
+        private void startThread() {
+            final Thread thread = new Thread(this);
+            thread.setName(threadName);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+
+            final List<QueueRegistration<?>> registrations = new ArrayList<>();
+            long parkNanos = MIN_PARK_NANOS;
+
+            while (true) {
+
+                QueueRegistration<?> registration;
+                while ((registration = pending.poll()) != null) {
+                    registrations.add(registration);
+                }
+
+                if (registrations.isEmpty()) {
+                    stopAll = false;
+                    running.set(false);
+                    /* Someone may have registered after we drained pending. */
+                    if (pending.isEmpty() || !running.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                final boolean shutdownAll = stopAll;
+                boolean didWork = false;
+                final long now = System.nanoTime();
+
+                final Iterator<QueueRegistration<?>> iterator = registrations.iterator();
+                while (iterator.hasNext()) {
+                    registration = iterator.next();
+
+                    if (shutdownAll || registration.stop.get()) {
+                        iterator.remove();
+                        queueCount.decrementAndGet();
+                        shutdown(registration);
+                        continue;
+                    }
+
+                    try {
+                        didWork |= registration.process(now);
+                    } catch (Exception ex) {
+                        logger.error("Event loop " + threadName + " problem handling queue " + registration.name, ex);
+                    }
+                }
+
+                if (shutdownAll) {
+                    stopAll = false;
+                }
+
+                if (didWork) {
+                    parkNanos = MIN_PARK_NANOS;
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+                }
+            }
+        }
+
+        private void shutdown(final QueueRegistration<?> registration) {
+            logger.info("Removing queue {} from {}", registration.name, threadName);
+            try {
+                registration.listener.shutdown();
+            } catch (Exception ex) {
+                logger.error("Event loop " + threadName + " problem shutting down queue " + registration.name, ex);
+            }
+        }
+    }
+}
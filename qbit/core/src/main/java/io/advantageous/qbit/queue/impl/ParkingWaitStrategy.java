@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks the thread between polls, doubling the park time each time the queue is still empty
+ * until it reaches the max park time.
+ * Reacts quickly right after a burst and then backs off to use very little CPU.
+ *
+ * @author rhightower
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+
+    private final long minParkNanos;
+    private final long maxParkNanos;
+    private final long idleTimeNanos;
+
+    /**
+     * @param minParkNanos first park time
+     * @param maxParkNanos longest park time
+     * @param idleTime     how long to wait in total before reporting the queue as idle
+     * @param timeUnit     time unit of idleTime
+     */
+    public ParkingWaitStrategy(final long minParkNanos, final long maxParkNanos,
+                               final long idleTime, final TimeUnit timeUnit) {
+        this.minParkNanos = Math.max(1, minParkNanos);
+        this.maxParkNanos = Math.max(this.minParkNanos, maxParkNanos);
+        this.idleTimeNanos = timeUnit.toNanos(idleTime);
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> receiveQueue) {
+        final long deadline = System.nanoTime() + idleTimeNanos;
+        long parkNanos = minParkNanos;
+        T item;
+        while ((item = receiveQueue.poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            LockSupport.parkNanos(parkNanos);
+            if (parkNanos < maxParkNanos) {
+                parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingWaitStrategy{" +
+                "minParkNanos=" + minParkNanos +
+                ", maxParkNanos=" + maxParkNanos +
+                ", idleTimeNanos=" + idleTimeNanos +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+/**
+ * Blocks on the receive queue for the poll wait time configured in the QueueBuilder.
+ * This is the default and uses no CPU while the queue is empty.
+ *
+ * @author rhightower
+ */
+public class TimedPollWaitStrategy implements WaitStrategy {
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> receiveQueue) {
+        return receiveQueue.pollWait();
+    }
+
+    @Override
+    public String toString() {
+        return "TimedPollWaitStrategy{}";
+    }
+}
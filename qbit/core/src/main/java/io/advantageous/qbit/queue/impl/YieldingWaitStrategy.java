@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spins on the receive queue for a number of tries and then yields the thread between polls.
+ * Nearly as fast as busy spin but gives other threads on the core a chance to run.
+ *
+ * @author rhightower
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private final int spinTries;
+    private final long idleTimeNanos;
+
+    /**
+     * @param spinTries how many times to poll before yielding
+     * @param idleTime  how long to wait in total before reporting the queue as idle
+     * @param timeUnit  time unit of idleTime
+     */
+    public YieldingWaitStrategy(final int spinTries, final long idleTime, final TimeUnit timeUnit) {
+        this.spinTries = spinTries;
+        this.idleTimeNanos = timeUnit.toNanos(idleTime);
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> receiveQueue) {
+        final long deadline = System.nanoTime() + idleTimeNanos;
+        int tries = 0;
+        T item;
+        while ((item = receiveQueue.poll()) == null) {
+            if (tries < spinTries) {
+                tries++;
+                continue;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            Thread.yield();
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "YieldingWaitStrategy{" +
+                "spinTries=" + spinTries +
+                ", idleTimeNanos=" + idleTimeNanos +
+                '}';
+    }
+}
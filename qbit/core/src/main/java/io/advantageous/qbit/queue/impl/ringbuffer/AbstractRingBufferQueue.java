@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl.ringbuffer;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Base for the preallocated, power of two sized ring buffers that can back a BasicQueue.
+ * <p>
+ * The slots are allocated once up front so sending a batch does not allocate a queue node.
+ * There is exactly one consumer (the thread that owns the ReceiveQueue).
+ * Subclasses decide how producers claim a slot.
+ * <p>
+ * The blocking methods spin, then yield, then park for short periods since there is no lock to wait on.
+ *
+ * @author rhightower
+ */
+public abstract class AbstractRingBufferQueue extends AbstractQueue<Object> implements BlockingQueue<Object> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    protected final AtomicReferenceArray<Object> buffer;
+    protected final int capacity;
+    protected final int mask;
+
+    /**
+     * Next slot a producer will write to.
+     */
+    protected final PaddedAtomicLong producerIndex = new PaddedAtomicLong(0);
+
+    /**
+     * Next slot the consumer will read from.
+     */
+    protected final PaddedAtomicLong consumerIndex = new PaddedAtomicLong(0);
+
+    protected AbstractRingBufferQueue(final int requestedCapacity) {
+        this.capacity = roundToPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    static int roundToPowerOfTwo(final int value) {
+        if (value < 1 || value > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and " + MAX_CAPACITY
+                    + " but was " + value);
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    protected static void checkNotNull(final Object item) {
+        if (item == null) {
+            throw new NullPointerException("Ring buffer does not accept null items");
+        }
+    }
+
+    /**
+     * Claims a slot and publishes the item.
+     *
+     * @param item item
+     * @return false if the buffer is full
+     */
+    @Override
+    public abstract boolean offer(Object item);
+
+    /**
+     * Only the single consumer thread may call this.
+     *
+     * @return next item or null if the buffer is empty
+     */
+    @Override
+    public Object poll() {
+        final long index = consumerIndex.get();
+        final int offset = (int) index & mask;
+        Object item = buffer.get(offset);
+
+        if (item == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            /* A producer claimed the slot but has not published to it yet. */
+            do {
+                item = buffer.get(offset);
+            } while (item == null);
+        }
+
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return item;
+    }
+
+    @Override
+    public Object peek() {
+        final long index = consumerIndex.get();
+        final int offset = (int) index & mask;
+        Object item = buffer.get(offset);
+
+        if (item == null && index != producerIndex.get()) {
+            do {
+                item = buffer.get(offset);
+            } while (item == null);
+        }
+        return item;
+    }
+
+    @Override
+    public void put(final Object item) throws InterruptedException {
+        checkNotNull(item);
+        int idleCount = 0;
+        while (!offer(item)) {
+            idleCount = idle(idleCount);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(final Object item, final long timeout, final TimeUnit unit) throws InterruptedException {
+        checkNotNull(item);
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+        while (!offer(item)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idleCount = idle(idleCount);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        int idleCount = 0;
+        Object item;
+        while ((item = poll()) == null) {
+            idleCount = idle(idleCount);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public Object poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+        Object item;
+        while ((item = poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            idleCount = idle(idleCount);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Backs off progressively: busy spin, then yield, then park.
+     *
+     * @param idleCount how many times we have idled so far
+     * @return new idle count
+     */
+    private static int idle(final int idleCount) {
+        if (idleCount < SPIN_TRIES) {
+            return idleCount + 1;
+        } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+            return idleCount + 1;
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idleCount;
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Object> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Object> collection, final int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException("Can't drain a queue into itself");
+        }
+        int count = 0;
+        Object item;
+        while (count < maxElements && (item = poll()) != null) {
+            collection.add(item);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        long after = consumerIndex.get();
+        while (true) {
+            final long before = after;
+            final long currentProducerIndex = producerIndex.get();
+            after = consumerIndex.get();
+            if (before == after) {
+                return (int) (currentProducerIndex - after);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    /**
+     * Weakly consistent snapshot of what is in the buffer right now.
+     *
+     * @return iterator
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        final List<Object> items = new ArrayList<>(size());
+        final long end = producerIndex.get();
+        for (long index = consumerIndex.get(); index < end; index++) {
+            final Object item = buffer.get((int) index & mask);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return Collections.unmodifiableList(items).iterator();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+}
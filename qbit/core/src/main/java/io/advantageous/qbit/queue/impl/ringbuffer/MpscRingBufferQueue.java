@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl.ringbuffer;
+
+/**
+ * Multi producer, single consumer ring buffer.
+ * <p>
+ * Producers claim a slot with a CAS on the producer index and then publish the item into the slot.
+ * The consumer waits on a claimed but not yet published slot.
+ * This is the default ring buffer since every thread gets its own SendQueue from BasicQueue.
+ *
+ * @author rhightower
+ */
+public class MpscRingBufferQueue extends AbstractRingBufferQueue {
+
+    /**
+     * Cached view of how far producers can go before they have to look at the consumer index again.
+     */
+    private final PaddedAtomicLong producerLimit;
+
+    public MpscRingBufferQueue(final int capacity) {
+        super(capacity);
+        this.producerLimit = new PaddedAtomicLong(this.capacity);
+    }
+
+    @Override
+    public boolean offer(final Object item) {
+        checkNotNull(item);
+
+        long limit = producerLimit.get();
+        long index;
+
+        do {
+            index = producerIndex.get();
+            if (index >= limit) {
+                limit = consumerIndex.get() + capacity;
+                if (index >= limit) {
+                    return false;
+                }
+                producerLimit.lazySet(limit);
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        buffer.lazySet((int) index & mask, item);
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl.ringbuffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An AtomicLong that fills out the rest of its cache line so the producer and consumer
+ * indexes of a ring buffer do not false share.
+ *
+ * @author rhightower
+ */
+@SuppressWarnings("unused")
+final class PaddedAtomicLong extends AtomicLong {
+
+    private long p1, p2, p3, p4, p5, p6, p7 = 7L;
+
+    PaddedAtomicLong(final long initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * Keeps the padding from being seen as dead by static analysis.
+     *
+     * @return sum of the padding
+     */
+    long sumPaddingToPreventOptimisation() {
+        return p1 + p2 + p3 + p4 + p5 + p6 + p7;
+    }
+}
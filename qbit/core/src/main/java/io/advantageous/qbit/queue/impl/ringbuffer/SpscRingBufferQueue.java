@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.queue.impl.ringbuffer;
+
+/**
+ * Single producer, single consumer ring buffer.
+ * <p>
+ * Only use this when exactly one thread holds a SendQueue for the queue.
+ * The producer never does a CAS, it just checks that the slot is free and publishes with an ordered write.
+ *
+ * @author rhightower
+ */
+public class SpscRingBufferQueue extends AbstractRingBufferQueue {
+
+    public SpscRingBufferQueue(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(final Object item) {
+        checkNotNull(item);
+        final long index = producerIndex.get();
+        final int offset = (int) index & mask;
+
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+
+        buffer.lazySet(offset, item);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+}
@@ -16,6 +16,12 @@ public abstract class AbstractBasicSendQueue <T> implements SendQueue<T> {
     protected final BlockingQueue<Object> queue;
     protected final Queue<T> owner;
     protected final int batchSize;
+    protected final int minBatchSize;
+    /**
+     * Batch size we flush at right now. Fixed at batchSize unless adaptive batching is on.
+     */
+    protected int currentBatchSize;
+    private final boolean adaptive;
     private final Logger logger;
     protected int checkEveryStarted = 0;
     protected int index;
@@ -26,9 +32,24 @@ public abstract class AbstractBasicSendQueue <T> implements SendQueue<T> {
                                   final int batchSize,
                                   final String name,
                                   final Logger logger) {
+        this(queue, owner, batchSize, -1, name, logger);
+    }
+
+    /**
+     * @param minBatchSize if this is between 0 and batchSize the batch size adapts to the load,
+     *                     staying between minBatchSize and batchSize
+     */
+    public AbstractBasicSendQueue(final BlockingQueue<Object> queue, Queue<T> owner,
+                                  final int batchSize,
+                                  final int minBatchSize,
+                                  final String name,
+                                  final Logger logger) {
         this.queue = queue;
         this.owner = owner;
         this.batchSize = batchSize;
+        this.adaptive = minBatchSize > 0 && minBatchSize < batchSize;
+        this.minBatchSize = adaptive ? minBatchSize : batchSize;
+        this.currentBatchSize = this.minBatchSize;
         this.name = name;
         this.queueLocal = new Object[batchSize];
         this.logger = logger;
@@ -123,9 +144,33 @@ public abstract class AbstractBasicSendQueue <T> implements SendQueue<T> {
 
     protected final boolean sendLocalQueue() {
 
+        final boolean consumerBehind = adaptive && !queue.isEmpty();
+        final boolean full = index >= currentBatchSize;
         final Object[] copy = fastObjectArraySlice(queueLocal, 0, index);
         boolean ableToSend = sendArray(copy);
         index = 0;
+        if (adaptive) {
+            adaptBatchSize(full, consumerBehind);
+        }
         return ableToSend;
     }
+
+    /**
+     * Filling a batch means items are coming in fast, having to flush early means they are not.
+     * We only grow when the consumer has not taken the last batch yet, bigger batches mean fewer hand offs then.
+     * We shrink when we flush early so items do not sit in the local batch waiting for the flush timer.
+     */
+    private void adaptBatchSize(final boolean full, final boolean consumerBehind) {
+        if (full) {
+            if (consumerBehind) {
+                currentBatchSize = Math.min(currentBatchSize << 1, batchSize);
+            }
+        } else {
+            currentBatchSize = Math.max(currentBatchSize >> 1, minBatchSize);
+        }
+    }
+
+    public int currentBatchSize() {
+        return currentBatchSize;
+    }
 }
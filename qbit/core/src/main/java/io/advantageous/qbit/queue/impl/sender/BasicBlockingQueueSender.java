@@ -21,8 +21,19 @@ public class BasicBlockingQueueSender<T> extends AbstractBasicSendQueue<T> {
             final boolean checkBusy,
             final UnableToEnqueueHandler unableToEnqueueHandler,
             final Queue<T> owner) {
+        this(name, batchSize, -1, queue, checkBusy, unableToEnqueueHandler, owner);
+    }
+
+    public BasicBlockingQueueSender(
+            final String name,
+            final int batchSize,
+            final int minBatchSize,
+            final BlockingQueue<Object> queue,
+            final boolean checkBusy,
+            final UnableToEnqueueHandler unableToEnqueueHandler,
+            final Queue<T> owner) {
 
-        super(queue, owner, batchSize, name + "| BQ SEND QUEUE", LoggerFactory.getLogger(BasicBlockingQueueSender.class));
+        super(queue, owner, batchSize, minBatchSize, name + "| BQ SEND QUEUE", LoggerFactory.getLogger(BasicBlockingQueueSender.class));
 
 
         this.unableToEnqueueHandler = unableToEnqueueHandler;
@@ -33,7 +44,7 @@ public class BasicBlockingQueueSender<T> extends AbstractBasicSendQueue<T> {
 
 
     protected final  boolean flushIfOverBatch() {
-        return index < batchSize || sendLocalQueue();
+        return index < currentBatchSize || sendLocalQueue();
     }
 
 
@@ -45,8 +45,18 @@ public class BasicSendQueueWithTransferQueue<T> extends AbstractBasicSendQueue<T
             final TransferQueue<Object> queue,
             final int checkBusyEvery,
             final Queue<T> owner) {
+        this(name, batchSize, -1, queue, checkBusyEvery, owner);
+    }
+
+    public BasicSendQueueWithTransferQueue(
+            final String name,
+            final int batchSize,
+            final int minBatchSize,
+            final TransferQueue<Object> queue,
+            final int checkBusyEvery,
+            final Queue<T> owner) {
 
-        super(queue, owner, batchSize, name + "| TQ SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTransferQueue.class));
+        super(queue, owner, batchSize, minBatchSize, name + "| TQ SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTransferQueue.class));
 
 
         this.queue = queue;
@@ -61,7 +71,7 @@ public class BasicSendQueueWithTransferQueue<T> extends AbstractBasicSendQueue<T
 
     protected final  boolean flushIfOverBatch() {
 
-        if (index >= batchSize) {
+        if (index >= currentBatchSize) {
             return sendLocalQueue();
         }
         checkEveryCount++;
@@ -44,8 +44,18 @@ public class BasicSendQueueWithTryTransfer<T> extends AbstractBasicSendQueue<T>
             final TransferQueue<Object> queue,
             final int checkBusyEvery,
             final Queue<T> owner) {
+        this(name, batchSize, -1, queue, checkBusyEvery, owner);
+    }
+
+    public BasicSendQueueWithTryTransfer(
+            final String name,
+            final int batchSize,
+            final int minBatchSize,
+            final TransferQueue<Object> queue,
+            final int checkBusyEvery,
+            final Queue<T> owner) {
 
-        super(queue, owner, batchSize, name + "| TQT SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTryTransfer.class));
+        super(queue, owner, batchSize, minBatchSize, name + "| TQT SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTryTransfer.class));
 
 
         this.queue = queue;
@@ -60,7 +70,7 @@ public class BasicSendQueueWithTryTransfer<T> extends AbstractBasicSendQueue<T>
 
     protected final boolean flushIfOverBatch() {
 
-        if (index >= batchSize) {
+        if (index >= currentBatchSize) {
             return sendLocalQueue();
         }
 
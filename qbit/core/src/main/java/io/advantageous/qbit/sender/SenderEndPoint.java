@@ -23,6 +23,7 @@ import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.service.BeforeMethodCall;
 import io.advantageous.qbit.service.EndPoint;
 import io.advantageous.qbit.service.impl.NoOpBeforeMethodCall;
+import io.advantageous.qbit.spi.BinaryProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +46,8 @@ public class SenderEndPoint implements EndPoint {
     private final ProtocolEncoder encoder;
     private final String address;
     private final Sender<String> sender;
+    private final BinaryProtocolEncoder binaryEncoder;
+    private final Sender<byte[]> binarySender;
     private final BeforeMethodCall beforeMethodCall;
     private final BlockingQueue<MethodCall<Object>> methodCalls;
     private final int requestBatchSize;
@@ -61,6 +64,23 @@ public class SenderEndPoint implements EndPoint {
         this.methodCalls = new ArrayBlockingQueue<>(requestBatchSize);
 
         this.sender = sender;
+        this.binaryEncoder = null;
+        this.binarySender = null;
+    }
+
+    public SenderEndPoint(BinaryProtocolEncoder binaryEncoder, String address, Sender<byte[]> binarySender,
+                          BeforeMethodCall beforeMethodCall, int requestBatchSize) {
+        this.encoder = null;
+        this.sender = null;
+        this.address = address;
+
+        this.beforeMethodCall = beforeMethodCall == null ? new NoOpBeforeMethodCall() : beforeMethodCall;
+
+        this.requestBatchSize = requestBatchSize;
+        this.methodCalls = new ArrayBlockingQueue<>(requestBatchSize);
+
+        this.binaryEncoder = binaryEncoder;
+        this.binarySender = binarySender;
     }
 
     @Override
@@ -85,6 +105,14 @@ public class SenderEndPoint implements EndPoint {
         if (methodCalls.size() > 0) {
             String returnAddress = methodCalls.get(0).returnAddress();
             @SuppressWarnings("unchecked") List<Message<Object>> methods = (List<Message<Object>>) (Object) methodCalls;
+            send(returnAddress, methods);
+        }
+    }
+
+    private void send(String returnAddress, List<Message<Object>> methods) {
+        if (binarySender != null) {
+            binarySender.send(returnAddress, binaryEncoder.encodeAsBytes(methods));
+        } else {
             sender.send(returnAddress, encoder.encodeAsString(methods));
         }
     }
@@ -133,7 +161,7 @@ public class SenderEndPoint implements EndPoint {
 
             if (count > requestBatchSize) {
 
-                sender.send(returnAddress, encoder.encodeAsString(methods));
+                send(returnAddress, methods);
                 methods.clear();
                 count = 0;
             }
@@ -149,7 +177,7 @@ public class SenderEndPoint implements EndPoint {
 
 
         if (methods.size() > 0) {
-            sender.send(returnAddress, encoder.encodeAsString(methods));
+            send(returnAddress, methods);
         }
 
 
@@ -161,6 +189,10 @@ public class SenderEndPoint implements EndPoint {
         } catch (Exception ex) {
             logger.warn("Unable to flush before stop", ex);
         }
-        sender.stop();
+        if (binarySender != null) {
+            binarySender.stop();
+        } else {
+            sender.stop();
+        }
     }
 }
@@ -122,7 +122,7 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
                 writeHttpResponse(originatingRequest.getReceiver(), ((HttpResponse) response.body()));
             } else {
                 //TODO this is where you would add J-SEND SUPPORT #379 https://github.com/advantageous/qbit/issues/379
-                writeResponse(originatingRequest.getReceiver(), HttpStatus.OK, "application/json", jsonMapper.toJson(response.body()), response.headers());
+                writeJsonResponse(originatingRequest.getReceiver(), HttpStatus.OK, response.body(), response.headers());
             }
         }
 
@@ -257,21 +257,19 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
         final Object obj = response.body();
 
         if (obj instanceof ServiceMethodNotFoundException) {
-            writeResponse(httpRequest.getReceiver(), HttpStatus.NOT_FOUND, "application/json",
-                    jsonMapper.toJson(response.body()), response.headers());
+            writeJsonResponse(httpRequest.getReceiver(), HttpStatus.NOT_FOUND, response.body(), response.headers());
 
         } else if (obj instanceof HttpStatusCodeException) {
             final HttpStatusCodeException httpStatusCodeException = ((HttpStatusCodeException) obj);
-            writeResponse(httpRequest.getReceiver(), httpStatusCodeException.code(), "application/json",
-                    jsonMapper.toJson(httpStatusCodeException.getMessage()), response.headers());
+            writeJsonResponse(httpRequest.getReceiver(), httpStatusCodeException.code(),
+                    httpStatusCodeException.getMessage(), response.headers());
 
         } else if (obj instanceof Throwable){
 
             writeResponse(httpRequest.getReceiver(), HttpStatus.ERROR, "application/json", asJson(((Throwable) obj)), response.headers());
 
         } else {
-            writeResponse(httpRequest.getReceiver(), HttpStatus.ERROR, "application/json",
-                    jsonMapper.toJson(response.body()), response.headers());
+            writeJsonResponse(httpRequest.getReceiver(), HttpStatus.ERROR, response.body(), response.headers());
         }
     }
 
@@ -290,6 +288,11 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
 
 
 
+    private void writeJsonResponse(HttpResponseReceiver response, int code, Object body,
+                                   MultiMap<String, String> headers) {
+        response.jsonResponse(code, body, jsonMapper, headers);
+    }
+
     private void writeResponse(HttpResponseReceiver response, int code, String mimeType, String responseString,
                                MultiMap<String, String> headers) {
 
@@ -30,6 +30,7 @@ import io.advantageous.qbit.message.impl.MethodCallImpl;
 import io.advantageous.qbit.message.impl.ResponseImpl;
 import io.advantageous.qbit.queue.SendQueue;
 import io.advantageous.qbit.service.ServiceBundle;
+import io.advantageous.qbit.spi.BinaryProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolParser;
 import io.advantageous.qbit.util.Timer;
@@ -61,6 +62,18 @@ public class WebSocketServiceServerHandler {
             return QBit.factory().createProtocolParser();
         }
     };
+    protected final ThreadLocal<BinaryProtocolEncoder> binaryEncoderRef = new ThreadLocal<BinaryProtocolEncoder>() {
+        @Override
+        protected BinaryProtocolEncoder initialValue() {
+            return QBit.factory().createBinaryEncoder();
+        }
+    };
+    protected final ThreadLocal<ProtocolParser> binaryParserRef = new ThreadLocal<ProtocolParser>() {
+        @Override
+        protected ProtocolParser initialValue() {
+            return QBit.factory().createBinaryProtocolParser();
+        }
+    };
 
 
     protected final long flushResponseInterval = 200;
@@ -126,6 +139,9 @@ public class WebSocketServiceServerHandler {
             webSocketDelegateMap.put(webSocketMessage.getRemoteAddress(), webSocketDelegate);
         }
 
+        /* The connection is answered in whichever protocol it last called us with. */
+        webSocketDelegate.binary = webSocketMessage.getMessage() instanceof byte[];
+
 
         protocolParserThreadPool.execute(() -> {
 
@@ -155,11 +171,12 @@ public class WebSocketServiceServerHandler {
 
             if (webSocketDelegate == null) {
 
-
-                String responseAsText = encoderRef.get().encodeAsString(response);
-
-
-                webSocketMessage.getSender().sendText(responseAsText);
+                if (webSocketMessage.getMessage() instanceof byte[]) {
+                    webSocketMessage.getSender().sendBytes(binaryEncoderRef.get().encodeAsBytes(response));
+                } else {
+                    String responseAsText = encoderRef.get().encodeAsString(response);
+                    webSocketMessage.getSender().sendText(responseAsText);
+                }
             } else {
                 webSocketDelegate.send(response);
             }
@@ -176,7 +193,11 @@ public class WebSocketServiceServerHandler {
 
         List<MethodCall<Object>> methodCalls;
 
-        if (body != null) {
+        if (body instanceof byte[]) {
+
+            methodCalls = binaryParserRef.get().parseMethodCallListUsingAddressPrefix(addressPrefix, body);
+
+        } else if (body != null) {
 
 
             methodCalls = parserRef.get().parseMethodCallListUsingAddressPrefix(addressPrefix, body);
@@ -194,7 +215,11 @@ public class WebSocketServiceServerHandler {
                 final Response<Object> response = ResponseImpl.response(-1, Timer.timer().now(), "SYSTEM", "ERROR",
                         "CAN'T HANDLE CALL", originatingRequest, true);
                 final WebSocketSender sender = webSocketMessage.getSender();
-                sender.sendText(encoderRef.get().encodeAsString(response));
+                if (body instanceof byte[]) {
+                    sender.sendBytes(binaryEncoderRef.get().encodeAsBytes(response));
+                } else {
+                    sender.sendText(encoderRef.get().encodeAsString(response));
+                }
 
             }
 
@@ -251,6 +276,8 @@ public class WebSocketServiceServerHandler {
 
         volatile long lastSend;
 
+        volatile boolean binary;
+
         private WebSocketDelegate(int requestBatchSize, WebSocketMessage serverWebSocket) {
             this.requestBatchSize = requestBatchSize;
             outputMessages = new ArrayBlockingQueue<>(requestBatchSize);
@@ -287,9 +314,15 @@ public class WebSocketServiceServerHandler {
             }
 
 
+            final boolean sendBinary = binary;
+
             protocolEncoderThreadPool.execute(() -> {
-                @SuppressWarnings("unchecked") final String textMessage = encoderRef.get().encodeAsString((Collection<Message<Object>>) (Object) messages);
-                serverWebSocket.getSender().sendText(textMessage);
+                @SuppressWarnings("unchecked") final Collection<Message<Object>> responses = (Collection<Message<Object>>) (Object) messages;
+                if (sendBinary) {
+                    serverWebSocket.getSender().sendBytes(binaryEncoderRef.get().encodeAsBytes(responses));
+                } else {
+                    serverWebSocket.getSender().sendText(encoderRef.get().encodeAsString(responses));
+                }
             });
 
 
@@ -60,5 +60,11 @@ public class Protocol {
     public static final int WAS_ERRORS_POS = 9;
     public static final int RESPONSE_RETURN = 10;
 
+    /**
+     * First byte of a binary frame. It is a UTF-8 continuation byte so it can never start a text frame.
+     */
+    public static final int BINARY_PROTOCOL_MARKER = 0xB1;
+    public static final int BINARY_PROTOCOL_VERSION = 1;
+
 
 }
@@ -26,11 +26,13 @@ import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.Request;
 import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.queue.*;
+import io.advantageous.qbit.queue.impl.EventLoopGroup;
 import io.advantageous.qbit.queue.impl.QueueCallBackHandlerHub;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.health.ServiceHealthListener;
 import io.advantageous.qbit.service.impl.*;
 import io.advantageous.qbit.service.stats.ServiceQueueSizer;
+import io.advantageous.qbit.service.stats.ServiceMethodTimings;
 import io.advantageous.qbit.service.stats.ServiceStatsListener;
 import io.advantageous.qbit.service.stats.StatsCollector;
 import io.advantageous.qbit.system.QBitSystemManager;
@@ -82,6 +84,9 @@ public class ServiceBuilder {
 
     private boolean createCallbackHandler = true;
     private EventManager eventManager;
+    private EventLoopGroup eventLoopGroup;
+    private int methodCallPoolSize;
+    private StatsConfig methodTimingsConfig;
 
     public static ServiceBuilder serviceBuilder() {
         return new ServiceBuilder();
@@ -343,6 +348,54 @@ public class ServiceBuilder {
 
     }
 
+    public WaitStrategy getWaitStrategy() {
+        return getRequestQueueBuilder().getWaitStrategy();
+    }
+
+    /**
+     * Sets how the service thread waits for method calls once its request queue is empty.
+     *
+     * @param waitStrategy wait strategy
+     * @return this
+     */
+    public ServiceBuilder setWaitStrategy(WaitStrategy waitStrategy) {
+        getRequestQueueBuilder().setWaitStrategy(waitStrategy);
+        return this;
+    }
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    /**
+     * Runs this service on a shared event loop group instead of its own threads.
+     * The service is pinned to one thread of the group, so it is still single threaded.
+     * This applies to the request queue and the response queue.
+     *
+     * @param eventLoopGroup event loop group
+     * @return this
+     */
+    public ServiceBuilder setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+        return this;
+    }
+
+    public int getMethodCallPoolSize() {
+        return methodCallPoolSize;
+    }
+
+    /**
+     * Lets proxies from createProxy reuse their method call objects instead of allocating one per call.
+     * Only calls without callbacks to methods that return void are reused.
+     *
+     * @param methodCallPoolSize max method calls each proxy keeps for reuse, 0 (the default) turns this off
+     * @return this
+     */
+    public ServiceBuilder setMethodCallPoolSize(int methodCallPoolSize) {
+        this.methodCallPoolSize = methodCallPoolSize;
+        return this;
+    }
+
     public boolean isAsyncResponse() {
         return asyncResponse;
     }
@@ -403,6 +456,26 @@ public class ServiceBuilder {
         return this;
     }
 
+    /**
+     * Turns on per method queue wait, service time and response wait timings, see {@link ServiceMethodTimings}.
+     * Only calls sent through this service queue's proxies are timed.
+     *
+     * @param serviceName      service name used as the stat prefix
+     * @param statsCollector   stats collector
+     * @param flushTimeSeconds how often to send the timings
+     * @param sampleEvery      time one out of this many calls
+     * @return this
+     */
+    public ServiceBuilder registerMethodTimings(
+            final String serviceName,
+            final StatsCollector statsCollector,
+            final int flushTimeSeconds,
+            final int sampleEvery) {
+
+        methodTimingsConfig = new StatsConfig(serviceName, statsCollector, flushTimeSeconds, sampleEvery);
+        return this;
+    }
+
 
     public ServiceBuilder registerHealthChecksWithTTLInSeconds(
             final HealthServiceAsync healthServiceAsync,
@@ -444,7 +517,22 @@ public class ServiceBuilder {
                     statsConfig.sampleEvery, serviceQueueSizer));
         }
 
-        ServiceQueue serviceQueue = new ServiceQueueImpl(this.getRootAddress(),
+        ServiceMethodTimings methodTimings = null;
+
+        if (methodTimingsConfig != null) {
+            methodTimings = new ServiceMethodTimings(methodTimingsConfig.serviceName,
+                    methodTimingsConfig.statsCollector,
+                    getTimer(), methodTimingsConfig.flushTimeSeconds, TimeUnit.SECONDS,
+                    methodTimingsConfig.sampleEvery);
+            this.addQueueCallbackHandler(methodTimings);
+        }
+
+        if (eventLoopGroup != null) {
+            this.getRequestQueueBuilder().setEventLoopGroup(eventLoopGroup);
+            this.getResponseQueueBuilder().setEventLoopGroup(eventLoopGroup);
+        }
+
+        ServiceQueueImpl serviceQueue = new ServiceQueueImpl(this.getRootAddress(),
                 this.getServiceAddress(),
                 this.getServiceObject(),
                 this.getRequestQueueBuilder(),
@@ -458,7 +546,11 @@ public class ServiceBuilder {
                 this.getBeforeMethodCallAfterTransform(),
                 this.getAfterMethodCall(),
                 this.getAfterMethodCallAfterTransform(),
-                buildQueueCallBackHandler(), getCallbackManager());
+                buildQueueCallBackHandler(), getCallbackManager(), methodTimings);
+
+        if (methodCallPoolSize > 0) {
+            serviceQueue.methodCallPoolSize(methodCallPoolSize);
+        }
 
         if (serviceQueueSizer!=null) {
             serviceQueueSizer.setServiceQueue(serviceQueue);
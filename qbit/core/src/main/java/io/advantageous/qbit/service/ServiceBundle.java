@@ -120,4 +120,17 @@ public interface ServiceBundle extends EndPoint, Startable {
         return createLocalProxy(serviceInterface, myService);
     }
 
+    /**
+     * Gives a service method a compact id that local proxies can put in MethodCall.methodId.
+     * Calls that carry the id are routed and invoked with an array index instead of a name lookup.
+     *
+     * @param serviceName service name or address
+     * @param methodName  method name
+     * @return method id or -1 if the service can't dispatch by id (calls then get routed by name)
+     * @throws IllegalStateException if the service or the method does not exist
+     */
+    default int methodId(String serviceName, String methodName) {
+        return -1;
+    }
+
 }
@@ -25,6 +25,7 @@ import io.advantageous.qbit.message.Request;
 import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.queue.Queue;
 import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.impl.EventLoopGroup;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.impl.CallbackManager;
 import io.advantageous.qbit.service.impl.ServiceConstants;
@@ -62,6 +63,7 @@ public class ServiceBundleBuilder {
     private CallbackManager callbackManager;
     private CallbackManagerBuilder callbackManagerBuilder;
     private EventManager eventManager;
+    private EventLoopGroup eventLoopGroup;
 
 
     public CallbackManagerBuilder getCallbackManagerBuilder() {
@@ -252,6 +254,22 @@ public class ServiceBundleBuilder {
         return this;
     }
 
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    /**
+     * Runs the bundle and every service in it on a shared event loop group instead of
+     * a thread per queue. Each service is pinned to one thread of the group.
+     *
+     * @param eventLoopGroup event loop group
+     * @return this
+     */
+    public ServiceBundleBuilder setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+        return this;
+    }
+
     public Queue<Response<Object>> getResponseQueue() {
         return responseQueue;
     }
@@ -284,6 +302,11 @@ public class ServiceBundleBuilder {
 
     public ServiceBundle build() {
 
+        if (eventLoopGroup != null) {
+            getRequestQueueBuilder().setEventLoopGroup(eventLoopGroup);
+            getResponseQueueBuilder().setEventLoopGroup(eventLoopGroup);
+            getWebResponseQueueBuilder().setEventLoopGroup(eventLoopGroup);
+        }
 
         final ServiceBundle serviceBundle = QBit.factory().createServiceBundle(this.getAddress(),
                 getRequestQueueBuilder(),
@@ -52,4 +52,17 @@ public interface ServiceMethodHandler extends ReceiveQueueListener<MethodCall<Ob
     void queueInit();
 
     void handleEvent(Event<Object> event);
+
+    /**
+     * Binds a method id from the service bundle to a method so calls carrying that id
+     * can be invoked without looking the method up by name.
+     *
+     * @param methodId   method id, see MethodCall.methodId
+     * @param methodName method name
+     * @return false if this handler does not dispatch by id
+     * @throws IllegalStateException if the service has no such method
+     */
+    default boolean bindMethodId(int methodId, String methodName) {
+        return false;
+    }
 }
@@ -112,6 +112,17 @@ public interface ServiceQueue extends Stoppable, ServiceFlushable, Startable {
      */
     Collection<String> addresses(String address);
 
+    /**
+     * Binds a method id from the service bundle to a service method, see ServiceMethodHandler.bindMethodId.
+     *
+     * @param methodId   method id
+     * @param methodName method name
+     * @return false if this queue does not dispatch by id
+     */
+    default boolean bindMethodId(int methodId, String methodName) {
+        return false;
+    }
+
 
     <T> T createProxy(Class<T> serviceInterface);
 
@@ -55,8 +55,10 @@ import io.advantageous.qbit.concurrent.PeriodicScheduler;
 import io.advantageous.qbit.events.EventManager;
 import io.advantageous.qbit.message.*;
 import io.advantageous.qbit.queue.*;
+import io.advantageous.qbit.queue.impl.ringbuffer.SpscRingBufferQueue;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.service.*;
+import io.advantageous.qbit.service.stats.ServiceMethodTimings;
 import io.advantageous.qbit.system.QBitSystemManager;
 import io.advantageous.qbit.transforms.NoOpResponseTransformer;
 import io.advantageous.qbit.transforms.Transformer;
@@ -103,6 +105,17 @@ public class BaseServiceQueueImpl implements ServiceQueue {
     private Transformer<Response<Object>, Response> responseObjectTransformer = new NoOpResponseTransformer();
     private final CallbackManager callbackManager;
     private final QueueCallBackHandler queueCallBackHandler;
+    private int methodCallPoolSize;
+
+    /**
+     * Per method timings or null if they are off.
+     */
+    private final ServiceMethodTimings methodTimings;
+
+    /**
+     * Response send queue the method handler uses, times responses when method timings are on.
+     */
+    private final SendQueue<Response<Object>> methodResponseSendQueue;
 
     public BaseServiceQueueImpl(final String rootAddress,
                                 final String serviceAddress,
@@ -120,6 +133,29 @@ public class BaseServiceQueueImpl implements ServiceQueue {
                                 final AfterMethodCall afterMethodCallAfterTransform,
                                 final QueueCallBackHandler queueCallBackHandler,
                                 final CallbackManager callbackManager) {
+        this(rootAddress, serviceAddress, service, requestQueueBuilder, responseQueueBuilder,
+                serviceMethodHandler, responseQueue, async, handleCallbacks, systemManager,
+                beforeMethodCall, beforeMethodCallAfterTransform, afterMethodCall, afterMethodCallAfterTransform,
+                queueCallBackHandler, callbackManager, null);
+    }
+
+    public BaseServiceQueueImpl(final String rootAddress,
+                                final String serviceAddress,
+                                final Object service,
+                                final QueueBuilder requestQueueBuilder,
+                                final QueueBuilder responseQueueBuilder,
+                                final ServiceMethodHandler serviceMethodHandler,
+                                final Queue<Response<Object>> responseQueue,
+                                final boolean async,
+                                final boolean handleCallbacks,
+                                final QBitSystemManager systemManager,
+                                final BeforeMethodCall beforeMethodCall,
+                                final BeforeMethodCall beforeMethodCallAfterTransform,
+                                final AfterMethodCall afterMethodCall,
+                                final AfterMethodCall afterMethodCallAfterTransform,
+                                final QueueCallBackHandler queueCallBackHandler,
+                                final CallbackManager callbackManager,
+                                final ServiceMethodTimings methodTimings) {
         this.beforeMethodCall = beforeMethodCall;
         this.beforeMethodCallAfterTransform = beforeMethodCallAfterTransform;
         this.afterMethodCall = afterMethodCall;
@@ -165,9 +201,12 @@ public class BaseServiceQueueImpl implements ServiceQueue {
 
 
         this.responseSendQueue = this.responseQueue.sendQueueWithAutoFlush(100, TimeUnit.MILLISECONDS);
+        this.methodTimings = methodTimings;
+        this.methodResponseSendQueue = methodTimings == null ? responseSendQueue
+                : new TimedResponseSendQueue(responseSendQueue, methodTimings);
         this.service = service;
         this.serviceMethodHandler = serviceMethodHandler;
-        this.serviceMethodHandler.init(service, rootAddress, serviceAddress, responseSendQueue);
+        this.serviceMethodHandler.init(service, rootAddress, serviceAddress, methodResponseSendQueue);
         this.eventQueue = this.requestQueueBuilder.setName("Event Queue" + serviceMethodHandler.address()).build();
         this.handleCallbacks = handleCallbacks;
         this.requestQueue = initRequestQueue(serviceMethodHandler, async);
@@ -324,6 +363,20 @@ public class BaseServiceQueueImpl implements ServiceQueue {
         return this;
     }
 
+    /**
+     * Turns on recycling of the method calls that proxies created after this send.
+     * Each proxy gets its own pool. A call goes back to the pool once the service handled it,
+     * if it had no callbacks and the method returned nothing, since nothing else holds on to it then.
+     * Before method call handlers must not keep the method call around if this is on.
+     *
+     * @param methodCallPoolSize max method calls each proxy keeps for reuse, 0 turns pooling off
+     * @return this
+     */
+    public BaseServiceQueueImpl methodCallPoolSize(final int methodCallPoolSize) {
+        this.methodCallPoolSize = methodCallPoolSize;
+        return this;
+    }
+
 
     /**
      * This method is where all of the action is.
@@ -333,6 +386,7 @@ public class BaseServiceQueueImpl implements ServiceQueue {
      */
     private boolean doHandleMethodCall(MethodCall<Object> methodCall,
                                     final ServiceMethodHandler serviceMethodHandler) {
+        final MethodCall<Object> receivedCall = methodCall;
         if (debug) {
             logger.debug("ServiceImpl::doHandleMethodCall() METHOD CALL" + methodCall);
         }
@@ -340,6 +394,14 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             callbackManager.registerCallbacks(methodCall);
         }
         //inputQueueListener.receive(methodCall);
+        final long enqueueNanos = methodTimings != null && receivedCall instanceof MethodCallLocal
+                ? ((MethodCallLocal) receivedCall).enqueueNanos : 0;
+        long dequeueNanos = 0;
+        if (enqueueNanos != 0) {
+            dequeueNanos = System.nanoTime();
+            ((MethodCallLocal) receivedCall).dequeueNanos = dequeueNanos;
+            methodTimings.recordQueueWait(receivedCall.name(), dequeueNanos - enqueueNanos);
+        }
         final boolean continueFlag[] = new boolean[1];
         methodCall = beforeMethodProcessing(methodCall, continueFlag);
         if (continueFlag[0]) {
@@ -347,6 +409,9 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             return false;
         }
         Response<Object> response = serviceMethodHandler.receiveMethodCall(methodCall);
+        if (dequeueNanos != 0) {
+            methodTimings.recordServiceTime(receivedCall.name(), System.nanoTime() - dequeueNanos);
+        }
 //        if (debug) {
 //            logger.debug("ServiceImpl::receive() \nRESPONSE\n" + response + "\nFROM CALL\n" + methodCall + " name " + methodCall.name() + "\n\n");
 //        }
@@ -362,13 +427,15 @@ public class BaseServiceQueueImpl implements ServiceQueue {
                 return false;
             }
 
-            if (!responseSendQueue.send(response)) {
+            if (!methodResponseSendQueue.send(response)) {
                 logger.error("Unable to send response {} for method {} for object {}",
                         response,
                         methodCall.name(),
                         methodCall.objectName());
             }
 
+        } else if (receivedCall instanceof MethodCallLocal) {
+            ((MethodCallLocal) receivedCall).recycle();
         }
 
         return false;
@@ -591,6 +658,11 @@ public class BaseServiceQueueImpl implements ServiceQueue {
         return this.serviceMethodHandler.addresses();
     }
 
+    @Override
+    public boolean bindMethodId(int methodId, String methodName) {
+        return this.serviceMethodHandler.bindMethodId(methodId, methodName);
+    }
+
     @Override
     public void flush() {
         lastResponseFlushTime = 0;
@@ -652,11 +724,16 @@ public class BaseServiceQueueImpl implements ServiceQueue {
         if (!started.get()) {
             logger.info("ServiceQueue::create(...), A proxy is being asked for a service that is not started ", name());
         }
+        final java.util.Queue<Object> methodCallPool = methodCallPoolSize > 0 ?
+                new SpscRingBufferQueue(methodCallPoolSize) : null;
+        final int sampleEvery = methodTimings != null ? methodTimings.sampleEvery() : 0;
+
         InvocationHandler invocationHandler = new InvocationHandler() {
 
             private long messageId = 0;
             private long timestamp = Timer.timer().now();
             private int times = 10;
+            private int callsSinceSample = 0;
 
             @Override
             public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
@@ -681,10 +758,24 @@ public class BaseServiceQueueImpl implements ServiceQueue {
                 } else {
                     timestamp++;
                 }
-                final MethodCallLocal call = new MethodCallLocal(method.getName(), uuid, timestamp, messageId, args);
+                final MethodCallLocal call = methodCall(method.getName(), args);
+                if (sampleEvery > 0 && ++callsSinceSample >= sampleEvery) {
+                    callsSinceSample = 0;
+                    call.enqueueNanos = System.nanoTime();
+                }
                 methodCallSendQueue.send(call);
                 return null;
             }
+
+            private MethodCallLocal methodCall(final String name, final Object[] args) {
+                if (methodCallPool != null) {
+                    final MethodCallLocal call = (MethodCallLocal) methodCallPool.poll();
+                    if (call != null) {
+                        return call.reuse(name, timestamp, messageId, args);
+                    }
+                }
+                return new MethodCallLocal(name, uuid, timestamp, messageId, args, methodCallPool);
+            }
         };
         final Object o = Proxy.newProxyInstance(serviceInterface.getClassLoader(),
                 new Class[]{serviceInterface, ClientProxy.class}, invocationHandler
@@ -705,15 +796,84 @@ public class BaseServiceQueueImpl implements ServiceQueue {
                 '}';
     }
 
+    /**
+     * Records how long after a sampled call was taken off the request queue its response was sent.
+     */
+    private static class TimedResponseSendQueue implements SendQueue<Response<Object>> {
+
+        private final SendQueue<Response<Object>> sendQueue;
+        private final ServiceMethodTimings methodTimings;
+
+        private TimedResponseSendQueue(final SendQueue<Response<Object>> sendQueue,
+                                       final ServiceMethodTimings methodTimings) {
+            this.sendQueue = sendQueue;
+            this.methodTimings = methodTimings;
+        }
+
+        @Override
+        public boolean send(final Response<Object> response) {
+            final Request<Object> request = response.request();
+            if (request instanceof MethodCallLocal) {
+                final MethodCallLocal call = (MethodCallLocal) request;
+                if (call.dequeueNanos != 0) {
+                    methodTimings.recordResponseWait(call.name(), System.nanoTime() - call.dequeueNanos);
+                    call.dequeueNanos = 0;
+                }
+            }
+            return sendQueue.send(response);
+        }
+
+        @Override
+        public void flushSends() {
+            sendQueue.flushSends();
+        }
+
+        @Override
+        public boolean shouldBatch() {
+            return sendQueue.shouldBatch();
+        }
+
+        @Override
+        public int size() {
+            return sendQueue.size();
+        }
+
+        @Override
+        public String name() {
+            return sendQueue.name();
+        }
+
+        @Override
+        public void start() {
+            sendQueue.start();
+        }
+
+        @Override
+        public void stop() {
+            sendQueue.stop();
+        }
+    }
+
     static class MethodCallLocal implements MethodCall<Object> {
 
-        private final String name;
-        private final long timestamp;
-        private final Object[] arguments;
+        private String name;
+        private long timestamp;
+        private Object[] arguments;
 
         private final String uuid;
-        private final long messageId;
-        private final boolean hasCallback;
+        private long messageId;
+        private boolean hasCallback;
+
+        /**
+         * When a sampled call was sent and taken off the request queue, 0 if not sampled.
+         */
+        private long enqueueNanos;
+        private long dequeueNanos;
+
+        /**
+         * Pool this call goes back to when it is recycled or null if it is not pooled.
+         */
+        private final java.util.Queue<Object> pool;
 
         @Override
         public boolean hasCallback() {
@@ -722,12 +882,37 @@ public class BaseServiceQueueImpl implements ServiceQueue {
 
         public MethodCallLocal(final String name, final String uuid,
                                final long timestamp, final long messageId, final Object[] args) {
+            this(name, uuid, timestamp, messageId, args, null);
+        }
+
+        MethodCallLocal(final String name, final String uuid,
+                        final long timestamp, final long messageId, final Object[] args,
+                        final java.util.Queue<Object> pool) {
+            this.uuid = uuid;
+            this.pool = pool;
+            reuse(name, timestamp, messageId, args);
+        }
+
+        MethodCallLocal reuse(final String name, final long timestamp, final long messageId, final Object[] args) {
             this.name = name;
             this.timestamp = timestamp;
             this.arguments = args;
-            this.uuid = uuid;
             this.messageId = messageId;
             this.hasCallback = detectCallback();
+            this.enqueueNanos = 0;
+            this.dequeueNanos = 0;
+            return this;
+        }
+
+        /**
+         * Hands the call back to the proxy that sent it. Calls with callbacks are never recycled
+         * since the callback wrapper still refers to them.
+         */
+        void recycle() {
+            if (pool != null && !hasCallback) {
+                arguments = null;
+                pool.offer(this);
+            }
         }
 
 
@@ -21,26 +21,36 @@ package io.advantageous.qbit.service.impl;
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.reactive.AsyncFutureCallback;
 import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.util.CallbackRegistry;
 import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 /**
  * Maps incoming call returns to client callback objects.
+ * Callbacks are looked up by return address and message id so no key object is allocated per call.
+ * Timeouts are tracked in a hashed timing wheel so registering, completing and expiring a callback are O(1).
+ * A callback that is an AsyncFutureCallback with its own timeOutDuration uses that instead of timeOutMS.
  */
 public class CallbackManagerWithTimeout implements CallbackManager {
 
+    /**
+     * When we are not handling timeouts we still drop callbacks this old once there are too many of them.
+     */
+    private static final long SAFETY_TIMEOUT_MS = 60_000;
+    private static final int WHEEL_SIZE = 512;
+
     private final String name;
     private final boolean handleTimeouts;
     private final long timeOutMS;
     private final long checkInterval;
     private final Timer timer;
+    private final CallbackTimingWheel timingWheel;
     private long lastCheckTime;
     private long now;
 
@@ -58,6 +68,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
         this.lastCheckTime = timer.now();
         this.now = lastCheckTime;
         this.timer = timer;
+        this.timingWheel = new CallbackTimingWheel(WHEEL_SIZE, this.checkInterval, lastCheckTime);
     }
 
     private final Logger logger = LoggerFactory.getLogger(CallbackManagerWithTimeout.class);
@@ -65,7 +76,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
     /**
      * Maps incoming calls with outgoing handlers (returns, async returns really).
      */
-    private final Map<HandlerKey, Callback<Object>> handlers = new ConcurrentHashMap<>();
+    private final CallbackRegistry<CallbackTimingWheel.Entry> handlers = new CallbackRegistry<>();
 
     /**
      * Register a callbackWithTimeout handler
@@ -75,8 +86,28 @@ public class CallbackManagerWithTimeout implements CallbackManager {
      */
     private void registerHandlerCallbackForClient(final MethodCall<Object> methodCall,
                                                   final Callback<Object> handler) {
-        handlers.put(new HandlerKey(methodCall.returnAddress(), methodCall.address(),
-                methodCall.id(), methodCall.timestamp()), handler);
+
+        final CallbackTimingWheel.Entry entry = new CallbackTimingWheel.Entry(methodCall.returnAddress(),
+                methodCall.id(), methodCall.timestamp(), handler, methodCall.timestamp() + timeOutFor(handler));
+
+        final CallbackTimingWheel.Entry oldEntry = handlers.put(methodCall.returnAddress(), methodCall.id(), entry);
+        if (oldEntry != null) {
+            timingWheel.remove(oldEntry);
+        }
+        timingWheel.add(entry);
+    }
+
+    private long timeOutFor(final Callback<Object> handler) {
+        if (!handleTimeouts) {
+            return SAFETY_TIMEOUT_MS;
+        }
+        if (handler instanceof AsyncFutureCallback) {
+            final long timeOutDuration = ((AsyncFutureCallback) handler).timeOutDuration();
+            if (timeOutDuration > 0) {
+                return timeOutDuration;
+            }
+        }
+        return timeOutMS;
     }
 
 
@@ -120,21 +151,19 @@ public class CallbackManagerWithTimeout implements CallbackManager {
     @Override
     public void handleResponse(final Response<Object> response) {
 
-        final HandlerKey handlerKey = new HandlerKey(
-                response.returnAddress(),
-                response.address(),
-                response.id(),
-                response.timestamp());
+        final CallbackTimingWheel.Entry entry = handlers.remove(response.returnAddress(), response.id());
 
-        final Callback<Object> handler = handlers.remove(handlerKey);
-
-        if (handler == null) {
+        if (entry == null) {
             if (response.request().hasCallback()) {
-                logger.error("Could not find handler for key {}", handlerKey);
+                logger.error("Could not find handler for return address {} message id {}",
+                        response.returnAddress(), response.id());
             }
             return;
         }
 
+        timingWheel.remove(entry);
+        final Callback<Object> handler = entry.callback;
+
         if (response.wasErrors()) {
 
             if (debug)  {
@@ -169,8 +198,9 @@ public class CallbackManagerWithTimeout implements CallbackManager {
 
         if (duration > checkInterval) {
             lastCheckTime = this.now;
+            handlers.purgeEmpty();
             if (handleTimeouts) {
-                checkForTimeOuts(timeOutMS);
+                checkForTimeOuts();
             } else {
                 if (handlers.size() > 8_000) {
                     if (debug) {
@@ -185,7 +215,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
                     logger.error("Issue with handlers growing very large size {} " +
                                     "service name {}",
                             handlers.size(), this.name);
-                    checkForTimeOuts(60_000);
+                    checkForTimeOuts();
                 }
 
             }
@@ -193,28 +223,27 @@ public class CallbackManagerWithTimeout implements CallbackManager {
 
     }
 
-    private void checkForTimeOuts(long timeOutMS) {
+    private void checkForTimeOuts() {
 
         if (debug) {
             logger.debug("checking for timeouts");
         }
 
-        final ArrayList<Map.Entry<HandlerKey, Callback<Object>>> entries = new ArrayList<>(handlers.entrySet());
-
+        final List<CallbackTimingWheel.Entry> expired = timingWheel.expire(now);
 
-        for (Map.Entry<HandlerKey, Callback<Object>> entry : entries) {
-            long duration = now - entry.getKey().timestamp;
-            if (duration > timeOutMS) {
+        for (int index = 0; index < expired.size(); index++) {
+            final CallbackTimingWheel.Entry entry = expired.get(index);
 
+            /* If the remove fails the response beat us to it. */
+            if (handlers.remove(entry.returnAddress, entry.messageId, entry)) {
 
-                if (debug) logger.debug("{} Call has timed out duration {} {} {}",name,
-                        now - entry.getKey().timestamp,
-                        entry.getKey().returnAddress,
-                        entry.getKey().messageId,
-                        new Date(entry.getKey().timestamp));
+                if (debug) logger.debug("{} Call has timed out duration {} {} {}", name,
+                        now - entry.timestamp,
+                        entry.returnAddress,
+                        entry.messageId,
+                        new Date(entry.timestamp));
 
-                handlers.remove(entry.getKey());
-                entry.getValue().onTimeout();
+                entry.callback.onTimeout();
             }
         }
 
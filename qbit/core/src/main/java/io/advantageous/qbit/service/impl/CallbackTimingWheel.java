@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.service.impl;
+
+import io.advantageous.qbit.reactive.Callback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel that keeps track of when outstanding callbacks time out.
+ * <p>
+ * Each bucket is a doubly linked list of entries whose deadline falls in that tick (or in that tick of a later
+ * turn of the wheel). Adding and removing an entry is O(1). Expiring only walks the buckets for the ticks that
+ * went by since the last check, so we no longer copy and scan every outstanding callback.
+ * <p>
+ * The lists are guarded by a lock since calls get registered, answered and timed out from different threads.
+ * The lock is only held for pointer updates, never while calling a callback.
+ *
+ * @author rhightower
+ */
+class CallbackTimingWheel {
+
+    /**
+     * One outstanding callback.
+     */
+    static final class Entry {
+        final String returnAddress;
+        final long messageId;
+        final long timestamp;
+        final Callback<Object> callback;
+        final long deadline;
+        private Entry previous;
+        private Entry next;
+        private int bucket = -1;
+
+        Entry(final String returnAddress, final long messageId, final long timestamp,
+              final Callback<Object> callback, final long deadline) {
+            this.returnAddress = returnAddress;
+            this.messageId = messageId;
+            this.timestamp = timestamp;
+            this.callback = callback;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "returnAddress='" + returnAddress + '\'' +
+                    ", messageId=" + messageId +
+                    ", timestamp=" + timestamp +
+                    ", deadline=" + deadline +
+                    '}';
+        }
+    }
+
+    private final Entry[] buckets;
+    private final int mask;
+    private final long tickDuration;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    /**
+     * @param wheelSize    number of buckets, rounded up to a power of two
+     * @param tickDuration how much time one bucket covers in ms
+     * @param now          current time in ms
+     */
+    CallbackTimingWheel(final int wheelSize, final long tickDuration, final long now) {
+        final int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.buckets = new Entry[size];
+        this.mask = size - 1;
+        this.tickDuration = tickDuration > 0 ? tickDuration : 1;
+        this.currentTick = now / this.tickDuration;
+    }
+
+    void add(final Entry entry) {
+        lock.lock();
+        try {
+            /* Already due entries go in the current bucket so the next check picks them up. */
+            final long tick = Math.max(entry.deadline / tickDuration, currentTick);
+            final int bucket = (int) tick & mask;
+            final Entry head = buckets[bucket];
+            entry.bucket = bucket;
+            entry.previous = null;
+            entry.next = head;
+            if (head != null) {
+                head.previous = entry;
+            }
+            buckets[bucket] = entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(final Entry entry) {
+        lock.lock();
+        try {
+            unlink(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns every entry whose deadline is before now.
+     *
+     * @param now current time in ms
+     * @return expired entries
+     */
+    List<Entry> expire(final long now) {
+
+        List<Entry> expired = null;
+
+        lock.lock();
+        try {
+            final long nowTick = now / tickDuration;
+            /* The current tick is checked again next time since part of it has not happened yet. */
+            final long ticks = Math.min(nowTick - currentTick + 1, buckets.length);
+
+            for (long tick = 0; tick < ticks; tick++) {
+                Entry entry = buckets[(int) (currentTick + tick) & mask];
+                while (entry != null) {
+                    final Entry next = entry.next;
+                    if (entry.deadline < now) {
+                        unlink(entry);
+                        if (expired == null) {
+                            expired = new ArrayList<>();
+                        }
+                        expired.add(entry);
+                    }
+                    entry = next;
+                }
+            }
+
+            if (nowTick > currentTick) {
+                currentTick = nowTick;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return expired == null ? Collections.emptyList() : expired;
+    }
+
+    private void unlink(final Entry entry) {
+        if (entry.bucket == -1) {
+            return;
+        }
+        if (entry.previous == null) {
+            buckets[entry.bucket] = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+}
@@ -68,6 +68,18 @@ public class ServiceBundleImpl implements ServiceBundle {
      * Keep track of servicesToStop to forwardEvent queue mappings.
      *///SendQueue<MethodCall<Object>>
     private final Map<String, Consumer<MethodCall<Object>>> serviceMapping = new ConcurrentHashMap<>();
+
+    /**
+     * Method ids handed out by methodId, keyed by service name and method name.
+     */
+    private final Map<String, Integer> methodIds = new HashMap<>();
+
+    /**
+     * Service queues indexed by method id, the service method handler then invokes the method by the same id.
+     * Copied on write since it only changes when a proxy is created.
+     */
+    @SuppressWarnings("unchecked")
+    private volatile Consumer<MethodCall<Object>>[] dispatchTable = new Consumer[0];
     /**
      * Keep a list of current servicesToStop that we are routing to.
      */
@@ -479,7 +491,49 @@ public class ServiceBundleImpl implements ServiceBundle {
         return methodCall;
     }
 
+    @Override
+    public int methodId(final String serviceName, final String methodName) {
+
+        final Consumer<MethodCall<Object>> dispatch = serviceMapping.get(serviceName);
+
+        if (dispatch == null) {
+            throw new IllegalStateException("Service requested does not exist " + serviceName);
+        }
+
+        if (!(dispatch instanceof QueueDispatch)) {
+            return -1;
+        }
+
+        synchronized (methodIds) {
+            final String key = Str.add(serviceName, ".", methodName);
+            final Integer methodId = methodIds.get(key);
+            if (methodId != null) {
+                return methodId;
+            }
+
+            final int newMethodId = dispatchTable.length;
+            if (!((QueueDispatch) dispatch).serviceQueue.bindMethodId(newMethodId, methodName)) {
+                return -1;
+            }
+
+            final Consumer<MethodCall<Object>>[] table = Arrays.copyOf(dispatchTable, newMethodId + 1);
+            table[newMethodId] = dispatch;
+            methodIds.put(key, newMethodId);
+            dispatchTable = table;
+            return newMethodId;
+        }
+    }
+
     private Consumer<MethodCall<Object>> getMethodDispatcher(MethodCall<Object> methodCall) {
+
+        final int methodId = methodCall.methodId();
+        if (methodId >= 0) {
+            final Consumer<MethodCall<Object>>[] table = dispatchTable;
+            if (methodId < table.length) {
+                return table[methodId];
+            }
+        }
+
         Consumer<MethodCall<Object>> methodCallConsumer = null;
 
         boolean hasAddress = !Str.isEmpty(methodCall.address());
@@ -25,6 +25,7 @@ import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.service.AfterMethodCall;
 import io.advantageous.qbit.service.BeforeMethodCall;
 import io.advantageous.qbit.service.ServiceMethodHandler;
+import io.advantageous.qbit.service.stats.ServiceMethodTimings;
 import io.advantageous.qbit.system.QBitSystemManager;
 
 
@@ -52,4 +53,27 @@ public class ServiceQueueImpl extends BaseServiceQueueImpl {
                 async, handleCallbacks, systemManager, beforeMethodCall, beforeMethodCallAfterTransform,
                 afterMethodCall, afterMethodCallAfterTransform, handler, callbackManager);
     }
+
+    public ServiceQueueImpl(final String rootAddress,
+                            final String serviceAddress,
+                            final Object service,
+                            final QueueBuilder requestQueueBuilder,
+                            final QueueBuilder responseQueueBuilder,
+                            final ServiceMethodHandler serviceMethodHandler,
+                            final Queue<Response<Object>> responseQueue,
+                            final boolean async,
+                            final boolean handleCallbacks,
+                            final QBitSystemManager systemManager,
+                            final BeforeMethodCall beforeMethodCall,
+                            final BeforeMethodCall beforeMethodCallAfterTransform,
+                            final AfterMethodCall afterMethodCall,
+                            final AfterMethodCall afterMethodCallAfterTransform,
+                            final QueueCallBackHandler handler,
+                            final CallbackManager callbackManager,
+                            final ServiceMethodTimings methodTimings) {
+        super(rootAddress, serviceAddress, service, requestQueueBuilder, responseQueueBuilder,
+                serviceMethodHandler, responseQueue,
+                async, handleCallbacks, systemManager, beforeMethodCall, beforeMethodCallAfterTransform,
+                afterMethodCall, afterMethodCallAfterTransform, handler, callbackManager, methodTimings);
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.service.stats;
+
+import io.advantageous.qbit.queue.QueueCallBackHandler;
+import io.advantageous.qbit.util.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per method timings for a {@code ServiceQueue}, so you can tell a saturated service from a slow one.
+ * <p>
+ * Every {@code sampleEvery} call a proxy sends is stamped when it is enqueued, and the service queue records:
+ * <ul>
+ * <li>{@code serviceName.method.queueWait} time the call sat in the request queue</li>
+ * <li>{@code serviceName.method.serviceTime} time the method ran</li>
+ * <li>{@code serviceName.method.responseWait} time from taking the call off the queue until its response was sent,
+ * which for callback methods is when the callback was called</li>
+ * </ul>
+ * Timings are in nanoseconds. They are kept in histograms and sent to the stats collector
+ * with {@code recordTimings} every flush interval.
+ * Everything here runs on the service's thread, like the callbacks that send responses.
+ */
+public class ServiceMethodTimings implements QueueCallBackHandler {
+
+    private final String serviceName;
+    private final StatsCollector statsCollector;
+    private final Timer timer;
+    private final long flushInterval;
+    private final int sampleEvery;
+    private final Map<String, MethodTimings> methods = new HashMap<>();
+    private long lastFlush;
+
+    public ServiceMethodTimings(final String serviceName,
+                                final StatsCollector statsCollector,
+                                final Timer timer,
+                                final long flushInterval,
+                                final TimeUnit timeUnit,
+                                final int sampleEvery) {
+        this.serviceName = serviceName;
+        this.statsCollector = statsCollector;
+        this.timer = timer;
+        this.flushInterval = timeUnit.toMillis(flushInterval);
+        this.sampleEvery = sampleEvery < 1 ? 1 : sampleEvery;
+        this.lastFlush = timer.now();
+    }
+
+    /**
+     * @return stamp one out of this many calls
+     */
+    public int sampleEvery() {
+        return sampleEvery;
+    }
+
+    public void recordQueueWait(final String method, final long nanos) {
+        method(method).queueWait.record(nanos);
+    }
+
+    public void recordServiceTime(final String method, final long nanos) {
+        method(method).serviceTime.record(nanos);
+    }
+
+    public void recordResponseWait(final String method, final long nanos) {
+        method(method).responseWait.record(nanos);
+    }
+
+    private MethodTimings method(final String method) {
+        MethodTimings timings = methods.get(method);
+        if (timings == null) {
+            timings = new MethodTimings(serviceName + "." + method);
+            methods.put(method, timings);
+        }
+        return timings;
+    }
+
+    @Override
+    public void queueLimit() {
+        flushIfNeeded();
+    }
+
+    @Override
+    public void queueEmpty() {
+        flushIfNeeded();
+    }
+
+    @Override
+    public void queueIdle() {
+        flushIfNeeded();
+    }
+
+    @Override
+    public void queueShutdown() {
+        flush();
+    }
+
+    private void flushIfNeeded() {
+        final long now = timer.now();
+        if (now - lastFlush > flushInterval) {
+            lastFlush = now;
+            flush();
+        }
+    }
+
+    /**
+     * Sends the histograms to the stats collector. They are handed off, not reused,
+     * since the collector may pass them to another thread.
+     */
+    public void flush() {
+        if (methods.isEmpty()) {
+            return;
+        }
+        methods.values().forEach(timings -> {
+            if (timings.queueWait.getCount() > 0) {
+                statsCollector.recordTimings(timings.queueWaitKey, timings.queueWait);
+                timings.queueWait = new TimingHistogram();
+            }
+            if (timings.serviceTime.getCount() > 0) {
+                statsCollector.recordTimings(timings.serviceTimeKey, timings.serviceTime);
+                timings.serviceTime = new TimingHistogram();
+            }
+            if (timings.responseWait.getCount() > 0) {
+                statsCollector.recordTimings(timings.responseWaitKey, timings.responseWait);
+                timings.responseWait = new TimingHistogram();
+            }
+        });
+        statsCollector.clientProxyFlush();
+    }
+
+    private static final class MethodTimings {
+        private final String queueWaitKey;
+        private final String serviceTimeKey;
+        private final String responseWaitKey;
+        private TimingHistogram queueWait = new TimingHistogram();
+        private TimingHistogram serviceTime = new TimingHistogram();
+        private TimingHistogram responseWait = new TimingHistogram();
+
+        private MethodTimings(final String prefix) {
+            queueWaitKey = prefix + ".queueWait";
+            serviceTimeKey = prefix + ".serviceTime";
+            responseWaitKey = prefix + ".responseWait";
+        }
+    }
+}
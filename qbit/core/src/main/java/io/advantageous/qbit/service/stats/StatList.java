@@ -298,6 +298,24 @@ public class StatList extends AbstractList<Long> {
     }
 
 
+    /**
+     * Nearest rank percentile, sorts a copy of the values.
+     *
+     * @param percentile 0 to 100
+     * @return percentile, 0 if the list is empty
+     */
+    public long percentile(final double percentile) {
+        if (end == 0) {
+            return 0;
+        }
+        final long[] sorted = toValueArray();
+        Arrays.sort(sorted);
+        final double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        final int rank = Math.max(1, (int) Math.ceil(fraction * end));
+        return sorted[rank - 1];
+    }
+
+
     /**
      * sort
      */
@@ -9,6 +9,9 @@ public class Stats {
     private final long max;
     private final long min;
     private final long median;
+    private final long percentile90;
+    private final long percentile99;
+    private final long percentile999;
 
     private final int readingCount;
 
@@ -20,9 +23,26 @@ public class Stats {
         this.max = statList.max();
         this.min = statList.min();
         this.median = statList.median();
+        this.percentile90 = statList.percentile(90);
+        this.percentile99 = statList.percentile(99);
+        this.percentile999 = statList.percentile(99.9);
         this.readingCount = statList.size();
     }
 
+    public Stats(TimingHistogram histogram) {
+        this.mean = histogram.mean();
+        this.stdDev = histogram.standardDeviation();
+        this.variance = histogram.variance();
+        this.sum = histogram.getSum();
+        this.max = histogram.getMax();
+        this.min = histogram.getMin();
+        this.median = histogram.percentile(50);
+        this.percentile90 = histogram.percentile(90);
+        this.percentile99 = histogram.percentile(99);
+        this.percentile999 = histogram.percentile(99.9);
+        this.readingCount = (int) Math.min(Integer.MAX_VALUE, histogram.getCount());
+    }
+
     public float getMean() {
         return mean;
     }
@@ -51,6 +71,18 @@ public class Stats {
         return median;
     }
 
+    public long getPercentile90() {
+        return percentile90;
+    }
+
+    public long getPercentile99() {
+        return percentile99;
+    }
+
+    public long getPercentile999() {
+        return percentile999;
+    }
+
     public int getReadingCount() {
         return readingCount;
     }
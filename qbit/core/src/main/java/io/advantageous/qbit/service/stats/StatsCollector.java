@@ -73,4 +73,16 @@ public interface StatsCollector extends ClientProxy {
     default void recordTiming(String name, long duration) {
     }
 
+    /**
+     * Records a batch of timings at once, buffers send these instead of every reading.
+     * Collectors that do not keep histograms get the slowest timing of the batch.
+     * Collectors merge the histogram and do not keep it. The caller hands it off and does not touch it again,
+     * a collector behind a proxy merges it later on another thread.
+     * @param name name of the timing
+     * @param timings histogram of the timings
+     */
+    default void recordTimings(String name, TimingHistogram timings) {
+        recordTiming(name, timings.getMax());
+    }
+
 }
@@ -35,6 +35,9 @@ import java.util.Map;
 /**
  * This is a drop in replacement for a StatsCollector proxy,
  * but it provides buffering of stats.
+ * Timings are buffered in a TimingHistogram per name, so memory does not grow with the call rate.
+ * A flush hands the histogram to the collector and starts a new one, since a collector behind a proxy
+ * merges it later on its own thread.
  */
 public class StatsCollectorBuffer implements StatsCollector {
 
@@ -48,7 +51,7 @@ public class StatsCollectorBuffer implements StatsCollector {
     }
 
     static class RecordTiming {
-        final StatList list = new StatList();
+        TimingHistogram histogram = new TimingHistogram();
         final String name;
 
         RecordTiming(String name) {
@@ -56,7 +59,7 @@ public class StatsCollectorBuffer implements StatsCollector {
         }
 
         void set(long timing) {
-            list.addLong(timing);
+            histogram.record(timing);
         }
     }
 
@@ -126,6 +129,16 @@ public class StatsCollectorBuffer implements StatsCollector {
         recordTiming.set(timing);
     }
 
+    @Override
+    public void recordTimings(final String name, final TimingHistogram histogram) {
+        RecordTiming recordTiming = timings.get(name);
+        if (recordTiming == null) {
+            recordTiming = new RecordTiming(name);
+            timings.put(name, recordTiming);
+        }
+        recordTiming.histogram.merge(histogram);
+    }
+
     public void sendStats() {
         counts.values().forEach(recordCount -> {
             if (recordCount.count > 0) {
@@ -142,14 +155,16 @@ public class StatsCollectorBuffer implements StatsCollector {
         });
 
         timings.values().forEach(recordTiming -> {
-            if (recordTiming.list.size() == 0) {
+            final TimingHistogram histogram = recordTiming.histogram;
+            if (histogram.getCount() == 0) {
                 return;
             }
-            final long max = recordTiming.list.max();
-            if (max > 0) {
-                statsCollector.recordTiming(recordTiming.name, max);
+            if (histogram.getMax() > 0) {
+                recordTiming.histogram = new TimingHistogram();
+                statsCollector.recordTimings(recordTiming.name, histogram);
+            } else {
+                histogram.reset();
             }
-            recordTiming.list.clear();
         });
 
         ServiceProxyUtils.flushServiceProxy(statsCollector);
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.service.stats;
+
+import java.util.Arrays;
+
+/**
+ * Log bucketed histogram of timings, in the style of HdrHistogram.
+ * <p>
+ * Values below 256 get a bucket each. Above that, each power of two is split into 128 buckets,
+ * so a percentile is off by less than 1%. Memory does not grow with the number of readings,
+ * the bucket array only grows up to the bucket of the largest value seen, at most about 57 KB.
+ * Min, max, count and sum are exact. Negative values are recorded as 0.
+ * <p>
+ * Histograms merge by adding their bucket counts, so they can be collected per thread and combined.
+ * Not thread safe.
+ *
+ * @author rhightower
+ */
+public class TimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_BITS;
+
+    private long[] counts = new long[SUB_BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private double sumOfSquares;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_HALF_BITS;
+        final int mantissa = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (mantissa - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * @param index bucket index
+     * @return the largest value that lands in the bucket
+     */
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int offset = index - SUB_BUCKET_COUNT;
+        final int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        final long mantissa = SUB_BUCKET_HALF_COUNT + offset % SUB_BUCKET_HALF_COUNT;
+        return (mantissa << shift) + (1L << shift) - 1;
+    }
+
+    public void record(final long timing) {
+        final long value = timing < 0 ? 0 : timing;
+        final int index = bucketIndex(value);
+        if (index >= counts.length) {
+            grow(index);
+        }
+        counts[index]++;
+        count++;
+        sum += value;
+        sumOfSquares += (double) value * value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    private void grow(final int index) {
+        counts = Arrays.copyOf(counts, Math.max(index + 1, Math.min(counts.length * 2, bucketIndex(Long.MAX_VALUE) + 1)));
+    }
+
+    /**
+     * Adds the readings of another histogram to this one.
+     *
+     * @param other other histogram
+     */
+    public void merge(final TimingHistogram other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (other.counts.length > counts.length) {
+            grow(other.counts.length - 1);
+        }
+        for (int index = 0; index < other.counts.length; index++) {
+            counts[index] += other.counts[index];
+        }
+        count += other.count;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param percentile 0 to 100, for example 99.9
+     * @return value at or below which that percent of the readings fall, 0 if there are none
+     */
+    public long percentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        final long target = Math.max(1, (long) Math.ceil(fraction * count));
+
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= target) {
+                return Math.max(min, Math.min(highestValueOf(index), max));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public float mean() {
+        return count == 0 ? 0f : (float) ((double) sum / count);
+    }
+
+    public float variance() {
+        if (count == 0) {
+            return 0f;
+        }
+        final double mean = (double) sum / count;
+        return (float) Math.max(0.0, sumOfSquares / count - mean * mean);
+    }
+
+    public float standardDeviation() {
+        return (float) Math.sqrt(variance());
+    }
+
+    /**
+     * Clears the readings, keeping the buckets allocated.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        sumOfSquares = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    public TimingHistogram copy() {
+        final TimingHistogram copy = new TimingHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "TimingHistogram{" +
+                "count=" + count +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                ", p50=" + percentile(50) +
+                ", p99=" + percentile(99) +
+                '}';
+    }
+}
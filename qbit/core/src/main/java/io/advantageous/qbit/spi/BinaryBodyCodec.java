@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes method call arguments and response bodies inside a binary frame.
+ * The frame itself (ids, addresses, headers) is handled by the protocol, the codec only sees bodies.
+ *
+ * @author rhightower
+ */
+public interface BinaryBodyCodec {
+
+    byte[] encode(Object body);
+
+    /**
+     * Encodes a body into the frame buffer at its position.
+     * Codecs that can write straight into the buffer override this to skip the intermediate byte array.
+     *
+     * @param body body
+     * @param buf  frame buffer
+     * @return buf, or a bigger copy of it if the body did not fit
+     */
+    default ByteBuffer encode(final Object body, ByteBuffer buf) {
+        final byte[] bytes = encode(body);
+        if (buf.remaining() < bytes.length) {
+            final ByteBuffer bigger = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + bytes.length));
+            buf.flip();
+            buf = bigger.put(buf);
+        }
+        return buf.put(bytes);
+    }
+
+    /**
+     * Decodes a body in place from the frame.
+     *
+     * @param bytes  frame bytes
+     * @param offset start of the body
+     * @param length length of the body
+     * @return decoded body
+     */
+    Object decode(byte[] bytes, int offset, int length);
+
+}
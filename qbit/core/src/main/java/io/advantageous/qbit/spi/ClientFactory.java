@@ -31,4 +31,12 @@ import io.advantageous.qbit.http.client.HttpClient;
 public interface ClientFactory {
 
     Client create(String uri, HttpClient httpClient, int requestBatchSize);
+
+    /**
+     * Create a client that uses the binary protocol if it can.
+     * The default ignores binary and creates a text client.
+     */
+    default Client create(String uri, HttpClient httpClient, int requestBatchSize, boolean binary) {
+        return create(uri, httpClient, requestBatchSize);
+    }
 }
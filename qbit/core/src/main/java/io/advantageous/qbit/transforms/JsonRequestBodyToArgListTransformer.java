@@ -40,11 +40,12 @@ public class JsonRequestBodyToArgListTransformer implements Transformer<Request,
 
     @Override
     public Object transform(final Request request) {
-        if (request.body() instanceof List) {
-            final List list = (List) request.body();
-            return mapper.fromJson(((String) list.get(0)));
-        } else if (request.body() instanceof String) {
-            return mapper.fromJson(((String) request.body()));
+        final Object body = request.body() instanceof List ? ((List) request.body()).get(0) : request.body();
+
+        if (body instanceof String) {
+            return mapper.fromJson(((String) body));
+        } else if (body instanceof byte[]) {
+            return mapper.fromJson(((byte[]) body));
         } else {
             throw new IllegalArgumentException("Unable to handle request");
         }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread safe registry of outstanding callbacks keyed on return address and message id.
+ * <p>
+ * Each return address gets its own LongObjectMap keyed on the message id, so registering and looking up a
+ * callback does not allocate a key object or box the id. The per return address maps are guarded by their own
+ * monitor so different clients do not contend with each other.
+ * <p>
+ * Maps for return addresses that no longer have outstanding calls are kept around so the next call does not have
+ * to allocate one, call purgeEmpty from time to time to drop them.
+ *
+ * @param <V> value type
+ * @author rhightower
+ */
+public class CallbackRegistry<V> {
+
+    private final Map<String, Slot<V>> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private static final class Slot<V> {
+        private final LongObjectMap<V> map = new LongObjectMap<>();
+        private boolean retired;
+    }
+
+    private static String slotKey(final String returnAddress) {
+        return returnAddress == null ? "" : returnAddress;
+    }
+
+    /**
+     * @param returnAddress return address
+     * @param messageId     message id
+     * @param value         value
+     * @return the value that was there before or null
+     */
+    public V put(final String returnAddress, final long messageId, final V value) {
+        while (true) {
+            final Slot<V> slot = slots.computeIfAbsent(slotKey(returnAddress), key -> new Slot<>());
+            synchronized (slot) {
+                if (slot.retired) {
+                    continue;
+                }
+                final V oldValue = slot.map.put(messageId, value);
+                if (oldValue == null) {
+                    size.incrementAndGet();
+                }
+                return oldValue;
+            }
+        }
+    }
+
+    public V get(final String returnAddress, final long messageId) {
+        final Slot<V> slot = slots.get(slotKey(returnAddress));
+        if (slot == null) {
+            return null;
+        }
+        synchronized (slot) {
+            return slot.map.get(messageId);
+        }
+    }
+
+    public V remove(final String returnAddress, final long messageId) {
+        final Slot<V> slot = slots.get(slotKey(returnAddress));
+        if (slot == null) {
+            return null;
+        }
+        synchronized (slot) {
+            final V value = slot.map.remove(messageId);
+            if (value != null) {
+                size.decrementAndGet();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Only removes the entry if it is still mapped to value.
+     *
+     * @param returnAddress return address
+     * @param messageId     message id
+     * @param value         value we expect
+     * @return true if it was removed
+     */
+    public boolean remove(final String returnAddress, final long messageId, final V value) {
+        final Slot<V> slot = slots.get(slotKey(returnAddress));
+        if (slot == null) {
+            return false;
+        }
+        synchronized (slot) {
+            if (slot.map.remove(messageId, value)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Drops the maps of return addresses that have no outstanding callbacks.
+     */
+    public void purgeEmpty() {
+        slots.forEach((returnAddress, slot) -> {
+            synchronized (slot) {
+                if (slot.map.isEmpty()) {
+                    slot.retired = true;
+                    slots.remove(returnAddress, slot);
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int returnAddressCount() {
+        return slots.size();
+    }
+}
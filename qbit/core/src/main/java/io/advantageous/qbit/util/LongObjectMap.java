@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from a primitive long to an object.
+ * <p>
+ * Keys are stored in a long array so looking up, adding and removing never box the key or allocate a node.
+ * Collisions use linear probing and removal shifts the following entries back so there are no tombstones.
+ * <p>
+ * This is not thread safe.
+ *
+ * @param <V> value type
+ * @author rhightower
+ */
+public class LongObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(final int initialCapacity) {
+        final int capacity = Integer.highestOneBit(Math.max(initialCapacity, 4) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(final long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        int index = hash(key) & mask;
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @param key   key
+     * @param value value, must not be null
+     * @return the old value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (value == null) {
+            throw new NullPointerException("LongObjectMap does not accept null values");
+        }
+
+        int index = hash(key) & mask;
+        Object oldValue;
+        while ((oldValue = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        int index = hash(key) & mask;
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                removeAt(index);
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Only removes the entry if it is still mapped to value.
+     *
+     * @param key   key
+     * @param value value we expect
+     * @return true if removed
+     */
+    public boolean remove(final long key, final V value) {
+        int index = hash(key) & mask;
+        Object current;
+        while ((current = values[index]) != null) {
+            if (keys[index] == key) {
+                if (current == value) {
+                    removeAt(index);
+                    return true;
+                }
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private void removeAt(int index) {
+        values[index] = null;
+        size--;
+
+        /* Shift back any entry that probed past the slot we just freed. */
+        int next = (index + 1) & mask;
+        while (values[next] != null) {
+            final int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                values[next] = null;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int old = 0; old < oldValues.length; old++) {
+            final Object value = oldValues[old];
+            if (value != null) {
+                int index = hash(oldKeys[old]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[old];
+                values[index] = value;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LongObjectMap{" +
+                "size=" + size +
+                ", capacity=" + values.length +
+                '}';
+    }
+}
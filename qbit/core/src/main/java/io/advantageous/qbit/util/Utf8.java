@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+/**
+ * Encodes chars to UTF-8 straight into a byte array.
+ * <p>
+ * Used to write serialized JSON out without building a String and then a byte[] from it.
+ * Gives the same bytes as String.getBytes(StandardCharsets.UTF_8), unpaired surrogates become '?'.
+ *
+ * @author rhightower
+ */
+public final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * @param chars chars
+     * @return how many bytes the chars take as UTF-8
+     */
+    public static int encodedLength(final CharSequence chars) {
+        final int length = chars.length();
+        int byteCount = length;
+
+        for (int index = 0; index < length; index++) {
+            final char c = chars.charAt(index);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                byteCount += 1;
+            } else if (!Character.isSurrogate(c)) {
+                byteCount += 2;
+            } else if (Character.isHighSurrogate(c) && index + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(index + 1))) {
+                /* Four bytes for the pair. */
+                byteCount += 2;
+                index++;
+            }
+        }
+        return byteCount;
+    }
+
+    /**
+     * Encodes the chars into out, which must have room for encodedLength(chars) bytes after offset.
+     *
+     * @param chars  chars
+     * @param out    output
+     * @param offset where to start writing
+     * @return offset after the last byte written
+     */
+    public static int encode(final CharSequence chars, final byte[] out, int offset) {
+        final int length = chars.length();
+
+        for (int index = 0; index < length; index++) {
+            final char c = chars.charAt(index);
+
+            if (c < 0x80) {
+                out[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                out[offset++] = (byte) (0xC0 | (c >> 6));
+                out[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                out[offset++] = (byte) (0xE0 | (c >> 12));
+                out[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && index + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(index + 1))) {
+                final int codePoint = Character.toCodePoint(c, chars.charAt(++index));
+                out[offset++] = (byte) (0xF0 | (codePoint >> 18));
+                out[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                out[offset++] = '?';
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @param chars chars
+     * @return the chars as UTF-8, sized exactly
+     */
+    public static byte[] encode(final CharSequence chars) {
+        final byte[] out = new byte[encodedLength(chars)];
+        encode(chars, out, 0);
+        return out;
+    }
+}
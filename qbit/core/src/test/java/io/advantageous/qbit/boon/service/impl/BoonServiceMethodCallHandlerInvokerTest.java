@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.reactive.Callback;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoonServiceMethodCallHandlerInvokerTest {
+
+    private MyService service;
+    private BoonServiceMethodCallHandler handler;
+
+    @Before
+    public void setUp() {
+        service = new MyService();
+        handler = new BoonServiceMethodCallHandler(true);
+        handler.init(service, "", "", null);
+    }
+
+    @Test
+    public void testNoArgs() {
+        handler.receiveMethodCall(MethodCallBuilder.methodWithArgs("noArgs"));
+        assertEquals("noArgs", service.called);
+        assertFalse(service.reflected);
+    }
+
+    @Test
+    public void testCallbackFirst() {
+        handler.receiveMethodCall(MethodCallBuilder.methodWithArgs("callbackFirst", "a"));
+        assertEquals("callbackFirst a", service.called);
+        assertFalse(service.reflected);
+    }
+
+    @Test
+    public void testCallbackLast() {
+        handler.receiveMethodCall(MethodCallBuilder.methodWithArgs("callbackLast", "b"));
+        assertEquals("callbackLast b", service.called);
+        assertFalse(service.reflected);
+    }
+
+    @Test
+    public void testDispatchByMethodId() {
+        assertTrue(handler.bindMethodId(3, "callbackLast"));
+
+        /* The name is wrong on purpose, the id alone picks the method. */
+        handler.receiveMethodCall(new MethodCallBuilder().setName("noSuchMethod").setMethodId(3)
+                .setBody(new Object[]{"c"}).build());
+        assertEquals("callbackLast c", service.called);
+        assertFalse(service.reflected);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBindUnknownMethod() {
+        handler.bindMethodId(0, "noSuchMethod");
+    }
+
+    @Test
+    public void testCoercedArgsFallBackToBoon() {
+        final Response<Object> response = handler.receiveMethodCall(MethodCallBuilder.methodWithArgs("add", "1", "2"));
+        assertEquals(3, response.body());
+        assertTrue(service.reflected);
+    }
+
+    public static class MyService {
+        String called;
+        boolean reflected;
+
+        public void noArgs() {
+            record("noArgs");
+        }
+
+        public void callbackFirst(final Callback<String> callback, final String arg) {
+            record("callbackFirst " + arg);
+        }
+
+        public void callbackLast(final String arg, final Callback<String> callback) {
+            record("callbackLast " + arg);
+        }
+
+        public int add(final int a, final int b) {
+            record("add");
+            return a + b;
+        }
+
+        private void record(final String called) {
+            this.called = called;
+            reflected = false;
+            for (StackTraceElement element : new Throwable().getStackTrace()) {
+                if (element.getClassName().equals("java.lang.reflect.Method")) {
+                    reflected = true;
+                }
+            }
+        }
+    }
+}
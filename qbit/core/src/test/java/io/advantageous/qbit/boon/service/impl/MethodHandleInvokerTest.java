@@ -0,0 +1,112 @@
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.boon.core.reflection.MethodAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodHandleInvokerTest {
+
+    private MyService service;
+
+    @Before
+    public void setUp() {
+        service = new MyService();
+    }
+
+    @Test
+    public void testVoidMethod() throws Exception {
+        final MethodHandleInvoker invoker = invoker("method1");
+        assertTrue(invoker.accepts(new Object[0]));
+        assertNull(invoker.invoke(new Object[0]));
+        assertEquals(1, service.count);
+    }
+
+    @Test
+    public void testReturnValueAndPrimitives() throws Exception {
+        final MethodHandleInvoker invoker = invoker("add", int.class, long.class);
+
+        assertTrue(invoker.accepts(new Object[]{1, 2L}));
+        assertEquals(3L, invoker.invoke(new Object[]{1, 2L}));
+
+        /* These need Boon to coerce them. */
+        assertFalse(invoker.accepts(new Object[]{1, 2}));
+        assertFalse(invoker.accepts(new Object[]{null, 2L}));
+        assertFalse(invoker.accepts(new Object[]{1}));
+    }
+
+    @Test
+    public void testReferenceArguments() throws Exception {
+        final MethodHandleInvoker invoker = invoker("size", List.class);
+
+        assertTrue(invoker.accepts(new Object[]{null}));
+        assertTrue(invoker.accepts(new Object[]{Collections.singletonList("a")}));
+        assertFalse(invoker.accepts(new Object[]{"a"}));
+        assertEquals(1, invoker.invoke(new Object[]{Collections.singletonList("a")}));
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+
+        try {
+            invoker("fail").invoke(new Object[0]);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("fail", ex.getMessage());
+        }
+
+        try {
+            invoker("checked").invoke(new Object[0]);
+            fail();
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getCause() instanceof InvocationTargetException);
+            assertTrue(((InvocationTargetException) ex.getCause()).getTargetException() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testStaticNotSupported() throws Exception {
+        assertNull(invoker("staticMethod"));
+    }
+
+    private MethodHandleInvoker invoker(final String name, final Class<?>... types) throws Exception {
+        final MethodAccess methodAccess = mock(MethodAccess.class);
+        when(methodAccess.method()).thenReturn(MyService.class.getMethod(name, types));
+        return MethodHandleInvoker.invoker(service, methodAccess);
+    }
+
+    public static class MyService {
+        int count;
+
+        public void method1() {
+            count++;
+        }
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        public int size(List<String> list) {
+            return list == null ? 0 : list.size();
+        }
+
+        public void fail() {
+            throw new IllegalArgumentException("fail");
+        }
+
+        public void checked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        public static void staticMethod() {
+        }
+    }
+}
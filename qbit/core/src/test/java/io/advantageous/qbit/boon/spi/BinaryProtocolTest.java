@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.qbit.message.Message;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.impl.ResponseImpl;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import io.advantageous.qbit.spi.ProtocolParser;
+import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.MultiMapImpl;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BinaryProtocolTest {
+
+    @Test
+    public void testEncodeParseResponse() {
+
+        BoonBinaryProtocolEncoder encoder = new BoonBinaryProtocolEncoder();
+        ResponseImpl<Object> response = new ResponseImpl<>(1L, 2L, "addr", "Raddr", null, "body", null, true);
+
+        final byte[] bytes = encoder.encodeAsBytes(response);
+
+        ProtocolParser parser = new BoonBinaryProtocolParser();
+        assertTrue(parser.supports(bytes, null));
+        assertFalse(new BoonProtocolParser().supports(bytes, null));
+
+        final Response<Object> objectResponse = parser.parseResponse(bytes);
+
+        assertEquals(response.id(), objectResponse.id());
+        assertEquals(response.timestamp(), objectResponse.timestamp());
+        assertEquals(response.address(), objectResponse.address());
+        assertEquals(response.returnAddress(), objectResponse.returnAddress());
+        assertEquals("body", objectResponse.body().toString());
+        assertTrue(objectResponse.wasErrors());
+    }
+
+    @Test
+    public void testEncodeParseGroup() {
+
+        BoonBinaryProtocolEncoder encoder = new BoonBinaryProtocolEncoder();
+        ProtocolParser parser = new BoonBinaryProtocolParser();
+
+        @SuppressWarnings("unchecked") MultiMap<String, String> multiMap = new MultiMapImpl(ArrayList.class);
+        multiMap.add("fruit", "apple");
+        multiMap.add("fruit", "pear");
+        multiMap.put("veggies", "yuck");
+
+        MethodCall<Object> method1 = new MethodCallBuilder().setId(1L).setAddress("addr").setReturnAddress("return")
+                .setObjectName("object").setName("method").setTimestamp(100L)
+                .setBody(new Object[]{"arg", 5, null}).setParams(multiMap).setHeaders(multiMap).build();
+
+        MethodCall<Object> method2 = new MethodCallBuilder().setId(-1L).setName("foo").setBody("bar")
+                .setAddress("somebody").build();
+
+        ResponseImpl<Object> response = new ResponseImpl<>(7L, 8L, "addr", "return", null, null, null, false);
+
+        List<Message<Object>> messages = Arrays.asList(method1, method2, response);
+
+        final List<Message<Object>> parsed = parser.parse("", encoder.encodeAsBytes(messages));
+
+        assertEquals(3, parsed.size());
+
+        MethodCall<Object> call1 = (MethodCall<Object>) parsed.get(0);
+        assertEquals(1L, call1.id());
+        assertEquals("addr", call1.address());
+        assertEquals("return", call1.returnAddress());
+        assertEquals("object", call1.objectName());
+        assertEquals("method", call1.name());
+        assertEquals(100L, call1.timestamp());
+        assertEquals("apple", call1.params().getFirst("fruit"));
+        assertEquals("yuck", call1.headers().getFirst("veggies"));
+
+        Object[] args = (Object[]) call1.body();
+        assertEquals(3, args.length);
+        assertEquals("arg", args[0].toString());
+        assertEquals(5, ((Number) args[1]).intValue());
+        assertNull(args[2]);
+
+        MethodCall<Object> call2 = (MethodCall<Object>) parsed.get(1);
+        assertEquals(-1L, call2.id());
+        assertEquals("foo", call2.name());
+        assertEquals("bar", ((Object[]) call2.body())[0].toString());
+
+        Response<Object> parsedResponse = (Response<Object>) parsed.get(2);
+        assertEquals(7L, parsedResponse.id());
+        assertNull(parsedResponse.body());
+    }
+
+    @Test
+    public void testLargeFrameAndCustomCodec() {
+
+        BinaryBodyCodec codec = new BinaryBodyCodec() {
+            @Override
+            public byte[] encode(Object body) {
+                return body.toString().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Object decode(byte[] bytes, int offset, int length) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        };
+
+        StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < 10_000; index++) {
+            builder.append("\u00e9").append(index);
+        }
+        final String big = builder.toString();
+
+        MethodCall<Object> method = new MethodCallBuilder().setId(3L).setName("big").setAddress("addr")
+                .setBody(new Object[]{big}).build();
+
+        final byte[] bytes = new BoonBinaryProtocolEncoder(codec).encodeAsBytes(method);
+        final MethodCall<Object> parsed = new BoonBinaryProtocolParser(codec).parseMethodCall(bytes);
+
+        assertEquals(3L, parsed.id());
+        assertEquals(big, ((Object[]) parsed.body())[0]);
+    }
+
+    @Test
+    public void testOversizedBufferIsNotRetained() {
+
+        BinaryBodyCodec codec = new BinaryBodyCodec() {
+            @Override
+            public byte[] encode(Object body) {
+                return body.toString().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Object decode(byte[] bytes, int offset, int length) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        };
+
+        final char[] chars = new char[200_000];
+        Arrays.fill(chars, 'a');
+        final String huge = new String(chars);
+
+        final BoonBinaryProtocolEncoder encoder = new BoonBinaryProtocolEncoder(codec);
+        final BoonBinaryProtocolParser parser = new BoonBinaryProtocolParser(codec);
+
+        final byte[] bytes = encoder.encodeAsBytes(new MethodCallBuilder().setId(1L).setName("huge")
+                .setAddress("addr").setBody(new Object[]{huge}).build());
+        assertEquals(huge, ((Object[]) parser.parseMethodCall(bytes).body())[0]);
+        assertTrue(encoder.bufRef.get().capacity() < 200_000);
+
+        final byte[] small = encoder.encodeAsBytes(new MethodCallBuilder().setId(2L).setName("small")
+                .setAddress("addr").setBody(new Object[]{"small"}).build());
+        assertEquals("small", ((Object[]) parser.parseMethodCall(small).body())[0]);
+    }
+}
@@ -3,6 +3,9 @@ package io.advantageous.qbit.boon.spi;
 import io.advantageous.boon.core.reflection.BeanUtils;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -18,6 +21,9 @@ public class BoonJsonMapperTest {
         private String name;
         private Genre genre;
     }
+    public static class Tag {
+        private String name;
+    }
     public class Todo {
         private String name;
         private Category category;
@@ -50,4 +56,24 @@ public class BoonJsonMapperTest {
         assertEquals(String.class, jsonMap.get("name").getClass());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFromBytes() throws Exception {
+        Tag tag = new Tag();
+        tag.name = "caf\u00e9";
+
+        BoonJsonMapper boonJsonMapper = new BoonJsonMapper();
+
+        byte[] json = boonJsonMapper.toJson(tag).getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("caf\u00e9", boonJsonMapper.fromJson(json, Tag.class).name);
+        assertEquals("caf\u00e9", boonJsonMapper.fromJson(ByteBuffer.wrap(json), Tag.class).name);
+
+        Map<String, Object> jsonMap = boonJsonMapper.fromJsonMap(json, String.class, Object.class);
+        assertEquals("caf\u00e9", jsonMap.get("name"));
+
+        List<Tag> list = boonJsonMapper.fromJsonArray(("[" + new String(json, StandardCharsets.UTF_8) + "]")
+                .getBytes(StandardCharsets.UTF_8), Tag.class);
+        assertEquals("caf\u00e9", list.get(0).name);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.DeliveryPolicy;
+import io.advantageous.qbit.events.OverflowPolicy;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.service.stats.StatsCollector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundedSubscriberTest {
+
+    private List<Object> sent;
+    private List<Object> deadLetters;
+    private int pending;
+    private long dropped;
+    private SendQueue<Event<Object>> sendQueue;
+    private StatsCollector stats;
+
+    @Before
+    public void setup() {
+        sent = new ArrayList<>();
+        deadLetters = new ArrayList<>();
+        pending = 0;
+        dropped = 0;
+
+        sendQueue = new SendQueue<Event<Object>>() {
+            @Override
+            public boolean send(Event<Object> item) {
+                sent.add(item.body());
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return pending;
+            }
+        };
+
+        stats = new StatsCollector() {
+            @Override
+            public void recordCount(String key, long count) {
+                if (key.endsWith(".dropped")) {
+                    dropped += count;
+                }
+            }
+        };
+    }
+
+    private BoundedSubscriber subscriber(final OverflowPolicy overflowPolicy) {
+        return new BoundedSubscriber("test", sendQueue, true,
+                DeliveryPolicy.deliveryPolicy().setBufferSize(3).setMaxLag(10)
+                        .setOverflowPolicy(overflowPolicy).setBlockTimeoutMS(10)
+                        .setKeyExtractor(body -> body.toString().substring(0, 1)),
+                event -> deadLetters.add(event.body()), stats);
+    }
+
+    private static Event<Object> event(final Object body) {
+        return new EventTransferObject<>(body, 0, "test");
+    }
+
+    private void sendAll(final BoundedSubscriber subscriber, final String... bodies) {
+        for (String body : bodies) {
+            subscriber.listen(event(body));
+        }
+    }
+
+    @Test
+    public void testDeliversWhileKeepingUp() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.DROP_OLDEST);
+        sendAll(subscriber, "a1", "b1", "c1", "d1", "e1");
+
+        assertEquals(5, sent.size());
+        assertEquals(0, subscriber.buffered());
+    }
+
+    @Test
+    public void testDropOldest() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.DROP_OLDEST);
+        pending = 11;
+        sendAll(subscriber, "a1", "b1", "c1", "d1", "e1");
+
+        assertEquals(0, sent.size());
+        assertEquals(3, subscriber.buffered());
+        assertEquals(2, dropped);
+
+        pending = 0;
+        subscriber.drain();
+        assertEquals("[c1, d1, e1]", sent.toString());
+    }
+
+    @Test
+    public void testDropNewest() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.DROP_NEWEST);
+        pending = 11;
+        sendAll(subscriber, "a1", "b1", "c1", "d1", "e1");
+        assertEquals(2, dropped);
+
+        pending = 0;
+        subscriber.drain();
+        assertEquals("[a1, b1, c1]", sent.toString());
+    }
+
+    @Test
+    public void testConflate() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.CONFLATE);
+        pending = 11;
+        sendAll(subscriber, "a1", "b1", "c1", "a2", "b2", "d1");
+        assertEquals(3, dropped);
+
+        pending = 0;
+        subscriber.drain();
+        assertEquals("[b2, c1, d1]", sent.toString());
+    }
+
+    @Test
+    public void testDeadLetter() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.DEAD_LETTER);
+        pending = 11;
+        sendAll(subscriber, "a1", "b1", "c1", "d1", "e1");
+
+        assertEquals("[d1, e1]", deadLetters.toString());
+        assertEquals(3, subscriber.buffered());
+    }
+
+    @Test
+    public void testBlockGivesUpAfterTimeout() {
+        final BoundedSubscriber subscriber = subscriber(OverflowPolicy.BLOCK);
+        pending = 11;
+        sendAll(subscriber, "a1", "b1", "c1", "d1");
+
+        assertEquals("[a1]", sent.toString());
+        assertEquals(3, subscriber.buffered());
+        assertEquals(0, dropped);
+    }
+}
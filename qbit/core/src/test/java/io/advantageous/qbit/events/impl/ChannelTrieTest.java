@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.EventListener;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ChannelTrieTest {
+
+    private final EventListener<Object> a = event -> {
+    };
+    private final EventListener<Object> b = event -> {
+    };
+
+    @Test
+    public void testIsPattern() {
+        assertTrue(ChannelTrie.isPattern("orders.*"));
+        assertTrue(ChannelTrie.isPattern("#"));
+        assertTrue(ChannelTrie.isPattern("orders.#.created"));
+        assertFalse(ChannelTrie.isPattern("orders"));
+        assertFalse(ChannelTrie.isPattern("orders.eu*"));
+        assertFalse(ChannelTrie.isPattern("issue#42"));
+    }
+
+    @Test
+    public void testSingleWildcard() {
+        ChannelTrie<Object> trie = new ChannelTrie<>();
+        trie.add("orders.*.created", a);
+
+        assertEquals(1, trie.match("orders.eu.created").size());
+        assertEquals(0, trie.match("orders.created").size());
+        assertEquals(0, trie.match("orders.eu.west.created").size());
+        assertEquals(0, trie.match("orders.eu.deleted").size());
+    }
+
+    @Test
+    public void testMultiWildcard() {
+        ChannelTrie<Object> trie = new ChannelTrie<>();
+        trie.add("orders.#", a);
+        trie.add("#.created", b);
+
+        assertEquals(1, trie.match("orders").size());
+        assertEquals(2, trie.match("orders.eu.created").size());
+        assertEquals(1, trie.match("created").size());
+        assertEquals(0, trie.match("customers.eu").size());
+    }
+
+    @Test
+    public void testNoDuplicates() {
+        ChannelTrie<Object> trie = new ChannelTrie<>();
+        trie.add("#.#", a);
+        trie.add("a.#", a);
+
+        final List<EventListener<Object>> matches = trie.match("a.b.c");
+        assertEquals(1, matches.size());
+        assertSame(a, matches.get(0));
+    }
+
+    @Test
+    public void testRemove() {
+        ChannelTrie<Object> trie = new ChannelTrie<>();
+        trie.add("orders.*", a);
+        trie.add("orders.*", b);
+
+        assertTrue(trie.remove("orders.*", a));
+        assertFalse(trie.remove("orders.*", a));
+        assertFalse(trie.remove("customers.*", b));
+
+        final List<EventListener<Object>> matches = trie.match("orders.eu");
+        assertEquals(1, matches.size());
+        assertSame(b, matches.get(0));
+
+        assertTrue(trie.remove("orders.*", b));
+        assertTrue(trie.isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConflatingEventBufferTest {
+
+    private static final class Tick {
+        final String symbol;
+        final int price;
+
+        Tick(String symbol, int price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+
+        @Override
+        public String toString() {
+            return symbol + price;
+        }
+    }
+
+    @Test
+    public void testKeepsNewestPerKeyInFirstSeenOrder() {
+        final ConflatingEventBuffer buffer = new ConflatingEventBuffer(body -> ((Tick) body).symbol);
+
+        buffer.put(new Tick("IBM", 1));
+        buffer.put(new Tick("AAPL", 1));
+        buffer.put(new Tick("IBM", 2));
+        buffer.put(new Tick("MSFT", 1));
+        buffer.put(new Tick("IBM", 3));
+
+        assertEquals(3, buffer.size());
+        assertEquals("IBM3", buffer.get(0).toString());
+        assertEquals("AAPL1", buffer.get(1).toString());
+        assertEquals("MSFT1", buffer.get(2).toString());
+        assertEquals(2, buffer.takeConflatedCount());
+        assertEquals(0, buffer.takeConflatedCount());
+    }
+
+    @Test
+    public void testClearAndReuse() {
+        final ConflatingEventBuffer buffer = new ConflatingEventBuffer(body -> body, 2);
+
+        for (int round = 0; round < 3; round++) {
+            for (int index = 0; index < 100; index++) {
+                buffer.put(index % 40);
+            }
+            assertEquals(40, buffer.size());
+            for (int index = 0; index < 40; index++) {
+                assertEquals(index, buffer.get(index));
+            }
+            buffer.clear();
+            assertEquals(0, buffer.size());
+        }
+    }
+
+    @Test
+    public void testNullKey() {
+        final ConflatingEventBuffer buffer = new ConflatingEventBuffer(body -> null);
+        buffer.put("a");
+        buffer.put("b");
+
+        assertEquals(1, buffer.size());
+        assertEquals("b", buffer.get(0));
+    }
+}
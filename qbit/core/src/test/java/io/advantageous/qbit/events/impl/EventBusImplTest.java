@@ -103,4 +103,50 @@ public class EventBusImplTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testWildcardChannels() {
+
+        final EventSubscriber<Object> wildcard = new EventSubscriber<Object>() {
+            @Override
+            public void listen(Event<Object> event) {
+                subscriberMessageCount++;
+            }
+        };
+
+        /* Channel exists before the wildcard subscription. */
+        eventBus.send("orders.eu.created", "early");
+
+        eventBus.register("orders.*.created", wildcard);
+        eventBus.register("orders.#", callbackEventListener(o -> consumerCount++));
+
+        eventBus.send("orders.eu.created", "one");
+        eventBus.send("orders.us.created", "two");
+        eventBus.send("orders.us.deleted", "three");
+        eventBus.send("orders", "four");
+        eventBus.send("customers.eu.created", "five");
+
+        ok = subscriberMessageCount == 2 || die(subscriberMessageCount);
+        ok = consumerCount == 4 || die(consumerCount);
+
+        eventBus.unregister("orders.*.created", wildcard);
+        eventBus.send("orders.eu.created", "six");
+
+        ok = subscriberMessageCount == 2 || die(subscriberMessageCount);
+        ok = consumerCount == 5 || die(consumerCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWildcardConsumerNotAllowed() {
+        eventBus.register("orders.*", new EventConsumer<Object>() {
+            @Override
+            public boolean subscriber() {
+                return false;
+            }
+
+            @Override
+            public void listen(Event<Object> event) {
+            }
+        });
+    }
+
+}
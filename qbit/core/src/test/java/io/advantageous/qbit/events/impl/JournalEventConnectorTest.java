@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.qbit.events.EventListener;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JournalEventConnectorTest {
+
+    private final BinaryBodyCodec codec = new BinaryBodyCodec() {
+        @Override
+        public byte[] encode(Object body) {
+            return body.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] bytes, int offset, int length) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+    };
+
+    private File directory;
+    private JournalEventConnector journal;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("journal").toFile();
+        journal = new JournalEventConnector(directory, codec, 256, 0);
+    }
+
+    @After
+    public void tearDown() {
+        journal.stop();
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        directory.delete();
+    }
+
+    private void append(final int count) {
+        for (int index = 0; index < count; index++) {
+            journal.forwardEvent(new EventTransferObject<>("event" + index, index, "channel" + index % 3));
+        }
+        journal.flush();
+    }
+
+    private List<Event<Object>> replay(final long fromOffset) {
+        final List<Event<Object>> events = new ArrayList<>();
+        journal.replay(fromOffset, events::add);
+        return events;
+    }
+
+    @Test
+    public void testReplayAcrossSegments() {
+        append(50);
+
+        assertEquals(50, journal.nextOffset());
+        assertTrue(directory.listFiles().length > 1);
+
+        final List<Event<Object>> events = replay(0);
+        assertEquals(50, events.size());
+        for (int index = 0; index < 50; index++) {
+            assertEquals("event" + index, events.get(index).body());
+            assertEquals("channel" + index % 3, events.get(index).channel());
+            assertEquals(index, events.get(index).id());
+        }
+    }
+
+    @Test
+    public void testReplayFromOffset() {
+        append(50);
+
+        final List<Event<Object>> events = new ArrayList<>();
+        final long next = journal.replay(42, events::add);
+
+        assertEquals(50, next);
+        assertEquals(8, events.size());
+        assertEquals("event42", events.get(0).body());
+        assertEquals(0, replay(next).size());
+    }
+
+    @Test
+    public void testReplayIntoSendQueue() {
+        append(10);
+
+        final List<Object> received = new ArrayList<>();
+        final boolean[] flushed = new boolean[1];
+        journal.replay(5, new SendQueue<Event<Object>>() {
+            @Override
+            public boolean send(Event<Object> item) {
+                received.add(item.body());
+                return true;
+            }
+
+            @Override
+            public void flushSends() {
+                flushed[0] = true;
+            }
+        });
+
+        assertEquals("[event5, event6, event7, event8, event9]", received.toString());
+        assertTrue(flushed[0]);
+    }
+
+    @Test
+    public void testReopen() {
+        append(30);
+        journal.stop();
+
+        journal = new JournalEventConnector(directory, codec, 256, 0);
+        assertEquals(30, journal.nextOffset());
+
+        journal.forwardEvent(new EventTransferObject<>("after", 0, "restart"));
+        final List<Event<Object>> events = replay(28);
+        assertEquals(3, events.size());
+        assertEquals("after", events.get(2).body());
+        assertEquals(30, events.get(2).id());
+    }
+
+    @Test
+    public void testRetention() {
+        journal.stop();
+        journal = new JournalEventConnector(directory, codec, 256, 0, 512);
+
+        append(50);
+
+        assertEquals(2, directory.listFiles().length);
+        assertTrue(journal.firstOffset() > 0);
+
+        final List<Event<Object>> events = replay(0);
+        assertEquals(50 - journal.firstOffset(), events.size());
+        assertEquals(journal.firstOffset(), events.get(0).id());
+        assertEquals("event49", events.get(events.size() - 1).body());
+    }
+
+    @Test
+    public void testSubscribeReplaysThenDeliversLive() {
+        append(10);
+
+        final List<Event<Object>> events = new ArrayList<>();
+        final EventListener<Object> listener = events::add;
+        journal.subscribe(5, listener);
+        assertEquals(5, events.size());
+
+        /* The bus id is not the journal offset, subscribers must see the offset. */
+        journal.forwardEvent(new EventTransferObject<>("live", 1000, "live"));
+        journal.forwardEvent(new EventTransferObject<>("live", 1001, "live"));
+
+        assertEquals(7, events.size());
+        for (int index = 0; index < events.size(); index++) {
+            assertEquals(5 + index, events.get(index).id());
+        }
+
+        journal.unsubscribe(listener);
+        final List<Event<Object>> other = new ArrayList<>();
+        journal.subscribe(12, other::add);
+        journal.forwardEvent(new EventTransferObject<>("after", 1002, "live"));
+        assertEquals(7, events.size());
+        assertEquals(1, other.size());
+        assertEquals(12, other.get(0).id());
+    }
+
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        journal.stop();
+        journal = new JournalEventConnector(directory, codec, 4096, 0);
+
+        final int threadCount = 4;
+        final int eventsPerThread = 500;
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            final String channel = "partition" + thread;
+            threads.add(new Thread(() -> {
+                for (int index = 0; index < eventsPerThread; index++) {
+                    journal.forwardEvent(new EventTransferObject<>(channel + ":" + index, index, channel));
+                    if (index % 10 == 0) {
+                        journal.flush();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        journal.stop();
+
+        /* Every record must still check out when the journal is opened again. */
+        journal = new JournalEventConnector(directory, codec, 4096, 0);
+        assertEquals(threadCount * eventsPerThread, journal.nextOffset());
+
+        final int[] next = new int[threadCount];
+        for (Event<Object> event : replay(0)) {
+            final int thread = Integer.parseInt(event.channel().substring("partition".length()));
+            assertEquals(event.channel() + ":" + next[thread]++, event.body());
+        }
+        for (int thread = 0; thread < threadCount; thread++) {
+            assertEquals(eventsPerThread, next[thread]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEventTooBig() {
+        final StringBuilder body = new StringBuilder();
+        for (int index = 0; index < 300; index++) {
+            body.append('x');
+        }
+        journal.forwardEvent(new EventTransferObject<>(body.toString(), 0, "big"));
+    }
+}
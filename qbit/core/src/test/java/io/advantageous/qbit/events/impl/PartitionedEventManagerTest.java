@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.events.impl;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.events.EventManager;
+import io.advantageous.qbit.events.EventSubscriber;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.service.ServiceProxyUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.advantageous.qbit.events.EventManagerBuilder.eventManagerBuilder;
+import static org.junit.Assert.*;
+
+public class PartitionedEventManagerTest {
+
+    private static final int CHANNELS = 10;
+    private static final int EVENTS_PER_CHANNEL = 100;
+
+    private EventManager eventManager;
+
+    @Before
+    public void setup() {
+        eventManager = eventManagerBuilder().setName("partitioned").setPartitionCount(4).build();
+    }
+
+    @After
+    public void tearDown() {
+        ((PartitionedEventManager) eventManager).stop();
+    }
+
+    @Test
+    public void testPartition() {
+        PartitionedEventManager partitioned = (PartitionedEventManager) eventManager;
+        assertEquals(4, partitioned.partitionCount());
+
+        for (int index = 0; index < 100; index++) {
+            final int partition = partitioned.partition("channel" + index);
+            assertTrue(partition >= 0 && partition < 4);
+            assertEquals(partition, partitioned.partition("channel" + index));
+        }
+    }
+
+    @Test
+    public void testOrderPerChannel() {
+
+        final Map<String, List<Object>> received = new ConcurrentHashMap<>();
+
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            final String channelName = "channel" + channel;
+            final List<Object> events = new CopyOnWriteArrayList<>();
+            received.put(channelName, events);
+            eventManager.register(channelName, new EventSubscriber<Object>() {
+                @Override
+                public void listen(Event<Object> event) {
+                    events.add(event.body());
+                }
+            });
+        }
+        ServiceProxyUtils.flushServiceProxy(eventManager);
+        Sys.sleep(100);
+
+        for (int index = 0; index < EVENTS_PER_CHANNEL; index++) {
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                eventManager.send("channel" + channel, index);
+            }
+        }
+        ServiceProxyUtils.flushServiceProxy(eventManager);
+
+        for (int tries = 0; tries < 50; tries++) {
+            Sys.sleep(100);
+            if (received.values().stream().allMatch(events -> events.size() == EVENTS_PER_CHANNEL)) {
+                break;
+            }
+        }
+
+        for (List<Object> events : received.values()) {
+            assertEquals(EVENTS_PER_CHANNEL, events.size());
+            for (int index = 0; index < EVENTS_PER_CHANNEL; index++) {
+                assertEquals(index, events.get(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.meta.provider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UriRouterTest {
+
+    private UriRouter<String> router;
+    private PathMatch match;
+
+    @Before
+    public void setUp() {
+        router = new UriRouter<>();
+        match = new PathMatch();
+
+        router.add("/services/employee/list", "list");
+        router.add("/services/employee/{id}", "byId");
+        router.add("/services/employee/{id}/phone/{phoneId}", "phone");
+        router.add("/services/employee/{0}/address", "address");
+        router.add("/services/dept/", "deptRoot");
+    }
+
+    @Test
+    public void testLiteral() {
+        assertEquals("list", router.route("/services/employee/list", match));
+        assertEquals("list", router.route("/Services/EMPLOYEE/List", match));
+        assertEquals("deptRoot", router.route("/services/dept/", match));
+        assertNull(router.route("/services/dept", match));
+        assertNull(router.route("/services/employee/list/more/than/that", match));
+    }
+
+    @Test
+    public void testPathParams() {
+        assertEquals("byId", router.route("/services/employee/42", match));
+        assertEquals("42", match.part(3));
+
+        assertEquals("phone", router.route("/services/employee/42/Phone/7", match));
+        assertEquals("42", match.part(3));
+        assertEquals("7", match.part(5));
+        assertEquals(6, match.partCount());
+        assertEquals("/services/employee/42/Phone/".length(), match.start(5));
+    }
+
+    @Test
+    public void testBacktracksFromLiteralToParam() {
+        /* "list" is a literal at this level, but only {0} continues with address. */
+        assertEquals("address", router.route("/services/employee/list/address", match));
+        assertEquals("list", match.part(3));
+        assertNull(router.route("/services/employee/42/fax", match));
+    }
+
+    @Test
+    public void testReplace() {
+        router.add("/services/employee/list", "list2");
+        assertEquals("list2", router.route("/services/employee/list", match));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.meta.transformer;
+
+import io.advantageous.qbit.annotation.RequestMethod;
+import io.advantageous.qbit.http.request.HttpRequest;
+import io.advantageous.qbit.http.request.HttpRequestBuilder;
+import io.advantageous.qbit.meta.CallType;
+import io.advantageous.qbit.meta.ParameterMeta;
+import io.advantageous.qbit.meta.RequestMeta;
+import io.advantageous.qbit.meta.RequestMetaData;
+import io.advantageous.qbit.meta.provider.PathMatch;
+import io.advantageous.qbit.meta.provider.UriRouter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.advantageous.qbit.meta.ParameterMeta.intParam;
+import static io.advantageous.qbit.meta.ParameterMeta.stringParam;
+import static io.advantageous.qbit.meta.params.Param.*;
+import static org.junit.Assert.assertEquals;
+
+public class RequestBinderTest {
+
+    private static final String PATH = "/services/employee/{id}/phone/{1}";
+
+    private RequestBinder binder;
+    private UriRouter<RequestMetaData> router;
+    private PathMatch match;
+
+    @Before
+    public void setUp() {
+        final List<ParameterMeta> parameters = Arrays.asList(
+                stringParam(pathParamRequired("id", 3)),
+                intParam(pathParam(1, 5)),
+                stringParam(requestParamRequired("name")),
+                stringParam(headParam("region", "us%20west")));
+
+        final RequestMeta requestMeta = new RequestMeta(CallType.ADDRESS_WITH_PATH_PARAMS,
+                Collections.singletonList(RequestMethod.GET), PATH, parameters);
+        final RequestMetaData metaData = new RequestMetaData(PATH, null, requestMeta, null, null);
+
+        binder = RequestBinder.compile(metaData);
+        router = new UriRouter<>();
+        router.add(PATH, metaData);
+        match = new PathMatch();
+    }
+
+    private HttpRequest request(final String uri, final String name) {
+        final HttpRequestBuilder requestBuilder = new HttpRequestBuilder();
+        requestBuilder.setUri(uri);
+        if (name != null) {
+            requestBuilder.addParam("name", name);
+        }
+        return requestBuilder.build();
+    }
+
+    @Test
+    public void testBind() {
+        final HttpRequest request = request("/services/employee/42/phone/7", "Rick+Hightower");
+        router.route(request.address(), match);
+
+        final List<String> errors = new ArrayList<>();
+        final List<Object> args = binder.bind(request, match, null, errors);
+
+        assertEquals(0, errors.size());
+        assertEquals(Arrays.asList("42", "7", "Rick Hightower", "us west"), args);
+    }
+
+    @Test
+    public void testMissingRequiredStopsBinding() {
+        final HttpRequest request = request("/services/employee/42/phone/7", null);
+        router.route(request.address(), match);
+
+        final List<String> errors = new ArrayList<>();
+        final List<Object> args = binder.bind(request, match, null, errors);
+
+        assertEquals(1, errors.size());
+        assertEquals(2, args.size());
+    }
+
+    @Test
+    public void testDecodeOnlyWhenEncoded() {
+        final String plain = "plain";
+        assertEquals(plain, RequestBinder.decodeURLEncoding(plain));
+        assertEquals("a b/c", RequestBinder.decodeURLEncoding("a%20b%2Fc"));
+    }
+}
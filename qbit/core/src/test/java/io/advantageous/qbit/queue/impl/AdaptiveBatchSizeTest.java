@@ -0,0 +1,78 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.queue.impl.sender.AbstractBasicSendQueue;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveBatchSizeTest {
+
+    @Test
+    public void testGrowWhileConsumerIsBehind() throws Exception {
+
+        final Queue<Object> queue = QueueBuilder.queueBuilder().setName("adaptive")
+                .setAdaptiveBatchSize(2, 64).build();
+
+        final SendQueue<Object> sendQueue = queue.sendQueue();
+        final AbstractBasicSendQueue<Object> basicSendQueue = (AbstractBasicSendQueue<Object>) sendQueue;
+
+        assertEquals(2, basicSendQueue.currentBatchSize());
+
+        /* Nobody is reading so every full batch finds the last one still in the queue. */
+        for (int index = 0; index < 1_000; index++) {
+            sendQueue.send(index);
+        }
+        assertEquals(64, basicSendQueue.currentBatchSize());
+
+        sendQueue.flushSends();
+        final ReceiveQueue<Object> receiveQueue = queue.receiveQueue();
+        int count = 0;
+        while (receiveQueue.poll() != null) {
+            count++;
+        }
+        assertEquals(1_000, count);
+    }
+
+    @Test
+    public void testShrinkOnEarlyFlush() throws Exception {
+
+        final Queue<Object> queue = QueueBuilder.queueBuilder().setName("adaptive")
+                .setAdaptiveBatchSize(2, 64).build();
+
+        final SendQueue<Object> sendQueue = queue.sendQueue();
+        final AbstractBasicSendQueue<Object> basicSendQueue = (AbstractBasicSendQueue<Object>) sendQueue;
+
+        for (int index = 0; index < 200; index++) {
+            sendQueue.send(index);
+        }
+        final int grown = basicSendQueue.currentBatchSize();
+        assertTrue(grown > 2);
+
+        sendQueue.sendAndFlush("one");
+        assertEquals(grown / 2, basicSendQueue.currentBatchSize());
+
+        for (int index = 0; index < 10; index++) {
+            sendQueue.sendAndFlush(index);
+        }
+        assertEquals(2, basicSendQueue.currentBatchSize());
+    }
+
+    @Test
+    public void testFixedBatchSize() throws Exception {
+
+        final Queue<Object> queue = QueueBuilder.queueBuilder().setName("fixed")
+                .setBatchSize(10).build();
+
+        final AbstractBasicSendQueue<Object> sendQueue = (AbstractBasicSendQueue<Object>) queue.sendQueue();
+
+        for (int index = 0; index < 100; index++) {
+            sendQueue.send(index);
+        }
+        sendQueue.sendAndFlush("one");
+        assertEquals(10, sendQueue.currentBatchSize());
+    }
+}
@@ -0,0 +1,117 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.SendQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventLoopGroupTest {
+
+    private EventLoopGroup eventLoopGroup;
+
+    @Before
+    public void setup() {
+        eventLoopGroup = new EventLoopGroup("test", 2, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        eventLoopGroup.stop();
+    }
+
+    @Test
+    public void manyQueuesFewThreads() throws Exception {
+
+        final int queueCount = 20;
+        final int amount = 1_000;
+        final CountDownLatch latch = new CountDownLatch(queueCount);
+        final Set<Thread> allThreads = ConcurrentHashMap.newKeySet();
+        final List<Queue<String>> queues = new ArrayList<>();
+        final AtomicInteger wrongThread = new AtomicInteger();
+
+        for (int index = 0; index < queueCount; index++) {
+
+            final Queue<String> queue = QueueBuilder.queueBuilder().setName("queue" + index)
+                    .setBatchSize(10).setEventLoopGroup(eventLoopGroup).build();
+
+            queue.startListener(new ReceiveQueueListener<String>() {
+                Thread thread;
+                int count;
+
+                @Override
+                public void init() {
+                    thread = Thread.currentThread();
+                    allThreads.add(thread);
+                }
+
+                @Override
+                public void receive(String item) {
+                    if (Thread.currentThread() != thread) {
+                        wrongThread.incrementAndGet();
+                    }
+                    count++;
+                    if (count == amount) {
+                        latch.countDown();
+                    }
+                }
+            });
+            queues.add(queue);
+        }
+
+        for (Queue<String> queue : queues) {
+            final SendQueue<String> sendQueue = queue.sendQueue();
+            for (int index = 0; index < amount; index++) {
+                sendQueue.send("" + index);
+            }
+            sendQueue.flushSends();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, wrongThread.get());
+        assertEquals(2, allThreads.size());
+    }
+
+    @Test
+    public void idleAndShutdown() throws Exception {
+
+        final CountDownLatch idle = new CountDownLatch(2);
+        final CountDownLatch shutdown = new CountDownLatch(1);
+
+        final Queue<String> queue = QueueBuilder.queueBuilder().setName("idle")
+                .setPollWait(10).setEventLoopGroup(eventLoopGroup).build();
+
+        queue.startListener(new ReceiveQueueListener<String>() {
+            @Override
+            public void receive(String item) {
+            }
+
+            @Override
+            public void idle() {
+                idle.countDown();
+            }
+
+            @Override
+            public void shutdown() {
+                shutdown.countDown();
+            }
+        });
+
+        assertTrue(idle.await(5, TimeUnit.SECONDS));
+        queue.stop();
+        assertTrue(shutdown.await(5, TimeUnit.SECONDS));
+    }
+}
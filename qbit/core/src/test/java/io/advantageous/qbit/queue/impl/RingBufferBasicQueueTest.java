@@ -0,0 +1,24 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.QueueBuilder;
+import org.junit.Before;
+
+import java.util.concurrent.TimeUnit;
+
+public class RingBufferBasicQueueTest extends BasicSendReceiveTest {
+
+
+
+    @Before
+    public void setup() {
+
+        final QueueBuilder queueBuilder = QueueBuilder.queueBuilder();
+
+        queue = queueBuilder.setRingBufferQueue().setBatchSize(50)
+                .setName("Queue test").setPollTimeUnit(TimeUnit.MILLISECONDS)
+                .setPollWait(50).build();
+
+        receiveQueue = queue.receiveQueue();
+        sendQueue = queue.sendQueue();
+    }
+}
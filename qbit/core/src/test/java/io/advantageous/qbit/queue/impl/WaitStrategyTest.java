@@ -0,0 +1,89 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.*;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WaitStrategyTest {
+
+
+    @Test
+    public void timedPoll() {
+        testStrategy(new TimedPollWaitStrategy());
+    }
+
+    @Test
+    public void busySpin() {
+        testStrategy(new BusySpinWaitStrategy(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void yielding() {
+        testStrategy(new YieldingWaitStrategy(100, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void parking() {
+        testStrategy(new ParkingWaitStrategy(1_000, 100_000, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void listenerWithBusySpin() throws Exception {
+
+        final Queue<String> queue = QueueBuilder.queueBuilder().setRingBufferQueue().setBatchSize(10)
+                .setName("Wait strategy test")
+                .setWaitStrategy(new BusySpinWaitStrategy(10, TimeUnit.MILLISECONDS)).build();
+
+        final int amount = 1_000;
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicInteger idleCount = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        queue.startListener(new ReceiveQueueListener<String>() {
+            @Override
+            public void receive(String item) {
+                if (count.incrementAndGet() == amount) {
+                    latch.countDown();
+                }
+            }
+
+            @Override
+            public void idle() {
+                idleCount.incrementAndGet();
+            }
+        });
+
+        final SendQueue<String> sendQueue = queue.sendQueue();
+        for (int index = 0; index < amount; index++) {
+            sendQueue.send("" + index);
+        }
+        sendQueue.flushSends();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertTrue(idleCount.get() > 0);
+        queue.stop();
+    }
+
+    private void testStrategy(final WaitStrategy waitStrategy) {
+
+        final Queue<String> queue = QueueBuilder.queueBuilder().setName("Wait strategy test")
+                .setPollWait(10).setWaitStrategy(waitStrategy).build();
+
+        final ReceiveQueue<String> receiveQueue = queue.receiveQueue();
+        final SendQueue<String> sendQueue = queue.sendQueue();
+
+        assertNull(waitStrategy.waitForItem(receiveQueue));
+
+        sendQueue.sendAndFlush("hi");
+        assertEquals("hi", waitStrategy.waitForItem(receiveQueue));
+        assertTrue(waitStrategy.toString() != null);
+    }
+}
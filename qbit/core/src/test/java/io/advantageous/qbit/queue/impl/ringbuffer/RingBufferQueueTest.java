@@ -0,0 +1,128 @@
+package io.advantageous.qbit.queue.impl.ringbuffer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RingBufferQueueTest {
+
+
+    @Test
+    public void capacityIsRoundedToPowerOfTwo() {
+        assertEquals(1, new MpscRingBufferQueue(1).capacity());
+        assertEquals(8, new MpscRingBufferQueue(5).capacity());
+        assertEquals(1024, new SpscRingBufferQueue(1000).capacity());
+        assertEquals(1024, new SpscRingBufferQueue(1024).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badCapacity() {
+        new MpscRingBufferQueue(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void noNulls() {
+        new MpscRingBufferQueue(4).offer(null);
+    }
+
+    @Test
+    public void fullAndWrapAroundMpsc() {
+        fullAndWrapAround(new MpscRingBufferQueue(4));
+    }
+
+    @Test
+    public void fullAndWrapAroundSpsc() {
+        fullAndWrapAround(new SpscRingBufferQueue(4));
+    }
+
+    private void fullAndWrapAround(final AbstractRingBufferQueue queue) {
+
+        for (int round = 0; round < 10; round++) {
+            assertTrue(queue.isEmpty());
+            assertNull(queue.poll());
+
+            for (int index = 0; index < 4; index++) {
+                assertTrue(queue.offer("" + index));
+            }
+
+            assertFalse(queue.offer("full"));
+            assertEquals(4, queue.size());
+            assertEquals(0, queue.remainingCapacity());
+            assertEquals("0", queue.peek());
+
+            for (int index = 0; index < 4; index++) {
+                assertEquals("" + index, queue.poll());
+            }
+        }
+    }
+
+    @Test
+    public void pollWithTimeout() throws Exception {
+        final MpscRingBufferQueue queue = new MpscRingBufferQueue(4);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        queue.offer("hi");
+        assertEquals("hi", queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void offerWithTimeoutWhenFull() throws Exception {
+        final SpscRingBufferQueue queue = new SpscRingBufferQueue(1);
+        assertTrue(queue.offer("a", 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("b", 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void drainTo() {
+        final MpscRingBufferQueue queue = new MpscRingBufferQueue(16);
+        for (int index = 0; index < 10; index++) {
+            queue.offer(index);
+        }
+        final List<Object> list = new ArrayList<>();
+        assertEquals(3, queue.drainTo(list, 3));
+        assertEquals(7, queue.drainTo(list));
+        assertEquals(10, list.size());
+        assertEquals(9, list.get(9));
+    }
+
+    @Test
+    public void manyProducers() throws Exception {
+
+        final MpscRingBufferQueue queue = new MpscRingBufferQueue(128);
+        final int producers = 4;
+        final int amount = 100_000;
+        final CountDownLatch latch = new CountDownLatch(producers);
+
+        for (int producer = 0; producer < producers; producer++) {
+            final long base = producer * (long) amount;
+            new Thread(() -> {
+                try {
+                    for (int index = 0; index < amount; index++) {
+                        queue.put(base + index);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.interrupted();
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        final long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+
+        for (int index = 0; index < producers * amount; index++) {
+            final long value = (Long) queue.take();
+            final int producer = (int) (value / amount);
+            assertTrue("per producer order kept", value > lastSeen[producer]);
+            lastSeen[producer] = value;
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.isEmpty());
+    }
+}
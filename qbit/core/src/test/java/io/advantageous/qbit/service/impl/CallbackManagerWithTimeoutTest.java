@@ -7,6 +7,7 @@ import io.advantageous.qbit.message.MethodCallBuilder;
 import io.advantageous.qbit.message.ResponseBuilder;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.reactive.CallbackBuilder;
+import io.advantageous.qbit.reactive.impl.AsyncFutureCallbackImpl;
 import io.advantageous.qbit.service.*;
 import io.advantageous.qbit.util.TestTimer;
 import org.junit.Before;
@@ -14,6 +15,7 @@ import org.junit.Test;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
@@ -144,6 +146,76 @@ public class CallbackManagerWithTimeoutTest {
 
 
 
+    }
+
+    @Test
+    public void testPerCallTimeout() {
+
+        callbackManager = CallbackManagerBuilder.callbackManagerBuilder()
+                .setTimeOutMS(60_000).setCheckInterval(1_000).setHandleTimeouts(true)
+                .setTimer(testTimer).setName("testBuilder").build();
+        callbackManagerWithTimeout = ((CallbackManagerWithTimeout) callbackManager);
+
+        final AtomicInteger timeOutCount = new AtomicInteger();
+        callbackBuilder.setCallback(Object.class, result::set);
+
+        for (int index = 0; index < 20; index++) {
+            methodCallBuilder.setAddress("/hello/world");
+            methodCallBuilder.setName("foo");
+            methodCallBuilder.setTimestamp(testTimer.now());
+            methodCallBuilder.setId(index);
+
+            /* Even calls have their own 5 second timeout, odd calls use the 60 second default. */
+            final Callback<Object> callback = index % 2 == 0 ?
+                    AsyncFutureCallbackImpl.callback(callbackBuilder.build(), testTimer.now(), 5_000,
+                            null, timeOutCount::incrementAndGet, null) :
+                    callbackBuilder.build();
+
+            methodCallBuilder.setBody(Lists.list(callback));
+            callbackManager.registerCallbacks(methodCallBuilder.build());
+        }
+
+        assertEquals(20, callbackManagerWithTimeout.outstandingCallbacksCount());
+        testTimer.seconds(2);
+        callbackManagerWithTimeout.process(0);
+        assertEquals(20, callbackManagerWithTimeout.outstandingCallbacksCount());
+        testTimer.seconds(4);
+        callbackManagerWithTimeout.process(0);
+        assertEquals(10, callbackManagerWithTimeout.outstandingCallbacksCount());
+        assertEquals(10, timeOutCount.get());
+        testTimer.seconds(60);
+        callbackManagerWithTimeout.process(0);
+        assertEquals(0, callbackManagerWithTimeout.outstandingCallbacksCount());
+        assertEquals(10, timeOutCount.get());
+
+    }
+
+    @Test
+    public void testResponseBeforeTimeout() {
+
+        callbackManager = CallbackManagerBuilder.callbackManagerBuilder()
+                .setTimeOutMS(5_000).setCheckInterval(1_000).setHandleTimeouts(true)
+                .setTimer(testTimer).setName("testBuilder").build();
+        callbackManagerWithTimeout = ((CallbackManagerWithTimeout) callbackManager);
+
+        final AtomicInteger timeOutCount = new AtomicInteger();
+        methodCallBuilder.setAddress("/hello/world");
+        methodCallBuilder.setName("foo");
+        methodCallBuilder.setTimestamp(testTimer.now());
+        callbackBuilder.setCallback(Object.class, result::set);
+        callbackBuilder.setOnTimeout(timeOutCount::incrementAndGet);
+        methodCallBuilder.setBody(Lists.list(callbackBuilder.build()));
+
+        final MethodCall<Object> methodCall = methodCallBuilder.build();
+        callbackManager.registerCallbacks(methodCall);
+        callbackManager.handleResponse(ResponseBuilder.fromMethodCall(methodCall, "GOT IT"));
+
+        testTimer.seconds(10);
+        callbackManagerWithTimeout.process(0);
+        assertEquals("GOT IT", result.get());
+        assertEquals(0, timeOutCount.get());
+        assertEquals(0, callbackManagerWithTimeout.outstandingCallbacksCount());
+
     }
 
     public static class MyService {
@@ -136,6 +136,47 @@ public class ServiceBundleImplTest {
     }
 
 
+    @Test
+    public void testMethodId() throws Exception {
+
+        try {
+            serviceBundle.methodId("mockService", "method1");
+            Assert.fail();
+        } catch (IllegalStateException ex) {
+            /* Service not added yet. */
+        }
+
+        serviceBundle.addService(new MockService());
+
+        try {
+            serviceBundle.methodId("mockService", "noSuchMethod");
+            Assert.fail();
+        } catch (IllegalStateException ex) {
+            /* Expected. */
+        }
+
+        final int method1 = serviceBundle.methodId("mockService", "method1");
+        final int method2 = serviceBundle.methodId("mockService", "method2");
+
+        Assert.assertTrue(method1 >= 0);
+        Assert.assertTrue(method1 != method2);
+        Assert.assertEquals(method1, serviceBundle.methodId("mockService", "method1"));
+
+        proxy = serviceBundle.createLocalProxy(MockServiceInterface.class, "mockService");
+        serviceBundle.startReturnHandlerProcessor();
+
+        AtomicInteger returnValue = new AtomicInteger();
+        proxy.method1();
+        proxy.method2(returnValue::set);
+        proxy.clientProxyFlush();
+
+        Sys.sleep(1000);
+
+        ok = callCount == 2 || die(callCount);
+        ok = returnValue.get() == 2 || die(returnValue.get());
+    }
+
+
     @Test
     public void testCallbackWithCallBackInService() throws Exception {
 
@@ -27,6 +27,9 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -105,6 +108,31 @@ public class ServiceImplTest {
         ok = returnString.get().equals("hello") || die();
     }
 
+    @Test
+    public void testMethodCallPool() throws Exception {
+
+        final Set<Object> methodCalls = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        serviceQueue = new ServiceBuilder().setServiceObject(new MockService())
+                .setMethodCallPoolSize(100)
+                .setBeforeMethodCall(methodCall -> {
+                    methodCalls.add(methodCall);
+                    return true;
+                }).build().startServiceQueue();
+        proxy = serviceQueue.createProxy(MockServiceInterface.class);
+
+        for (int index = 0; index < 10; index++) {
+            proxy.method1();
+            proxy.clientProxyFlush();
+            Sys.sleep(100);
+        }
+
+        ok = callCount == 10 || die(callCount);
+
+        /* The calls went back to the proxy so the same one got used over and over. */
+        ok = methodCalls.size() < 10 || die(methodCalls.size());
+    }
+
     @After
     public void tearDown() {
         callCount = 0;
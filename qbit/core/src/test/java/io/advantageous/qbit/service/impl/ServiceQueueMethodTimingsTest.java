@@ -0,0 +1,158 @@
+package io.advantageous.qbit.service.impl;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.service.ServiceBuilder;
+import io.advantageous.qbit.service.ServiceQueue;
+import io.advantageous.qbit.service.stats.StatsCollector;
+import io.advantageous.qbit.service.stats.TimingHistogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ServiceQueueMethodTimingsTest {
+
+    Map<String, TimingHistogram> timings;
+    StatsCollector statsCollector;
+    ServiceQueue serviceQueue;
+    AtomicInteger callCount;
+
+    @Before
+    public void setUp() throws Exception {
+        timings = new ConcurrentHashMap<>();
+        callCount = new AtomicInteger();
+        statsCollector = new StatsCollector() {
+            @Override
+            public void recordTimings(String name, TimingHistogram histogram) {
+                timings.computeIfAbsent(name, key -> new TimingHistogram()).merge(histogram);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (serviceQueue != null) {
+            serviceQueue.stop();
+        }
+    }
+
+    @Test
+    public void testProxyCallsAreSampled() throws Exception {
+        serviceQueue = new ServiceBuilder().setServiceObject(new MockService())
+                .registerMethodTimings("mock", statsCollector, 1000, 3)
+                .build().startServiceQueue();
+        final MockServiceInterface proxy = serviceQueue.createProxy(MockServiceInterface.class);
+
+        for (int index = 0; index < 9; index++) {
+            proxy.method1();
+        }
+        proxy.clientProxyFlush();
+        waitForCalls(9);
+        stop();
+
+        assertEquals(3, count("mock.method1.queueWait"));
+        assertEquals(3, count("mock.method1.serviceTime"));
+
+        /* method1 sends no response. */
+        assertEquals(0, count("mock.method1.responseWait"));
+    }
+
+    @Test
+    public void testCallbackResponseWait() throws Exception {
+        serviceQueue = new ServiceBuilder().setServiceObject(new MockService())
+                .registerMethodTimings("mock", statsCollector, 1000, 1)
+                .build().startServiceQueue();
+        serviceQueue.startCallBackHandler();
+        final MockServiceInterface proxy = serviceQueue.createProxy(MockServiceInterface.class);
+
+        final AtomicInteger responses = new AtomicInteger();
+        proxy.methodWithCallBack(s -> responses.incrementAndGet(), "hello");
+        proxy.methodWithCallBack(s -> responses.incrementAndGet(), "hello");
+        proxy.clientProxyFlush();
+        for (int index = 0; index < 100 && responses.get() < 2; index++) {
+            Sys.sleep(10);
+        }
+        assertEquals(2, responses.get());
+        stop();
+
+        assertEquals(2, count("mock.methodWithCallBack.queueWait"));
+        assertEquals(2, count("mock.methodWithCallBack.serviceTime"));
+        assertEquals(2, count("mock.methodWithCallBack.responseWait"));
+    }
+
+    @Test
+    public void testPooledCallsDoNotKeepTimestamps() throws Exception {
+        final Set<Object> methodCalls = Collections.newSetFromMap(new IdentityHashMap<>());
+        serviceQueue = new ServiceBuilder().setServiceObject(new MockService())
+                .setMethodCallPoolSize(100)
+                .setBeforeMethodCall(methodCall -> {
+                    methodCalls.add(methodCall);
+                    return true;
+                })
+                .registerMethodTimings("mock", statsCollector, 1000, 2)
+                .build().startServiceQueue();
+        final MockServiceInterface proxy = serviceQueue.createProxy(MockServiceInterface.class);
+
+        for (int index = 0; index < 10; index++) {
+            proxy.method1();
+            proxy.clientProxyFlush();
+            waitForCalls(index + 1);
+            Sys.sleep(10);
+        }
+        stop();
+
+        /* The same calls were sent again, a stamp left over from an earlier send would time every call. */
+        assertTrue(methodCalls.size() < 10);
+        assertEquals(5, count("mock.method1.queueWait"));
+        assertEquals(5, count("mock.method1.serviceTime"));
+    }
+
+    private void waitForCalls(final int calls) {
+        for (int index = 0; index < 100 && callCount.get() < calls; index++) {
+            Sys.sleep(10);
+        }
+        assertEquals(calls, callCount.get());
+    }
+
+    /**
+     * Stopping the service queue flushes the timings from the service thread.
+     */
+    private void stop() {
+        serviceQueue.stop();
+        serviceQueue = null;
+        Sys.sleep(200);
+    }
+
+    private long count(final String name) {
+        final TimingHistogram histogram = timings.get(name);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    interface MockServiceInterface {
+        void method1();
+
+        void methodWithCallBack(Callback<String> callback, String hi);
+
+        void clientProxyFlush();
+    }
+
+    class MockService {
+        public void method1() {
+            callCount.incrementAndGet();
+        }
+
+        public void methodWithCallBack(Callback<String> callback, String hi) {
+            callCount.incrementAndGet();
+            callback.accept(hi);
+        }
+    }
+}
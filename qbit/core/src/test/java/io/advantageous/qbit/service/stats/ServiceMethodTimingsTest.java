@@ -0,0 +1,72 @@
+package io.advantageous.qbit.service.stats;
+
+import io.advantageous.qbit.util.Timer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ServiceMethodTimingsTest {
+
+    Map<String, TimingHistogram> timings;
+    ServiceMethodTimings methodTimings;
+
+    @Before
+    public void setUp() throws Exception {
+        timings = new HashMap<>();
+        final StatsCollector collector = new StatsCollector() {
+            @Override
+            public void recordTimings(String name, TimingHistogram histogram) {
+                timings.put(name, histogram);
+            }
+        };
+        methodTimings = new ServiceMethodTimings("todo", collector, Timer.timer(), 1, TimeUnit.HOURS, 10);
+    }
+
+    @Test
+    public void testFlushSendsEachTiming() throws Exception {
+        methodTimings.recordQueueWait("add", 100);
+        methodTimings.recordQueueWait("add", 300);
+        methodTimings.recordServiceTime("add", 50);
+        methodTimings.recordResponseWait("list", 70);
+
+        methodTimings.queueEmpty();
+        assertTrue(timings.isEmpty());
+
+        methodTimings.flush();
+
+        assertEquals(2, timings.get("todo.add.queueWait").getCount());
+        assertEquals(300, timings.get("todo.add.queueWait").getMax());
+        assertEquals(1, timings.get("todo.add.serviceTime").getCount());
+        assertEquals(1, timings.get("todo.list.responseWait").getCount());
+        assertFalse(timings.containsKey("todo.add.responseWait"));
+        assertFalse(timings.containsKey("todo.list.queueWait"));
+    }
+
+    @Test
+    public void testHistogramsAreHandedOff() throws Exception {
+        methodTimings.recordServiceTime("add", 50);
+        methodTimings.flush();
+        final TimingHistogram first = timings.get("todo.add.serviceTime");
+
+        timings.clear();
+        methodTimings.flush();
+        assertTrue(timings.isEmpty());
+
+        methodTimings.recordServiceTime("add", 60);
+        methodTimings.queueShutdown();
+        assertNotSame(first, timings.get("todo.add.serviceTime"));
+        assertEquals(1, first.getCount());
+    }
+
+    @Test
+    public void testSampleEvery() throws Exception {
+        assertEquals(10, methodTimings.sampleEvery());
+        assertEquals(1, new ServiceMethodTimings("todo", new StatsCollector() {
+        }, Timer.timer(), 1, TimeUnit.SECONDS, 0).sampleEvery());
+    }
+}
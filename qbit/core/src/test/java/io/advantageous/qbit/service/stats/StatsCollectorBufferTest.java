@@ -2,6 +2,11 @@ package io.advantageous.qbit.service.stats;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.*;
@@ -78,4 +83,64 @@ public class StatsCollectorBufferTest {
         assertEquals(6, holder.get());
 
     }
-}
\ No newline at end of file
+
+
+    @Test
+    public void testTimings() {
+        final Map<String, TimingHistogram> holder = new HashMap<>();
+        StatsCollector collector = new StatsCollector() {
+            @Override
+            public void recordTimings(String name, TimingHistogram timings) {
+                holder.put(name, timings);
+            }
+        };
+        StatsCollectorBuffer buffer = new StatsCollectorBuffer(collector);
+
+        final TimingHistogram histogram = new TimingHistogram();
+        histogram.record(3);
+        histogram.record(5);
+        buffer.recordTimings("Rick", histogram);
+        buffer.recordTiming("Rick", 7);
+
+        buffer.sendStats();
+
+        assertEquals(3, holder.get("Rick").getCount());
+        assertEquals(7, holder.get("Rick").getMax());
+    }
+
+    @Test
+    public void testTimingsHandOffHistogramsAndSkipIdleNames() {
+        final List<String> names = new ArrayList<>();
+        final List<TimingHistogram> sent = new ArrayList<>();
+        StatsCollector collector = new StatsCollector() {
+            @Override
+            public void recordTimings(String name, TimingHistogram timings) {
+                names.add(name);
+                sent.add(timings);
+            }
+        };
+        StatsCollectorBuffer buffer = new StatsCollectorBuffer(collector);
+
+        buffer.recordTiming("Idle", 1);
+        buffer.recordTiming("Rick", 1);
+        buffer.sendStats();
+        assertEquals(2, sent.size());
+        names.clear();
+        sent.clear();
+
+        for (int flush = 0; flush < 4; flush++) {
+            buffer.recordTiming("Rick", flush + 1);
+            buffer.sendStats();
+        }
+
+        /* Idle recorded nothing new, and a sent histogram is never written to again. */
+        assertEquals(Arrays.asList("Rick", "Rick", "Rick", "Rick"), names);
+        for (int flush = 0; flush < 4; flush++) {
+            assertEquals(1, sent.get(flush).getCount());
+            assertEquals(flush + 1, sent.get(flush).getMax());
+            for (int other = flush + 1; other < 4; other++) {
+                assertNotSame(sent.get(flush), sent.get(other));
+            }
+        }
+    }
+}
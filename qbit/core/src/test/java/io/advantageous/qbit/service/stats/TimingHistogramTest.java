@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.service.stats;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimingHistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final TimingHistogram histogram = new TimingHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(90, histogram.percentile(90));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(99.9));
+        assertEquals(50.5f, histogram.mean(), 0.001f);
+    }
+
+    @Test
+    public void testPercentilesWithinOnePercent() {
+        final Random random = new Random(42);
+        final long[] values = new long[100_000];
+        final TimingHistogram histogram = new TimingHistogram();
+        for (int index = 0; index < values.length; index++) {
+            values[index] = (long) Math.abs(random.nextGaussian() * 5_000_000) + 1_000;
+            histogram.record(values[index]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            final long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long estimate = histogram.percentile(percentile);
+            assertTrue(percentile + " " + exact + " " + estimate,
+                    estimate >= exact && estimate <= exact + exact / 100);
+        }
+        assertEquals(values[values.length - 1], histogram.percentile(100));
+    }
+
+    @Test
+    public void testMerge() {
+        final TimingHistogram first = new TimingHistogram();
+        final TimingHistogram second = new TimingHistogram();
+        for (int value = 0; value < 1000; value++) {
+            first.record(value);
+            second.record(value + 1_000_000);
+        }
+
+        first.merge(second);
+
+        assertEquals(2000, first.getCount());
+        assertEquals(0, first.getMin());
+        assertEquals(1_000_999, first.getMax());
+        assertTrue(first.percentile(50) <= 1000);
+        assertTrue(first.percentile(51) >= 1_000_000);
+    }
+
+    @Test
+    public void testBucketsCoverLongRange() {
+        final TimingHistogram histogram = new TimingHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getMin());
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(99));
+    }
+}
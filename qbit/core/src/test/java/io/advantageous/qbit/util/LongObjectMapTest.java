@@ -0,0 +1,85 @@
+package io.advantageous.qbit.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(-1L, "minus one"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("one", map.put(1L, "uno"));
+
+        assertEquals(3, map.size());
+        assertEquals("uno", map.get(1L));
+        assertEquals("minus one", map.get(-1L));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertNull(map.get(2L));
+
+        assertFalse(map.remove(1L, "one"));
+        assertTrue(map.remove(1L, "uno"));
+        assertNull(map.remove(1L));
+        assertEquals("max", map.remove(Long.MAX_VALUE));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(-1L));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final LongObjectMap<Long> map = new LongObjectMap<>(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int index = 0; index < 200_000; index++) {
+            final long key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, key), map.put(key, key));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testCallbackRegistry() {
+        final CallbackRegistry<String> registry = new CallbackRegistry<>();
+
+        registry.put("client1", 1L, "a");
+        registry.put("client2", 1L, "b");
+        registry.put(null, 1L, "c");
+
+        assertEquals(3, registry.size());
+        assertEquals("a", registry.get("client1", 1L));
+        assertEquals("b", registry.get("client2", 1L));
+        assertEquals("c", registry.get(null, 1L));
+
+        assertFalse(registry.remove("client1", 1L, "b"));
+        assertEquals("a", registry.remove("client1", 1L));
+        assertNull(registry.remove("client1", 1L));
+        assertEquals(2, registry.size());
+
+        registry.purgeEmpty();
+        assertEquals(2, registry.returnAddressCount());
+
+        registry.put("client1", 2L, "d");
+        assertEquals("d", registry.get("client1", 2L));
+        assertEquals(3, registry.size());
+    }
+}
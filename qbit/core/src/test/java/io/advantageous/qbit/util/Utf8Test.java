@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Utf8Test {
+
+    private void check(final String string) {
+        final byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, Utf8.encodedLength(string));
+        assertArrayEquals(expected, Utf8.encode(string));
+        assertArrayEquals(expected, Utf8.encode(new StringBuilder(string)));
+    }
+
+    @Test
+    public void testAscii() {
+        check("");
+        check("{\"name\":\"Rick\",\"age\":42}");
+    }
+
+    @Test
+    public void testMultiByte() {
+        check("caf\u00e9 \u00fcber \u20ac5 \u65e5\u672c");
+        check("emoji \ud83d\ude00 and \ud834\udd1e");
+    }
+
+    @Test
+    public void testUnpairedSurrogates() {
+        check("high \ud83d alone");
+        check("low \ude00 alone");
+        check("ends high \ud83d");
+    }
+
+    @Test
+    public void testOffset() {
+        final byte[] out = new byte[10];
+        out[0] = 'x';
+        final int end = Utf8.encode("\u00e9a", out, 1);
+        assertEquals(4, end);
+        assertEquals('x', out[0]);
+        assertEquals('a', out[3]);
+    }
+}
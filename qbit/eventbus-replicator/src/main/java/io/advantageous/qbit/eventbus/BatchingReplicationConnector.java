@@ -0,0 +1,130 @@
+package io.advantageous.qbit.eventbus;
+
+import io.advantageous.qbit.client.RemoteTCPClientProxy;
+import io.advantageous.qbit.events.spi.EventConnector;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event connector that replicates events to one peer, many events per frame.
+ * <p>
+ * Events are collected until the batch is full or the event bus flushes, then sent as one
+ * (possibly compressed) replication frame over the link.
+ * Events that came from another node are not sent on, the node they came from replicates them.
+ * <p>
+ * Each event is sent with this connector's own sequence number instead of its event bus id. Bus ids are not
+ * unique when the event manager is partitioned, and the receiver drops anything at or below the last sequence it saw.
+ * The sequence starts over with every connector, and the cluster makes a new one each time a peer reconnects,
+ * so each connector sends as its own origin, the node's origin followed by '/' and a random id.
+ * A partitioned event manager calls the connector from every partition thread, so the methods are synchronized.
+ * Implements RemoteTCPClientProxy so the cluster can see which peer it goes to and whether it is still connected.
+ *
+ * @author Rick Hightower
+ */
+public class BatchingReplicationConnector implements EventConnector, RemoteTCPClientProxy {
+
+    private final Logger logger = LoggerFactory.getLogger(BatchingReplicationConnector.class);
+    private final String origin;
+    private final String host;
+    private final int port;
+    private final ReplicationLink link;
+    private final ReplicationFrameCodec frameCodec;
+    private final int batchSize;
+    private final List<EventTransferObject<Object>> batch;
+    private long sequence;
+
+    /**
+     * @param origin     origin of the node, this connector adds its own id to it
+     * @param host       peer host
+     * @param port       peer port
+     * @param link       link to the peer
+     * @param frameCodec encodes replication frames
+     * @param batchSize  most events per frame
+     */
+    public BatchingReplicationConnector(final String origin,
+                                        final String host,
+                                        final int port,
+                                        final ReplicationLink link,
+                                        final ReplicationFrameCodec frameCodec,
+                                        final int batchSize) {
+        this.origin = origin + "/" + UUID.randomUUID();
+        this.host = host;
+        this.port = port;
+        this.link = link;
+        this.frameCodec = frameCodec;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public synchronized void forwardEvent(final EventTransferObject<Object> event) {
+        if (event.wasReplicated()) {
+            return;
+        }
+        batch.add(new EventTransferObject<>(event.body(), ++sequence, event.channel()));
+        if (batch.size() >= batchSize) {
+            sendBatch();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (batch.size() > 0) {
+            sendBatch();
+        }
+    }
+
+    @Override
+    public void clientProxyFlush() {
+        flush();
+    }
+
+    private void sendBatch() {
+        try {
+            link.send(frameCodec.encode(origin, batch));
+        } catch (Exception ex) {
+            logger.warn("BatchingReplicationConnector unable to replicate {} events to {}:{}",
+                    batch.size(), host, port, ex);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    @Override
+    public int port() {
+        return port;
+    }
+
+    @Override
+    public String host() {
+        return host;
+    }
+
+    @Override
+    public boolean connected() {
+        return link.connected();
+    }
+
+    @Override
+    public void silentClose() {
+        try {
+            link.close();
+        } catch (Exception ex) {
+            logger.debug("BatchingReplicationConnector unable to close link to {}:{}", host, port, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchingReplicationConnector{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", connected=" + link.connected() +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package io.advantageous.qbit.eventbus;
+
+/**
+ * Compresses replication frame payloads as one block.
+ * A codec instance is only used by one replication link at a time.
+ *
+ * @author Rick Hightower
+ */
+public interface BlockCodec {
+
+    /**
+     * @return compressed bytes, or null if the block did not get smaller
+     */
+    byte[] compress(byte[] bytes, int offset, int length);
+
+    byte[] decompress(byte[] bytes, int offset, int length, int originalLength);
+}
@@ -0,0 +1,67 @@
+package io.advantageous.qbit.eventbus;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block codec that uses the JDK's deflate at its fastest level, with no zlib header or checksum.
+ * The deflater and inflater are kept and reset between blocks.
+ *
+ * @author Rick Hightower
+ */
+public class DeflateBlockCodec implements BlockCodec {
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final Inflater inflater = new Inflater(true);
+    private byte[] buffer = new byte[4096];
+
+    @Override
+    public byte[] compress(final byte[] bytes, final int offset, final int length) {
+        deflater.reset();
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+
+        if (buffer.length < length) {
+            buffer = new byte[length];
+        }
+
+        int compressedLength = 0;
+        while (!deflater.finished() && compressedLength < length) {
+            compressedLength += deflater.deflate(buffer, compressedLength, length - compressedLength);
+        }
+
+        if (!deflater.finished() || compressedLength >= length) {
+            return null;
+        }
+
+        final byte[] compressed = new byte[compressedLength];
+        System.arraycopy(buffer, 0, compressed, 0, compressedLength);
+        return compressed;
+    }
+
+    @Override
+    public byte[] decompress(final byte[] bytes, final int offset, final int length, final int originalLength) {
+        inflater.reset();
+        inflater.setInput(bytes, offset, length);
+
+        final byte[] decompressed = new byte[originalLength];
+        try {
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                final int count = inflater.inflate(decompressed, read, originalLength - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != originalLength) {
+                throw new IllegalStateException("Replication frame decompressed to " + read +
+                        " bytes, expected " + originalLength);
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Unable to decompress replication frame", ex);
+        }
+        return decompressed;
+    }
+}
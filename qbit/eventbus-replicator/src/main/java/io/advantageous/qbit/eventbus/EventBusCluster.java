@@ -3,6 +3,7 @@ package io.advantageous.qbit.eventbus;
 import io.advantageous.boon.core.Str;
 import io.advantageous.qbit.GlobalConstants;
 import io.advantageous.qbit.QBit;
+import io.advantageous.qbit.boon.spi.BoonJsonBodyCodec;
 import io.advantageous.qbit.client.Client;
 import io.advantageous.qbit.client.ClientProxy;
 import io.advantageous.qbit.client.RemoteTCPClientProxy;
@@ -26,6 +27,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.UUID;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -59,6 +61,10 @@ public class EventBusCluster implements Startable, Stoppable {
     private ServicePool servicePool;
     private final ServiceDiscovery serviceDiscovery;
     private final EndpointDefinition endpointDefinition;
+    private final ReplicationTransport replicationTransport;
+    private final int replicationBatchSize;
+    private final int replicationCompressThreshold;
+    private final String replicationOrigin;
 
     public EventBusCluster(final EventManager eventManager,
                            final String eventBusName,
@@ -71,6 +77,31 @@ public class EventBusCluster implements Startable, Stoppable {
                            final ServiceDiscovery serviceDiscovery,
                            final int replicationPortLocal,
                            final String replicationHostLocal) {
+        this(eventManager, eventBusName, eventConnectorHub, periodicScheduler, peerCheckTimeInterval,
+                peerCheckTimeTimeUnit, replicationServerCheckInInterval, replicationServerCheckInTimeUnit,
+                serviceDiscovery, replicationPortLocal, replicationHostLocal, null, 0, 0);
+    }
+
+    /**
+     * @param replicationTransport         when set, events are replicated in batched, compressed frames
+     *                                     over this transport instead of one remote call per event
+     * @param replicationBatchSize         most events per replication frame
+     * @param replicationCompressThreshold frames smaller than this many bytes are not compressed
+     */
+    public EventBusCluster(final EventManager eventManager,
+                           final String eventBusName,
+                           final EventConnectorHub eventConnectorHub,
+                           final PeriodicScheduler periodicScheduler,
+                           final int peerCheckTimeInterval,
+                           final TimeUnit peerCheckTimeTimeUnit,
+                           final int replicationServerCheckInInterval,
+                           final TimeUnit replicationServerCheckInTimeUnit,
+                           final ServiceDiscovery serviceDiscovery,
+                           final int replicationPortLocal,
+                           final String replicationHostLocal,
+                           final ReplicationTransport replicationTransport,
+                           final int replicationBatchSize,
+                           final int replicationCompressThreshold) {
 
         this.eventBusName = eventBusName;
         this.eventConnectorHub = eventConnectorHub == null ? new EventConnectorHub() : eventConnectorHub;
@@ -86,6 +117,14 @@ public class EventBusCluster implements Startable, Stoppable {
 
         this.replicationHostLocal = getHost(replicationHostLocal);
 
+        this.replicationTransport = replicationTransport;
+        this.replicationBatchSize = replicationBatchSize;
+        this.replicationCompressThreshold = replicationCompressThreshold;
+
+        /* Sequences start over when a node restarts, so every run is a new origin.
+           Each replication connector adds its own id, since it also starts over when a peer reconnects. */
+        this.replicationOrigin = this.replicationHostLocal + ":" + replicationPortLocal + "/" + UUID.randomUUID();
+
         this.servicePool = new ServicePool(eventBusName, null);
 
 
@@ -145,7 +184,11 @@ public class EventBusCluster implements Startable, Stoppable {
             eventServiceQueue.start();
         }
 
-        startServerReplicator();
+        if (replicationTransport != null) {
+            startReplicationReceiver();
+        } else {
+            startServerReplicator();
+        }
 
 
         healthyNodeMonitor = periodicScheduler.repeat(
@@ -182,6 +225,16 @@ public class EventBusCluster implements Startable, Stoppable {
     }
 
 
+    private ReplicationFrameCodec createReplicationFrameCodec() {
+        return new ReplicationFrameCodec(new BoonJsonBodyCodec(), new DeflateBlockCodec(), replicationCompressThreshold);
+    }
+
+    private void startReplicationReceiver() {
+        replicationTransport.listen(replicationHostLocal, replicationPortLocal,
+                new ReplicationReceiver(replicationOrigin, createReplicationFrameCodec(), eventManager));
+    }
+
+
     private void healthyNodeMonitor() {
 
 
@@ -260,6 +313,13 @@ public class EventBusCluster implements Startable, Stoppable {
                 eventBusName, "host",
                 newHost, "port", newPort));
 
+        if (replicationTransport != null) {
+            eventConnectorHub.add(new BatchingReplicationConnector(replicationOrigin, newHost, newPort,
+                    replicationTransport.connect(newHost, newPort), createReplicationFrameCodec(),
+                    replicationBatchSize));
+            return;
+        }
+
         /* A client replicator */
         final EventBusReplicationClientBuilder clientReplicatorBuilder = eventBusReplicationClientBuilder();
         clientReplicatorBuilder.setName(this.eventBusName);
@@ -360,11 +420,21 @@ public class EventBusCluster implements Startable, Stoppable {
 
         try {
 
-            this.serviceEndpointServerForReplicator.stop();
+            if (serviceEndpointServerForReplicator != null) {
+                this.serviceEndpointServerForReplicator.stop();
+            }
         } catch (Exception ex) {
             logger.warn("EventBusCluster is unable to stop end point server");
         }
 
+        try {
+            if (replicationTransport != null) {
+                replicationTransport.stop();
+            }
+        } catch (Exception ex) {
+            logger.warn("EventBusCluster is unable to stop replication transport");
+        }
+
         try {
             if (healthyNodeMonitor != null) {
                 healthyNodeMonitor.cancel(true);
@@ -28,6 +28,9 @@ public class EventBusClusterBuilder {
     private TimeUnit replicationServerCheckInTimeUnit = TimeUnit.SECONDS;
 
     private ServiceDiscovery serviceDiscovery;
+    private ReplicationTransport replicationTransport;
+    private int replicationBatchSize = 1_000;
+    private int replicationCompressThreshold = 1_024;
 
 
     public static EventBusClusterBuilder eventBusClusterBuilder() {
@@ -39,7 +42,8 @@ public class EventBusClusterBuilder {
         return new EventBusCluster(getEventManager(), getEventBusName(), getEventConnectorHub(), getPeriodicScheduler(),
                 getPeerCheckTimeInterval(), getPeerCheckTimeUnit(), getReplicationServerCheckInInterval(),
                 getReplicationServerCheckInTimeUnit(), getServiceDiscovery(), getReplicationPortLocal(),
-                getReplicationHostLocal() );
+                getReplicationHostLocal(), getReplicationTransport(), getReplicationBatchSize(),
+                getReplicationCompressThreshold());
 
     }
 
@@ -156,4 +160,38 @@ public class EventBusClusterBuilder {
         this.serviceDiscovery = serviceDiscovery;
         return this;
     }
+
+    public ReplicationTransport getReplicationTransport() {
+        return replicationTransport;
+    }
+
+    /**
+     * Replicate in batched, compressed frames over this transport, for example a WebSocketReplicationTransport.
+     * Without one, every event is a remote call to the peer's EventRemoteReplicatorService.
+     *
+     * @param replicationTransport replication transport
+     * @return this
+     */
+    public EventBusClusterBuilder setReplicationTransport(ReplicationTransport replicationTransport) {
+        this.replicationTransport = replicationTransport;
+        return this;
+    }
+
+    public int getReplicationBatchSize() {
+        return replicationBatchSize;
+    }
+
+    public EventBusClusterBuilder setReplicationBatchSize(int replicationBatchSize) {
+        this.replicationBatchSize = replicationBatchSize;
+        return this;
+    }
+
+    public int getReplicationCompressThreshold() {
+        return replicationCompressThreshold;
+    }
+
+    public EventBusClusterBuilder setReplicationCompressThreshold(int replicationCompressThreshold) {
+        this.replicationCompressThreshold = replicationCompressThreshold;
+        return this;
+    }
 }
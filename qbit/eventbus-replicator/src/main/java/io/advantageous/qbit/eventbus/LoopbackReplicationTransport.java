@@ -0,0 +1,67 @@
+package io.advantageous.qbit.eventbus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In memory replication transport, frames are handed straight to the receiver listening on host and port.
+ * Share one instance between the clusters in a test to stand in for the network.
+ *
+ * @author Rick Hightower
+ */
+public class LoopbackReplicationTransport implements ReplicationTransport {
+
+    private final Map<String, Consumer<byte[]>> receivers = new ConcurrentHashMap<>();
+
+    private static String address(final String host, final int port) {
+        return host + ":" + port;
+    }
+
+    @Override
+    public void listen(final String host, final int port, final Consumer<byte[]> frameConsumer) {
+        receivers.put(address(host, port), frameConsumer);
+    }
+
+    @Override
+    public ReplicationLink connect(final String host, final int port) {
+        final String address = address(host, port);
+        return new ReplicationLink() {
+            private volatile boolean closed;
+
+            @Override
+            public void send(final byte[] frame) {
+                final Consumer<byte[]> receiver = receivers.get(address);
+                if (closed || receiver == null) {
+                    throw new IllegalStateException("No replication receiver at " + address);
+                }
+                receiver.accept(frame);
+            }
+
+            @Override
+            public boolean connected() {
+                return !closed && receivers.containsKey(address);
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+    }
+
+    /**
+     * Simulates a node going away.
+     *
+     * @param host host
+     * @param port port
+     */
+    public void disconnect(final String host, final int port) {
+        receivers.remove(address(host, port));
+    }
+
+    @Override
+    public void stop() {
+        receivers.clear();
+    }
+}
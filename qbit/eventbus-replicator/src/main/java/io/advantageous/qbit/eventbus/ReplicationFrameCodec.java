@@ -0,0 +1,164 @@
+package io.advantageous.qbit.eventbus;
+
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.message.Event;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.advantageous.qbit.service.Protocol.BINARY_PROTOCOL_MARKER;
+
+/**
+ * Packs a batch of events into one replication frame.
+ * <pre>
+ *     byte marker (the binary protocol marker), byte frame type, byte flags, int payload length
+ *     payload (deflated when the COMPRESSED flag is set):
+ *         UTF origin, int count, then per event: long sequence, UTF channel, int body length, body
+ * </pre>
+ * The sequence is the sending connector's own counter, not the event bus id, receivers use it to drop duplicates.
+ * Not thread safe, each replication link has its own codec.
+ *
+ * @author Rick Hightower
+ */
+public class ReplicationFrameCodec {
+
+    public static final int REPLICATION_FRAME = 0x52;
+    public static final int COMPRESSED = 0x01;
+    public static final int HEADER_SIZE = 7;
+
+    private final BinaryBodyCodec bodyCodec;
+    private final BlockCodec blockCodec;
+    private final int compressThreshold;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+    private final DataOutputStream output = new DataOutputStream(bytes);
+
+    /**
+     * @param bodyCodec         encodes event bodies
+     * @param blockCodec        compresses payloads, null to never compress
+     * @param compressThreshold payloads smaller than this are sent as is
+     */
+    public ReplicationFrameCodec(final BinaryBodyCodec bodyCodec, final BlockCodec blockCodec,
+                                 final int compressThreshold) {
+        this.bodyCodec = bodyCodec;
+        this.blockCodec = blockCodec;
+        this.compressThreshold = compressThreshold;
+    }
+
+    public byte[] encode(final String origin, final List<? extends Event<Object>> events) {
+        bytes.reset();
+        try {
+            /* Room for the header, filled in below. */
+            output.write(new byte[HEADER_SIZE]);
+            output.writeUTF(origin);
+            output.writeInt(events.size());
+            for (Event<Object> event : events) {
+                output.writeLong(event.id());
+                output.writeUTF(event.channel());
+                final byte[] body = bodyCodec.encode(event.body());
+                output.writeInt(body.length);
+                output.write(body);
+            }
+            output.flush();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to encode replication frame", ex);
+        }
+
+        final byte[] frame = bytes.toByteArray();
+        final int payloadLength = frame.length - HEADER_SIZE;
+
+        if (blockCodec != null && payloadLength >= compressThreshold) {
+            final byte[] compressed = blockCodec.compress(frame, HEADER_SIZE, payloadLength);
+            if (compressed != null) {
+                final byte[] compressedFrame = new byte[HEADER_SIZE + compressed.length];
+                writeHeader(compressedFrame, COMPRESSED, payloadLength);
+                System.arraycopy(compressed, 0, compressedFrame, HEADER_SIZE, compressed.length);
+                return compressedFrame;
+            }
+        }
+
+        writeHeader(frame, 0, payloadLength);
+        return frame;
+    }
+
+    private static void writeHeader(final byte[] frame, final int flags, final int payloadLength) {
+        frame[0] = (byte) BINARY_PROTOCOL_MARKER;
+        frame[1] = (byte) REPLICATION_FRAME;
+        frame[2] = (byte) flags;
+        frame[3] = (byte) (payloadLength >>> 24);
+        frame[4] = (byte) (payloadLength >>> 16);
+        frame[5] = (byte) (payloadLength >>> 8);
+        frame[6] = (byte) payloadLength;
+    }
+
+    public static boolean isReplicationFrame(final byte[] frame) {
+        return frame.length >= HEADER_SIZE
+                && (frame[0] & 0xFF) == BINARY_PROTOCOL_MARKER
+                && (frame[1] & 0xFF) == REPLICATION_FRAME;
+    }
+
+    public ReplicationFrame decode(final byte[] frame) {
+        if (!isReplicationFrame(frame)) {
+            throw new IllegalArgumentException("Not a replication frame");
+        }
+
+        final int flags = frame[2];
+        final int payloadLength = ((frame[3] & 0xFF) << 24) | ((frame[4] & 0xFF) << 16)
+                | ((frame[5] & 0xFF) << 8) | (frame[6] & 0xFF);
+
+        final byte[] payload;
+        final int payloadOffset;
+        if ((flags & COMPRESSED) != 0) {
+            payload = blockCodec.decompress(frame, HEADER_SIZE, frame.length - HEADER_SIZE, payloadLength);
+            payloadOffset = 0;
+        } else {
+            payload = frame;
+            payloadOffset = HEADER_SIZE;
+        }
+
+        try {
+            final DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(payload, payloadOffset, payloadLength));
+            final String origin = input.readUTF();
+            final int count = input.readInt();
+            final List<EventTransferObject<Object>> events = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                final long sequence = input.readLong();
+                final String channel = input.readUTF();
+                final byte[] body = new byte[input.readInt()];
+                input.readFully(body);
+                events.add(new EventTransferObject<>(bodyCodec.decode(body, 0, body.length), sequence, channel));
+            }
+            return new ReplicationFrame(origin, events);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to decode replication frame", ex);
+        }
+    }
+
+    /**
+     * Decoded frame.
+     */
+    public static final class ReplicationFrame {
+
+        private final String origin;
+        private final List<EventTransferObject<Object>> events;
+
+        public ReplicationFrame(final String origin, final List<EventTransferObject<Object>> events) {
+            this.origin = origin;
+            this.events = events;
+        }
+
+        public String origin() {
+            return origin;
+        }
+
+        public List<EventTransferObject<Object>> events() {
+            return events;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.advantageous.qbit.eventbus;
+
+/**
+ * One way connection to a peer's replication receiver that carries replication frames.
+ *
+ * @author Rick Hightower
+ */
+public interface ReplicationLink {
+
+    void send(byte[] frame);
+
+    boolean connected();
+
+    void close();
+}
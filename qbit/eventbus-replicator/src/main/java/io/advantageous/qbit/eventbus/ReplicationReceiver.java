@@ -0,0 +1,91 @@
+package io.advantageous.qbit.eventbus;
+
+import io.advantageous.qbit.events.EventManager;
+import io.advantageous.qbit.events.spi.EventConnector;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Takes replication frames from peers and hands their events to the local event manager.
+ * <p>
+ * Each origin's connector numbers its events in order, so the receiver keeps the highest sequence it has seen per origin
+ * and drops anything at or below it (a frame that was resent, or that reached us over a second path).
+ * A connector that replaces one after a reconnect starts its sequence over under an origin of its own.
+ * Frames from this node itself, its own origin or one of its connectors' origins, are ignored.
+ * Events are passed on marked as replicated so the local event bus does not send them around the cluster again.
+ *
+ * @author Rick Hightower
+ */
+public class ReplicationReceiver implements Consumer<byte[]> {
+
+    private final Logger logger = LoggerFactory.getLogger(ReplicationReceiver.class);
+    private final String origin;
+    private final ReplicationFrameCodec frameCodec;
+    private final EventRemoteReplicatorService replicatorService;
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    private long duplicateCount;
+
+    public ReplicationReceiver(final String origin, final ReplicationFrameCodec frameCodec,
+                               final EventManager eventManager) {
+        this(origin, frameCodec, new EventRemoteReplicatorService(eventManager));
+    }
+
+    public ReplicationReceiver(final String origin, final ReplicationFrameCodec frameCodec,
+                               final EventConnector eventConnector) {
+        this(origin, frameCodec, new EventRemoteReplicatorService(eventConnector));
+    }
+
+    private ReplicationReceiver(final String origin, final ReplicationFrameCodec frameCodec,
+                                final EventRemoteReplicatorService replicatorService) {
+        this.origin = origin;
+        this.frameCodec = frameCodec;
+        this.replicatorService = replicatorService;
+    }
+
+    /**
+     * Frames can arrive on several transport threads, they are handled one at a time.
+     */
+    @Override
+    public synchronized void accept(final byte[] frame) {
+
+        if (!ReplicationFrameCodec.isReplicationFrame(frame)) {
+            logger.warn("ReplicationReceiver {} ignoring {} byte message that is not a replication frame",
+                    origin, frame.length);
+            return;
+        }
+
+        final ReplicationFrameCodec.ReplicationFrame replicationFrame = frameCodec.decode(frame);
+        if (fromSelf(replicationFrame.origin())) {
+            return;
+        }
+
+        final Long last = lastSequences.get(replicationFrame.origin());
+        long lastSequence = last == null ? Long.MIN_VALUE : last;
+
+        for (EventTransferObject<Object> event : replicationFrame.events()) {
+            if (event.id() <= lastSequence) {
+                duplicateCount++;
+                continue;
+            }
+            lastSequence = event.id();
+            replicatorService.forwardEvent(event);
+        }
+
+        lastSequences.put(replicationFrame.origin(), lastSequence);
+        replicatorService.flushConnector();
+    }
+
+    private boolean fromSelf(final String frameOrigin) {
+        return frameOrigin.startsWith(origin)
+                && (frameOrigin.length() == origin.length() || frameOrigin.charAt(origin.length()) == '/');
+    }
+
+    public synchronized long duplicateCount() {
+        return duplicateCount;
+    }
+}
@@ -0,0 +1,24 @@
+package io.advantageous.qbit.eventbus;
+
+import java.util.function.Consumer;
+
+/**
+ * Moves replication frames between event bus cluster nodes.
+ *
+ * @author Rick Hightower
+ */
+public interface ReplicationTransport {
+
+    /**
+     * Starts receiving frames from peers on the local replication port.
+     *
+     * @param host          local host
+     * @param port          local replication port
+     * @param frameConsumer gets each frame that arrives
+     */
+    void listen(String host, int port, Consumer<byte[]> frameConsumer);
+
+    ReplicationLink connect(String host, int port);
+
+    void stop();
+}
@@ -0,0 +1,78 @@
+package io.advantageous.qbit.eventbus;
+
+import io.advantageous.qbit.http.client.HttpClient;
+import io.advantageous.qbit.http.server.HttpServer;
+import io.advantageous.qbit.http.websocket.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+import static io.advantageous.qbit.http.client.HttpClientBuilder.httpClientBuilder;
+import static io.advantageous.qbit.http.server.HttpServerBuilder.httpServerBuilder;
+
+/**
+ * Replication transport that sends each frame as one binary WebSocket message.
+ * The cluster's replication port runs a plain HTTP server that only accepts replication WebSockets.
+ *
+ * @author Rick Hightower
+ */
+public class WebSocketReplicationTransport implements ReplicationTransport {
+
+    public static final String REPLICATION_URI = "/__qbit/replication";
+
+    private final Logger logger = LoggerFactory.getLogger(WebSocketReplicationTransport.class);
+    private HttpServer httpServer;
+
+    @Override
+    public void listen(final String host, final int port, final Consumer<byte[]> frameConsumer) {
+
+        httpServer = httpServerBuilder().setHost(host).setPort(port).build();
+        httpServer.setShouldContinueWebSocket(webSocket -> REPLICATION_URI.equals(webSocket.uri()));
+        httpServer.setWebSocketOnOpenConsumer(webSocket -> {
+            webSocket.setBinaryMessageConsumer(frameConsumer);
+            webSocket.setErrorConsumer(exception ->
+                    logger.warn("WebSocketReplicationTransport error from {}", webSocket.remoteAddress(), exception));
+        });
+        httpServer.setHttpRequestConsumer(request -> request.getReceiver().notFound());
+        httpServer.startServer();
+    }
+
+    @Override
+    public ReplicationLink connect(final String host, final int port) {
+
+        final HttpClient httpClient = httpClientBuilder().setHost(host).setPort(port).buildAndStart();
+        final WebSocket webSocket = httpClient.createWebSocket(REPLICATION_URI);
+        webSocket.setErrorConsumer(exception ->
+                logger.warn("WebSocketReplicationTransport error sending to {}:{}", host, port, exception));
+        webSocket.openAndWait();
+
+        return new ReplicationLink() {
+            @Override
+            public void send(final byte[] frame) {
+                webSocket.sendBinary(frame);
+            }
+
+            @Override
+            public boolean connected() {
+                return webSocket.isOpen();
+            }
+
+            @Override
+            public void close() {
+                try {
+                    webSocket.close();
+                } finally {
+                    httpClient.stop();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.advantageous.qbit.eventbus;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.events.EventManager;
+import io.advantageous.qbit.events.impl.EventConnectorHub;
+import io.advantageous.qbit.events.impl.PartitionedEventManager;
+import io.advantageous.qbit.events.spi.EventConnector;
+import io.advantageous.qbit.events.spi.EventTransferObject;
+import io.advantageous.qbit.service.ServiceProxyUtils;
+import io.advantageous.qbit.spi.BinaryBodyCodec;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.advantageous.qbit.events.EventManagerBuilder.eventManagerBuilder;
+
+import static org.junit.Assert.*;
+
+public class BatchingReplicationTest {
+
+    private final BinaryBodyCodec bodyCodec = new BinaryBodyCodec() {
+        @Override
+        public byte[] encode(Object body) {
+            return body.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] bytes, int offset, int length) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+    };
+
+    private LoopbackReplicationTransport transport;
+    private List<EventTransferObject<Object>> received;
+    private ReplicationReceiver receiver;
+
+    @Before
+    public void setup() {
+        transport = new LoopbackReplicationTransport();
+        received = new ArrayList<>();
+
+        final EventConnector localBus = received::add;
+        receiver = new ReplicationReceiver("nodeB", codec(), localBus);
+        transport.listen("hostB", 9090, receiver);
+    }
+
+    private ReplicationFrameCodec codec() {
+        return new ReplicationFrameCodec(bodyCodec, new DeflateBlockCodec(), 64);
+    }
+
+    private BatchingReplicationConnector connector(final String origin, final int batchSize) {
+        return new BatchingReplicationConnector(origin, "hostB", 9090,
+                transport.connect("hostB", 9090), codec(), batchSize);
+    }
+
+    @Test
+    public void testBatchesUntilFlush() {
+        final BatchingReplicationConnector connector = connector("nodeA", 100);
+
+        for (int index = 1; index <= 10; index++) {
+            connector.forwardEvent(new EventTransferObject<>("price " + index, index, "prices"));
+        }
+        assertEquals(0, received.size());
+
+        connector.flush();
+        assertEquals(10, received.size());
+        assertEquals("price 1", received.get(0).body());
+        assertEquals("prices", received.get(9).channel());
+        assertTrue(received.get(0).wasReplicated());
+    }
+
+    @Test
+    public void testSendsWhenBatchIsFull() {
+        final BatchingReplicationConnector connector = connector("nodeA", 4);
+
+        for (int index = 1; index <= 10; index++) {
+            connector.forwardEvent(new EventTransferObject<>("event " + index, index, "events"));
+        }
+        assertEquals(8, received.size());
+        connector.flush();
+        assertEquals(10, received.size());
+    }
+
+    @Test
+    public void testDropsDuplicatesPerOrigin() {
+        final byte[] frame = codec().encode("nodeA", Arrays.asList(
+                new EventTransferObject<Object>("a1", 1, "events"),
+                new EventTransferObject<Object>("a2", 2, "events")));
+
+        receiver.accept(frame);
+        /* Resent, or reached us over a second path. */
+        receiver.accept(frame);
+        /* A sequence already seen from another origin. */
+        receiver.accept(codec().encode("nodeC",
+                Collections.singletonList(new EventTransferObject<Object>("c2", 2, "events"))));
+
+        assertEquals(3, received.size());
+        assertEquals(2, receiver.duplicateCount());
+    }
+
+    @Test
+    public void testSequenceIgnoresBusIds() {
+        final BatchingReplicationConnector connector = connector("nodeA", 100);
+
+        /* Partitions number their events independently, so bus ids repeat. */
+        connector.forwardEvent(new EventTransferObject<>("p0", 1, "channel0"));
+        connector.forwardEvent(new EventTransferObject<>("p1", 1, "channel1"));
+        connector.forwardEvent(new EventTransferObject<>("p2", 1, "channel2"));
+        connector.flush();
+
+        assertEquals(3, received.size());
+        assertEquals(0, receiver.duplicateCount());
+        assertEquals(1, received.get(0).id());
+        assertEquals(3, received.get(2).id());
+    }
+
+    @Test
+    public void testDeliversAfterPeerIsRemovedAndAddedBack() {
+        final EventConnectorHub hub = new EventConnectorHub();
+        final BatchingReplicationConnector first = connector("nodeA", 100);
+        hub.add(first);
+
+        for (int index = 1; index <= 5; index++) {
+            hub.forwardEvent(new EventTransferObject<>("before " + index, index, "events"));
+        }
+        hub.flush();
+        assertEquals(5, received.size());
+
+        /* The peer drops off, the cluster removes its connector and adds a new one when it is back. */
+        transport.disconnect("hostB", 9090);
+        assertFalse(first.connected());
+        hub.remove(first);
+        first.silentClose();
+        transport.listen("hostB", 9090, receiver);
+        hub.add(connector("nodeA", 100));
+
+        for (int index = 6; index <= 8; index++) {
+            hub.forwardEvent(new EventTransferObject<>("after " + index, index, "events"));
+        }
+        hub.flush();
+
+        assertEquals(8, received.size());
+        assertEquals("after 8", received.get(7).body());
+        assertEquals(0, receiver.duplicateCount());
+    }
+
+    @Test
+    public void testPartitionedEventManager() {
+        final List<EventTransferObject<Object>> events = new CopyOnWriteArrayList<>();
+        final ReplicationReceiver partitionedReceiver = new ReplicationReceiver("nodeB", codec(),
+                (EventConnector) events::add);
+        transport.listen("hostC", 9091, partitionedReceiver);
+
+        final BatchingReplicationConnector connector = new BatchingReplicationConnector("nodeA", "hostC", 9091,
+                transport.connect("hostC", 9091), codec(), 10);
+
+        final EventManager eventManager = eventManagerBuilder().setPartitionCount(4)
+                .setEventConnector(connector).build("partitioned");
+
+        try {
+            for (int index = 0; index < 1000; index++) {
+                eventManager.send("channel" + index % 20, "event" + index);
+            }
+            ServiceProxyUtils.flushServiceProxy(eventManager);
+
+            for (int index = 0; index < 100 && events.size() < 1000; index++) {
+                Sys.sleep(50);
+                connector.flush();
+            }
+
+            assertEquals(1000, events.size());
+            assertEquals(0, partitionedReceiver.duplicateCount());
+        } finally {
+            ((PartitionedEventManager) eventManager).stop();
+        }
+    }
+
+    @Test
+    public void testIgnoresOwnFramesAndReplicatedEvents() {
+        final BatchingReplicationConnector fromSelf = connector("nodeB", 100);
+        fromSelf.forwardEvent(new EventTransferObject<>("mine", 1, "events"));
+        fromSelf.flush();
+        assertEquals(0, received.size());
+
+        final BatchingReplicationConnector fromA = connector("nodeA", 100);
+        fromA.forwardEvent(new EventTransferObject<Object>("echo", 1, "events") {
+            @Override
+            public boolean wasReplicated() {
+                return true;
+            }
+        });
+        fromA.flush();
+        assertEquals(0, received.size());
+    }
+
+    @Test
+    public void testCompression() {
+        final ReplicationFrameCodec codec = codec();
+        final List<EventTransferObject<Object>> events = new ArrayList<>();
+        for (int index = 0; index < 200; index++) {
+            events.add(new EventTransferObject<>("{\"symbol\":\"IBM\",\"price\":" + index + "}", index, "prices"));
+        }
+
+        final byte[] frame = codec.encode("nodeA", events);
+        assertTrue(ReplicationFrameCodec.isReplicationFrame(frame));
+        assertEquals(ReplicationFrameCodec.COMPRESSED, frame[2]);
+
+        final ReplicationFrameCodec.ReplicationFrame decoded = codec().decode(frame);
+        assertEquals("nodeA", decoded.origin());
+        assertEquals(200, decoded.events().size());
+        assertEquals("{\"symbol\":\"IBM\",\"price\":199}", decoded.events().get(199).body());
+        assertEquals(199, decoded.events().get(199).id());
+
+        final byte[] small = codec.encode("nodeA",
+                Collections.singletonList(new EventTransferObject<Object>("x", 1, "c")));
+        assertEquals(0, small[2]);
+    }
+
+    @Test
+    public void testConnectedFollowsReceiver() {
+        final BatchingReplicationConnector connector = connector("nodeA", 100);
+        assertTrue(connector.connected());
+        transport.disconnect("hostB", 9090);
+        assertFalse(connector.connected());
+    }
+}
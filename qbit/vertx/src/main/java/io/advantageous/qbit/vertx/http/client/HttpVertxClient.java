@@ -28,6 +28,7 @@ import io.advantageous.qbit.http.request.HttpResponseReceiver;
 import io.advantageous.qbit.http.websocket.WebSocket;
 import io.advantageous.qbit.http.websocket.WebSocketSender;
 import io.advantageous.qbit.network.NetSocket;
+import io.advantageous.qbit.service.Protocol;
 import io.advantageous.qbit.util.MultiMap;
 import io.advantageous.qbit.vertx.MultiMapWrapper;
 import io.vertx.core.Vertx;
@@ -380,9 +381,13 @@ public class HttpVertxClient implements HttpClient {
                     this.vertxWebSocket = vertxWebSocket;
 
                     /* Handle on Message. */
-                    vertxWebSocket.handler(
-                            buffer -> webSocket.onTextMessage(buffer.toString("UTF-8"))
-                    );
+                    vertxWebSocket.handler(buffer -> {
+                        if (buffer.length() > 0 && (buffer.getByte(0) & 0xFF) == Protocol.BINARY_PROTOCOL_MARKER) {
+                            webSocket.onBinaryMessage(buffer.getBytes());
+                        } else {
+                            webSocket.onTextMessage(buffer.toString("UTF-8"));
+                        }
+                    });
 
                     /* Handle onClose */
                     vertxWebSocket.closeHandler(event -> webSocket.onClose());
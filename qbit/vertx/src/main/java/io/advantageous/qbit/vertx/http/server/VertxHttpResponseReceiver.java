@@ -5,7 +5,10 @@ import io.advantageous.qbit.http.request.HttpResponseDecorator;
 import io.advantageous.qbit.http.HttpStatus;
 import io.advantageous.qbit.http.request.HttpResponse;
 import io.advantageous.qbit.http.request.HttpResponseReceiver;
+import io.advantageous.qbit.json.JsonMapper;
 import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.Utf8;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 
@@ -65,8 +68,37 @@ public class VertxHttpResponseReceiver implements HttpResponseReceiver<Object> {
         }
     }
 
+    /**
+     * Encodes the JSON from the serializer's chars straight into the buffer handed to Vert.x.
+     * Decorators need the body as a String, so decorated responses go the usual way.
+     */
+    @Override
+    public void jsonResponse(final int code, final Object body, final JsonMapper jsonMapper,
+                             final MultiMap<String, String> responseHeaders) {
+
+        if (decorators.size() > 0) {
+            HttpResponseReceiver.super.jsonResponse(code, body, jsonMapper, responseHeaders);
+            return;
+        }
+
+        final CharSequence json = jsonMapper.toJsonChars(body);
+        final byte[] bytes = new byte[Utf8.encodedLength(json)];
+        Utf8.encode(json, bytes, 0);
+
+        writeHead(code, "application/json", responseHeaders);
+        this.response.putHeader("Content-Length", String.valueOf(bytes.length));
+        this.response.end(Buffer.buffer(Unpooled.wrappedBuffer(bytes)));
+    }
+
     private void doResponse(final int code, final String contentType, final Object body,
                             final MultiMap<String, String> headers) {
+        writeHead(code, contentType, headers);
+
+        final Buffer buffer = createBuffer(body, this.response);
+        this.response.end(buffer);
+    }
+
+    private void writeHead(final int code, final String contentType, final MultiMap<String, String> headers) {
         if (headers!= null && !headers.isEmpty()) {
             for (Map.Entry<String, Collection<String>> entry : headers) {
                 this.response.putHeader(entry.getKey(), entry.getValue());
@@ -82,10 +114,6 @@ public class VertxHttpResponseReceiver implements HttpResponseReceiver<Object> {
         if (message!=null) {
             this.response.setStatusMessage(message);
         }
-
-
-        final Buffer buffer = createBuffer(body, this.response);
-        this.response.end(buffer);
     }
 
     private static Buffer createBuffer(Object body, HttpServerResponse response) {
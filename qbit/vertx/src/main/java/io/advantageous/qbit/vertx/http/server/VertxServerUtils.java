@@ -28,6 +28,7 @@ import io.advantageous.qbit.http.request.HttpRequestBuilder;
 import io.advantageous.qbit.http.request.HttpResponseReceiver;
 import io.advantageous.qbit.http.websocket.WebSocket;
 import io.advantageous.qbit.http.websocket.WebSocketSender;
+import io.advantageous.qbit.service.Protocol;
 import io.advantageous.qbit.util.MultiMap;
 import io.advantageous.qbit.util.MultiMapImpl;
 import io.advantageous.qbit.util.Timer;
@@ -170,8 +171,13 @@ public class VertxServerUtils {
 
         /* Handle message. */
         vertxServerWebSocket.handler(buffer -> {
-            final String message = buffer.toString("UTF-8");
-            webSocket.onTextMessage(message);
+            /* Binary protocol frames start with a byte that can not start UTF-8 text. */
+            if (buffer.length() > 0 && (buffer.getByte(0) & 0xFF) == Protocol.BINARY_PROTOCOL_MARKER) {
+                webSocket.onBinaryMessage(buffer.getBytes());
+            } else {
+                final String message = buffer.toString("UTF-8");
+                webSocket.onTextMessage(message);
+            }
         });
 
         /* Handle error. */